@@ -0,0 +1,74 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.util.DeferredAcceptance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The topic allocation matching on its own, for students applying to choices topics each out of a pool sized so
+// that seats run short and proposals get bumped
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AllocationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int students;
+
+    @Param({"5"})
+    private int choices;
+
+    private int[] preferenceStart;
+    private int[] preferenceApplication;
+    private int[] applicationStudent;
+    private int[] applicationTopic;
+    private int[] applicationPriority;
+    private int[] capacity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int topics = Math.max(1, students / 5);
+        capacity = new int[topics];
+        for (int t = 0; t < topics; t++) {
+            capacity[t] = 1 + random.nextInt(4);
+        }
+
+        int applications = students * choices;
+        preferenceStart = new int[students + 1];
+        preferenceApplication = new int[applications];
+        applicationStudent = new int[applications];
+        applicationTopic = new int[applications];
+        applicationPriority = new int[applications];
+        int[] order = new int[applications];
+        for (int a = 0; a < applications; a++) {
+            order[a] = a;
+        }
+        for (int a = applications - 1; a > 0; a--) {
+            int j = random.nextInt(a + 1);
+            int swap = order[a];
+            order[a] = order[j];
+            order[j] = swap;
+        }
+        for (int s = 0, a = 0; s < students; s++) {
+            preferenceStart[s] = a;
+            for (int c = 0; c < choices; c++, a++) {
+                preferenceApplication[a] = a;
+                applicationStudent[a] = s;
+                applicationTopic[a] = random.nextInt(topics);
+                applicationPriority[a] = order[a];
+            }
+        }
+        preferenceStart[students] = applications;
+    }
+
+    @Benchmark
+    public boolean[] match() {
+        return DeferredAcceptance.match(preferenceStart, preferenceApplication, applicationStudent,
+                applicationTopic, applicationPriority, capacity);
+    }
+}
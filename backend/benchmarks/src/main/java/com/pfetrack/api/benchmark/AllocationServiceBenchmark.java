@@ -0,0 +1,121 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.payload.response.TopicAllocationResponse;
+import com.pfetrack.api.service.TopicAllocationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// A whole batch allocation through TopicAllocationService: students pending applications of choices ranked
+// topics each, over students / 5 topics of one to four seats (10000 is the 10k students x 2k topics case), so
+// the run covers locking the topics, loading the applications, the matching (AllocationBenchmark on its own) and
+// writing every decision back. The applications are put back to pending before each run.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AllocationServiceBenchmark {
+
+    @Param({"10000"})
+    private int students;
+
+    @Param({"5"})
+    private int choices;
+
+    private ConfigurableApplicationContext context;
+    private TopicAllocationService allocationService;
+    private JdbcTemplate jdbc;
+    private int[] capacity;
+    private int[] applicationTopic;
+    private TopicAllocationResponse result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("allocation");
+        allocationService = context.getBean(TopicAllocationService.class);
+        jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+
+        Random random = new Random(42);
+        int topics = Math.max(1, students / 5);
+        capacity = new int[topics];
+        for (int t = 0; t < topics; t++) {
+            capacity[t] = 1 + random.nextInt(4);
+        }
+        // choices distinct topics per student, as the unique (user_id, topic_id) constraint requires
+        applicationTopic = new int[students * choices];
+        for (int s = 0; s < students; s++) {
+            for (int c = 0; c < choices; c++) {
+                int topic;
+                do {
+                    topic = random.nextInt(topics);
+                } while (chosen(s, c, topic));
+                applicationTopic[s * choices + c] = topic;
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        BenchmarkData.insert(jdbc, "INSERT INTO users (id, username, email, password, first_name, last_name) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                students, i -> new Object[]{BenchmarkData.FIRST_ID + i, "bench" + i, "bench" + i + "@pfetrack.local",
+                        "{noop}benchmark", "Bench", "Student " + i});
+        BenchmarkData.insert(jdbc, "INSERT INTO topics (id, title, description, supervisor, department, type, status, " +
+                        "max_students, current_students, version, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                topics, i -> new Object[]{BenchmarkData.FIRST_ID + i, "Topic " + i, "Benchmark topic " + i,
+                        "Professor " + i % 25, BenchmarkData.DEPARTMENTS[i % BenchmarkData.DEPARTMENTS.length],
+                        "Research", "Available", capacity[i], 0, 0L, now, now});
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private boolean chosen(int student, int upTo, int topic) {
+        for (int c = 0; c < upTo; c++) {
+            if (applicationTopic[student * choices + c] == topic) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Setup(Level.Iteration)
+    public void resetApplications() {
+        jdbc.update("DELETE FROM topic_applications");
+        jdbc.update("UPDATE topics SET current_students = 0, status = 'Available' WHERE id >= ?", BenchmarkData.FIRST_ID);
+        Timestamp appliedAt = Timestamp.valueOf(LocalDateTime.now());
+        BenchmarkData.insert(jdbc, "INSERT INTO topic_applications (id, user_id, topic_id, motivation, preference_rank, " +
+                        "seat_reserved, status, applied_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                applicationTopic.length, a -> new Object[]{BenchmarkData.FIRST_ID + a,
+                        BenchmarkData.FIRST_ID + a / choices, BenchmarkData.FIRST_ID + applicationTopic[a],
+                        null, a % choices + 1, false, "Pending", appliedAt});
+        // The topics were changed behind Hibernate's back
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkSeats() {
+        int overbooked = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM topics WHERE current_students > max_students", Integer.class);
+        if (result == null || overbooked > 0 || result.getApproved() + result.getRejected() != applicationTopic.length) {
+            throw new IllegalStateException("Allocation decided " + (result == null ? 0 : result.getApproved() + result.getRejected())
+                    + " of " + applicationTopic.length + " applications and left " + overbooked + " topics over capacity");
+        }
+    }
+
+    @Benchmark
+    public TopicAllocationResponse allocate() {
+        result = allocationService.allocate(false);
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.PfeTrackApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Boots the whole application on a random port against its own in-memory H2 database, so benchmarks measure the
+// real beans with the real configuration. Schedulers and SQL logging are switched off; arguments win over
+// application.properties.
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(PfeTrackApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.pfetrack.api.config.RequestProfilingFilter=ERROR",
+                        "--app.reminders.cron=-",
+                        "--app.academic-summary.reconcile-cron=-",
+                        "--app.topics.apply.reservation-ttl-hours=0");
+    }
+}
@@ -0,0 +1,100 @@
+package com.pfetrack.api.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Synthetic rows for the query benchmarks, written with plain JDBC batches since going through JPA would take
+// longer than the benchmarks themselves at a million rows. Ids start above anything the application seeds.
+// Values cycle deterministically, so every run and every commit queries the same data.
+final class BenchmarkData {
+
+    static final long FIRST_ID = 1_000_000;
+    static final int ROWS_PER_STUDENT = 100;
+    static final String[] SEMESTERS = {"S1", "S2", "S3", "S4", "S5", "S6"};
+    static final String[] DEPARTMENTS = {"Computer Science", "Electrical", "Mechanical", "Civil",
+            "Industrial", "Mathematics", "Physics", "Management"};
+    static final String[] TOPIC_STATUSES = {"Available", "Available", "Taken", "Completed"};
+    static final String[] EVENT_TYPES = {"exam", "pfe", "meeting", "deadline", "presentation"};
+    static final LocalDate FIRST_EVENT_DATE = LocalDate.of(2024, 9, 1);
+    static final int EVENT_DAYS = 730;
+
+    private static final int BATCH = 5_000;
+
+    private BenchmarkData() {
+    }
+
+    static String academicYear(int n) {
+        return (2020 + n % 5) + "-" + (2021 + n % 5);
+    }
+
+    static int students(int rows) {
+        return Math.max(1, rows / ROWS_PER_STUDENT);
+    }
+
+    // Students, then rows grades, rows topics and rows events spread over them; one in ten events is public
+    static void seed(DataSource dataSource, int rows) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int students = students(rows);
+
+        insert(jdbc, "INSERT INTO users (id, username, email, password, first_name, last_name) VALUES (?, ?, ?, ?, ?, ?)",
+                students, i -> new Object[]{FIRST_ID + i, "bench" + i, "bench" + i + "@pfetrack.local",
+                        "{noop}benchmark", "Bench", "Student " + i});
+
+        insert(jdbc, "INSERT INTO grades (id, student_id, subject_name, subject_code, grade_value, letter_grade, credits, " +
+                        "semester, academic_year, evaluation_type, evaluation_date, max_score, obtained_score, professor, " +
+                        "status, is_published, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows, i -> {
+                    // k-th grade of its student, so every student has grades in every semester and year
+                    int k = i / students;
+                    double value = 6 + (i * 7) % 15;
+                    return new Object[]{FIRST_ID + i, FIRST_ID + i % students, "Subject " + i % 40, "SUB" + i % 40,
+                            value, value >= 10 ? "C" : "F", 2 + i % 4, SEMESTERS[k % SEMESTERS.length],
+                            academicYear(k / SEMESTERS.length), (k / 30) % 3 == 0 ? "Exam" : "Project",
+                            Date.valueOf(FIRST_EVENT_DATE.plusDays(i % EVENT_DAYS)), 20.0, value,
+                            "Professor " + i % 25, "Final", k % 4 != 0, now, now};
+                });
+
+        insert(jdbc, "INSERT INTO topics (id, title, description, supervisor, department, type, status, max_students, " +
+                        "current_students, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows, i -> new Object[]{FIRST_ID + i, "Topic " + i, "Benchmark topic " + i, "Professor " + i % 25,
+                        DEPARTMENTS[i % DEPARTMENTS.length], i % 2 == 0 ? "Research" : "Development",
+                        TOPIC_STATUSES[i / DEPARTMENTS.length % TOPIC_STATUSES.length], 3, i % 3, 0L, now, now});
+
+        insert(jdbc, "INSERT INTO events (id, title, description, event_date, event_time, type, location, status, " +
+                        "student_id, is_public, created_by, reminder_sent, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows, i -> {
+                    boolean isPublic = i % 10 == 0;
+                    return new Object[]{FIRST_ID + i, "Event " + i, null,
+                            Date.valueOf(FIRST_EVENT_DATE.plusDays(i % EVENT_DAYS)), null,
+                            EVENT_TYPES[i % EVENT_TYPES.length], "Room " + i % 30, "scheduled",
+                            isPublic ? null : FIRST_ID + i % students, isPublic, "system", false, now, now};
+                });
+    }
+
+    interface Row {
+        Object[] values(int i);
+    }
+
+    static void insert(JdbcTemplate jdbc, String sql, int count, Row row) {
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(row.values(i));
+            if (batch.size() == BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.pfetrack.api.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Entry point of benchmarks.jar; takes the usual JMH arguments (e.g. a benchmark regex, -p rows=10000).
+// Unless -rf/-rff are given, results are written as JSON to results/<label>.json, where the label is
+// -Dbenchmark.label or the current git commit, so runs of different commits can be compared file to file.
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf") && !arguments.contains("-rff")) {
+            Path results = Paths.get("results");
+            Files.createDirectories(results);
+            arguments.addAll(List.of("-rf", "json", "-rff", results.resolve(label() + ".json").toString()));
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+    }
+
+    private static String label() {
+        String label = System.getProperty("benchmark.label");
+        if (label != null && !label.isBlank()) {
+            return label;
+        }
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor() == 0 && !commit.isEmpty()) {
+                return commit;
+            }
+        } catch (IOException e) {
+            // Not in a git checkout; fall back to the time of the run
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.config.RequestProfile;
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.repository.GradeRepository;
+import com.pfetrack.api.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// grades new Grade entities through GradeRepository.saveAll, chunk rows per transaction, the way the sequence-id
+// change was measured by hand. Besides the time, every run reports the JDBC executions it took (a batch counts as
+// one): with pooled-lo sequences and hibernate.jdbc.batch_size they are the insert batches plus one sequence call
+// per allocationSize ids, instead of one insert per row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BulkInsertBenchmark {
+
+    private static final String SUBJECT_CODE = "BULK";
+
+    @Param({"100000"})
+    private int grades;
+
+    @Param({"5000"})
+    private int chunk;
+
+    private ConfigurableApplicationContext context;
+    private GradeRepository gradeRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbc;
+    private User student;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bulkinsert");
+        gradeRepository = context.getBean(GradeRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        // "student" is created by DataInitializer
+        student = context.getBean(UserRepository.class).findByUsername("student").orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Every run inserts into the same table size
+    @TearDown(Level.Iteration)
+    public void deleteInserted() {
+        jdbc.update("DELETE FROM grades WHERE subject_code = ?", SUBJECT_CODE);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Executions {
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    @Benchmark
+    public int saveAll(Executions executions) {
+        RequestProfile profile = RequestProfile.start(false, Integer.MAX_VALUE);
+        try {
+            int saved = 0;
+            for (int from = 0; from < grades; from += chunk) {
+                List<Grade> rows = rows(from, Math.min(from + chunk, grades));
+                saved += transactionTemplate.execute(status -> gradeRepository.saveAll(rows).size());
+            }
+            executions.statements += profile.getStatements();
+            return saved;
+        } finally {
+            RequestProfile.stop();
+        }
+    }
+
+    private List<Grade> rows(int from, int to) {
+        List<Grade> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Grade grade = new Grade();
+            grade.setStudent(student);
+            grade.setSubjectName("Bulk subject " + i % 40);
+            grade.setSubjectCode(SUBJECT_CODE);
+            grade.setGradeValue(6.0 + i % 15);
+            grade.setCredits(2 + i % 4);
+            grade.setSemester(BenchmarkData.SEMESTERS[i % BenchmarkData.SEMESTERS.length]);
+            grade.setAcademicYear(BenchmarkData.academicYear(i));
+            grade.setEvaluationType("Exam");
+            grade.setEvaluationDate(LocalDate.of(2025, 1, 15));
+            grade.setMaxScore(20.0);
+            grade.setObtainedScore(grade.getGradeValue());
+            grade.setStatus("Final");
+            grade.setIsPublished(false);
+            rows.add(grade);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,163 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.model.Event;
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.repository.EventRepository;
+import com.pfetrack.api.repository.FilterSpecifications;
+import com.pfetrack.api.repository.GradeRepository;
+import com.pfetrack.api.repository.TopicRepository;
+import com.pfetrack.api.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The list endpoints' filtered queries, as the controllers issue them (one page plus its count), against tables
+// seeded with rows grades, topics and events each: GET /api/grades/my-grades?semester=, GET /api/grades with
+// semester, academic year and evaluation type, GET /topics?department=&status= and the events calendar. The
+// repositories no longer have the catch-all JPQL ("(:x IS NULL OR e.x = :x)" for every filter) that the old
+// findGradesWithFilters / findTopicsWithFilters ran, so it lives on here only as the *CatchAll baselines, run with
+// the same filters, order and page.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FilterQueryBenchmark {
+
+    private static final int SAMPLED_STUDENTS = 256;
+
+    private static final String GRADES_CATCH_ALL = " FROM Grade g WHERE g.student = :student AND " +
+            "(:semester IS NULL OR g.semester = :semester) AND " +
+            "(:academicYear IS NULL OR g.academicYear = :academicYear) AND " +
+            "(:evaluationType IS NULL OR g.evaluationType = :evaluationType) AND " +
+            "(:isPublished IS NULL OR g.isPublished = :isPublished)";
+    private static final String TOPICS_CATCH_ALL = " FROM Topic t WHERE " +
+            "(:department IS NULL OR t.department = :department) AND " +
+            "(:type IS NULL OR t.type = :type) AND " +
+            "(:status IS NULL OR t.status = :status)";
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private GradeRepository gradeRepository;
+    private TopicRepository topicRepository;
+    private EventRepository eventRepository;
+    private EntityManager entityManager;
+    private final List<User> students = new ArrayList<>();
+    private final Pageable page = PageRequest.of(0, 100);
+    private final Pageable latestFirst = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "evaluationDate"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("filters" + rows);
+        BenchmarkData.seed(context.getBean(DataSource.class), rows);
+        gradeRepository = context.getBean(GradeRepository.class);
+        topicRepository = context.getBean(TopicRepository.class);
+        eventRepository = context.getBean(EventRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+
+        int total = BenchmarkData.students(rows);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SAMPLED_STUDENTS; i++) {
+            ids.add(BenchmarkData.FIRST_ID + (long) i * total / SAMPLED_STUDENTS % total);
+        }
+        students.addAll(context.getBean(UserRepository.class).findAllById(ids));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Rotates through students and filter values so no single cached plan or row set is measured
+    @State(Scope.Thread)
+    public static class Probe {
+        private int next;
+
+        int next() {
+            return next++ & Integer.MAX_VALUE;
+        }
+    }
+
+    @Benchmark
+    public Page<Grade> gradesByStudentAndSemester(Probe probe) {
+        int i = probe.next();
+        return gradeRepository.findAll(FilterSpecifications.grades(students.get(i % students.size()),
+                BenchmarkData.SEMESTERS[i % BenchmarkData.SEMESTERS.length], null, null, true), latestFirst);
+    }
+
+    @Benchmark
+    public Page<Grade> gradesBySemesterAndYear(Probe probe) {
+        int i = probe.next();
+        return gradeRepository.findAll(FilterSpecifications.grades(null,
+                BenchmarkData.SEMESTERS[i % BenchmarkData.SEMESTERS.length], BenchmarkData.academicYear(i / 7),
+                "Exam", null), page);
+    }
+
+    @Benchmark
+    public Page<Topic> topicsByDepartmentAndStatus(Probe probe) {
+        int i = probe.next();
+        return topicRepository.findAll(FilterSpecifications.topics(
+                BenchmarkData.DEPARTMENTS[i % BenchmarkData.DEPARTMENTS.length], null, "Available"), page);
+    }
+
+    @Benchmark
+    public Page<Event> eventsByStudentOrPublicAndDateRange(Probe probe) {
+        int i = probe.next();
+        return eventRepository.findByStudentOrPublicAndDateRange(students.get(i % students.size()),
+                BenchmarkData.FIRST_EVENT_DATE.plusDays(i % BenchmarkData.EVENT_DAYS),
+                BenchmarkData.FIRST_EVENT_DATE.plusDays(i % BenchmarkData.EVENT_DAYS + 30), page);
+    }
+
+    @Benchmark
+    public Page<Grade> gradesByStudentAndSemesterCatchAll(Probe probe) {
+        int i = probe.next();
+        TypedQuery<Grade> query = entityManager.createQuery("SELECT g" + GRADES_CATCH_ALL + " ORDER BY g.evaluationDate DESC", Grade.class)
+                .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph("Grade.list"));
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(g)" + GRADES_CATCH_ALL, Long.class);
+        for (TypedQuery<?> q : List.of(query, count)) {
+            q.setParameter("student", students.get(i % students.size()))
+                    .setParameter("semester", BenchmarkData.SEMESTERS[i % BenchmarkData.SEMESTERS.length])
+                    .setParameter("academicYear", null)
+                    .setParameter("evaluationType", null)
+                    .setParameter("isPublished", true);
+        }
+        return page(query, count, latestFirst);
+    }
+
+    @Benchmark
+    public Page<Topic> topicsByDepartmentAndStatusCatchAll(Probe probe) {
+        int i = probe.next();
+        TypedQuery<Topic> query = entityManager.createQuery("SELECT t" + TOPICS_CATCH_ALL, Topic.class);
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(t)" + TOPICS_CATCH_ALL, Long.class);
+        for (TypedQuery<?> q : List.of(query, count)) {
+            q.setParameter("department", BenchmarkData.DEPARTMENTS[i % BenchmarkData.DEPARTMENTS.length])
+                    .setParameter("type", null)
+                    .setParameter("status", "Available");
+        }
+        return page(query, count, page);
+    }
+
+    // Same paging as Spring Data's: the count only runs when the page does not already tell the total
+    private static <T> Page<T> page(TypedQuery<T> query, TypedQuery<Long> count, Pageable pageable) {
+        List<T> content = query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize()).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, count::getSingleResult);
+    }
+}
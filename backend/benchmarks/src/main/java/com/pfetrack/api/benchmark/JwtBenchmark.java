@@ -0,0 +1,88 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.security.jwt.AuthTokenFilter;
+import com.pfetrack.api.security.jwt.JwtPrincipalCache;
+import com.pfetrack.api.security.jwt.JwtUtils;
+import com.pfetrack.api.security.services.UserDetailsServiceImpl;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and validation, and the whole AuthTokenFilter pass every authenticated request makes: with the
+// principal already cached for the token (the steady state) and with a cold cache, which adds signature
+// validation and the user lookup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private JwtUtils jwtUtils;
+    private AuthTokenFilter authTokenFilter;
+    private JwtPrincipalCache principalCache;
+    private Authentication authentication;
+    private String token;
+    private String header;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jwt");
+        jwtUtils = context.getBean(JwtUtils.class);
+        authTokenFilter = context.getBean(AuthTokenFilter.class);
+        principalCache = context.getBean(JwtPrincipalCache.class);
+
+        // "student" is created by DataInitializer
+        UserDetails user = context.getBean(UserDetailsServiceImpl.class).loadUserByUsername("student");
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = jwtUtils.generateJwtToken(authentication);
+        header = "Bearer " + token;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Authentication filterCachedPrincipal() throws ServletException, IOException {
+        return filter();
+    }
+
+    @Benchmark
+    public Authentication filterUncachedPrincipal() throws ServletException, IOException {
+        principalCache.evictAll();
+        return filter();
+    }
+
+    private Authentication filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/topics");
+        request.addHeader("Authorization", header);
+        authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication result = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return result;
+    }
+}
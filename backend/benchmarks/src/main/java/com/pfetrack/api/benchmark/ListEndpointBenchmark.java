@@ -0,0 +1,131 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.config.RequestProfilingFilter;
+import com.pfetrack.api.security.jwt.JwtUtils;
+import com.pfetrack.api.security.services.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// One page of each list endpoint over HTTP, as the admin, against tables seeded with rows grades, topics and events.
+// Every response carries its JDBC statement count in the Server-Timing header; the benchmark adds them up in the
+// statements and requests counters, so statements / requests per endpoint lands in the results next to the time,
+// and a fetch plan that slips back to N+1 shows up as a jump in that ratio.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ListEndpointBenchmark {
+
+    private static final Pattern STATEMENTS = Pattern.compile("db;[^,]*desc=\"(\\d+) statement");
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"100"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String base;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("endpoints" + rows);
+        BenchmarkData.seed(context.getBean(DataSource.class), rows);
+        base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+
+        // "admin" is created by DataInitializer and may read every list
+        UserDetails admin = context.getBean(UserDetailsServiceImpl.class).loadUserByUsername("admin");
+        authorization = "Bearer " + context.getBean(JwtUtils.class).generateJwtToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            requests = 0;
+        }
+    }
+
+    // GradeController and the other controllers mapped under "/api/..." sit below the /api context path twice
+    @Benchmark
+    public int grades(Statements counters) throws IOException, InterruptedException {
+        return get("/api/grades", counters);
+    }
+
+    @Benchmark
+    public int events(Statements counters) throws IOException, InterruptedException {
+        return get("/api/events", counters);
+    }
+
+    @Benchmark
+    public int projects(Statements counters) throws IOException, InterruptedException {
+        return get("/api/projects", counters);
+    }
+
+    @Benchmark
+    public int achievements(Statements counters) throws IOException, InterruptedException {
+        return get("/api/achievements", counters);
+    }
+
+    @Benchmark
+    public int milestones(Statements counters) throws IOException, InterruptedException {
+        return get("/api/project-milestones", counters);
+    }
+
+    @Benchmark
+    public int topics(Statements counters) throws IOException, InterruptedException {
+        return get("/topics", counters);
+    }
+
+    @Benchmark
+    public int reports(Statements counters) throws IOException, InterruptedException {
+        return get("/reports/all", counters);
+    }
+
+    private int get(String path, Statements counters) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path + "?size=" + size))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        Matcher matcher = STATEMENTS.matcher(response.headers()
+                .firstValue(RequestProfilingFilter.SERVER_TIMING).orElse(""));
+        if (!matcher.find()) {
+            throw new IllegalStateException("GET " + path + " sent no statement count; is app.profiling enabled?");
+        }
+        counters.statements += Long.parseLong(matcher.group(1));
+        counters.requests++;
+        return response.body().length;
+    }
+}
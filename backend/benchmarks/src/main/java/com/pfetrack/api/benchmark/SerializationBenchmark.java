@@ -0,0 +1,144 @@
+package com.pfetrack.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pfetrack.api.model.Event;
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.model.Project;
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.EventResponse;
+import com.pfetrack.api.payload.response.GradeResponse;
+import com.pfetrack.api.payload.response.ProjectResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON for project, grade and event lists the way the list endpoints write them: entities mapped to their
+// response payloads, through the application's ObjectMapper. size covers the default and the maximum page size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<Project> projects;
+    private List<Grade> grades;
+    private List<Event> events;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("serialization");
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        projects = new ArrayList<>(size);
+        grades = new ArrayList<>(size);
+        events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User student = new User();
+            student.setId((long) i);
+            student.setFirstName("Student");
+            student.setLastName("Number " + i);
+            student.setUsername("student" + i);
+            student.setEmail("student" + i + "@pfetrack.local");
+
+            Topic topic = new Topic();
+            topic.setId((long) i);
+            topic.setTitle("Topic " + i);
+            topic.setSupervisor("Professor " + i % 25);
+            topic.setDepartment("Computer Science");
+            topic.setType("Research");
+            topic.setStatus("Taken");
+
+            Project project = new Project();
+            project.setId((long) i);
+            project.setStudent(student);
+            project.setTopic(topic);
+            project.setTitle("Project " + i);
+            project.setDescription("A final-year project description of realistic length for project " + i + ".");
+            project.setSupervisor(topic.getSupervisor());
+            project.setDepartment(topic.getDepartment());
+            project.setType("PFE");
+            project.setStatus("Active");
+            project.setStartDate(LocalDate.of(2025, 2, 1));
+            project.setEndDate(LocalDate.of(2025, 6, 30));
+            project.setProgressPercentage((double) (i % 100));
+            project.setCurrentPhase("Development");
+            project.setObjectives("Design, implement and evaluate the system.");
+            project.setCreatedAt(now);
+            project.setUpdatedAt(now);
+            projects.add(project);
+
+            Grade grade = new Grade();
+            grade.setId((long) i);
+            grade.setStudent(student);
+            grade.setSubjectName("Subject " + i % 40);
+            grade.setSubjectCode("SUB" + i % 40);
+            grade.setGradeValue(8.0 + i % 12);
+            grade.setCredits(3);
+            grade.setSemester("S" + (1 + i % 6));
+            grade.setAcademicYear("2024-2025");
+            grade.setEvaluationType("Exam");
+            grade.setEvaluationDate(LocalDate.of(2025, 1, 15));
+            grade.setMaxScore(20.0);
+            grade.setObtainedScore(grade.getGradeValue());
+            grade.setProfessor(topic.getSupervisor());
+            grade.setStatus("Final");
+            grade.setIsPublished(true);
+            grade.setCreatedAt(now);
+            grade.setUpdatedAt(now);
+            grades.add(grade);
+
+            Event event = new Event();
+            event.setId((long) i);
+            event.setTitle("Event " + i);
+            event.setDescription("Progress review");
+            event.setEventDate(LocalDate.now().plusDays(i % 60));
+            event.setEventTime(LocalTime.of(9 + i % 8, 0));
+            event.setType("meeting");
+            event.setLocation("Room " + i % 30);
+            event.setStatus("scheduled");
+            event.setStudent(student);
+            event.setTopic(topic);
+            event.setIsPublic(false);
+            event.setCreatedBy("system");
+            event.setCreatedAt(now);
+            event.setUpdatedAt(now);
+            events.add(event);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] projects() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projects.stream().map(ProjectResponse::from).toList());
+    }
+
+    @Benchmark
+    public byte[] grades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(grades.stream().map(GradeResponse::from).toList());
+    }
+
+    @Benchmark
+    public byte[] events() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events.stream().map(EventResponse::from).toList());
+    }
+}
@@ -0,0 +1,120 @@
+package com.pfetrack.api.benchmark;
+
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.repository.TopicRepository;
+import com.pfetrack.api.service.TopicApplicationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// applicants students released at the same moment on one fresh topic with seats seats, through
+// TopicApplicationService with its admission queue and seat reservation, the way the topic selection opening
+// looks. One operation is the whole burst; the outcomes are counted alongside, and a run that hands out any other
+// number of seats than the topic has fails instead of reporting a time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopicApplicationBenchmark {
+
+    @Param({"1000"})
+    private int applicants;
+
+    @Param({"30"})
+    private int seats;
+
+    private ConfigurableApplicationContext context;
+    private TopicApplicationService applicationService;
+    private TopicRepository topicRepository;
+    private JdbcTemplate jdbc;
+    private ExecutorService executor;
+    private Long topicId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("applications");
+        DataSource dataSource = context.getBean(DataSource.class);
+        BenchmarkData.seed(dataSource, applicants * BenchmarkData.ROWS_PER_STUDENT);
+        applicationService = context.getBean(TopicApplicationService.class);
+        topicRepository = context.getBean(TopicRepository.class);
+        jdbc = new JdbcTemplate(dataSource);
+        executor = Executors.newFixedThreadPool(applicants);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    // Earlier bursts' applications are dropped, so no student runs into the pending-seat limit
+    @Setup(Level.Iteration)
+    public void openTopic() {
+        jdbc.update("DELETE FROM topic_applications");
+        Topic topic = new Topic();
+        topic.setTitle("Benchmark topic");
+        topic.setSupervisor("Professor Benchmark");
+        topic.setMaxStudents(seats);
+        topicId = topicRepository.save(topic).getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkSeats() {
+        int taken = jdbc.queryForObject("SELECT current_students FROM topics WHERE id = ?", Integer.class, topicId);
+        int held = jdbc.queryForObject("SELECT COUNT(*) FROM topic_applications WHERE topic_id = ?", Integer.class, topicId);
+        if (taken != Math.min(seats, applicants) || held != taken) {
+            throw new IllegalStateException("Topic with " + seats + " seats ended with " + taken + " taken and "
+                    + held + " applications");
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long submitted;
+        public long unavailable;
+        public long busy;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            submitted = 0;
+            unavailable = 0;
+            busy = 0;
+        }
+    }
+
+    @Benchmark
+    public long applyAtOnce(Outcomes outcomes) throws InterruptedException, ExecutionException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TopicApplicationService.Outcome>> results = new ArrayList<>(applicants);
+        for (int i = 0; i < applicants; i++) {
+            long studentId = BenchmarkData.FIRST_ID + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return applicationService.apply(studentId, topicId, "Benchmark application", null);
+            }));
+        }
+        start.countDown();
+        for (Future<TopicApplicationService.Outcome> result : results) {
+            switch (result.get()) {
+                case SUBMITTED -> outcomes.submitted++;
+                case UNAVAILABLE -> outcomes.unavailable++;
+                case BUSY -> outcomes.busy++;
+                default -> throw new IllegalStateException("Unexpected outcome " + result.get());
+            }
+        }
+        return outcomes.submitted;
+    }
+}
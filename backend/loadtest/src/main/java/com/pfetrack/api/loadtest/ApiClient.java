@@ -0,0 +1,103 @@
+package com.pfetrack.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Thin wrapper over java.net.http shared by all virtual users: request building against the API base URL,
+// the JSON calls scenarios need while setting up, and the timed calls themselves, whose bodies are read and dropped.
+final class ApiClient {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        // HTTP/1.1 keeps one pooled connection per in-flight request, like browsers talking to the API do
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Status of a timed call; the body is consumed so the latency covers the whole response
+    int send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    JsonNode getJson(String path, String token) throws IOException, InterruptedException {
+        return json(request(path, token).GET().build());
+    }
+
+    JsonNode postJson(String path, String token, Object body) throws IOException, InterruptedException {
+        return json(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build());
+    }
+
+    JsonNode postMultipart(String path, String token, Map<String, String> fields, String fileName, byte[] file)
+            throws IOException, InterruptedException {
+        String boundary = UUID.randomUUID().toString();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n"
+                    + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + fileName
+                + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(file);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return json(request(path, token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build());
+    }
+
+    // The login response: token, id, username and roles
+    JsonNode login(String username, String password) throws IOException, InterruptedException {
+        return postJson("/auth/login", null, Map.of("username", username, "password", password));
+    }
+
+    void registerStudent(String username, String password) throws IOException, InterruptedException {
+        postJson("/auth/register", null, Map.of(
+                "firstName", "Load",
+                "lastName", "Test",
+                "username", username,
+                "email", username + "@loadtest.local",
+                "password", password,
+                "roles", List.of("student")));
+    }
+
+    // Setup calls must succeed; a failure here means the run would measure the wrong thing
+    private JsonNode json(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode()
+                    + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+    }
+}
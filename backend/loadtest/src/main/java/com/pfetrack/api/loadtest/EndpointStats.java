@@ -0,0 +1,56 @@
+package com.pfetrack.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies of one endpoint in microseconds, recorded by every virtual user into one auto-resizing histogram
+// (3 significant digits), next to the count of responses whose status the scenario did not expect.
+final class EndpointStats {
+
+    private final String key;
+    private final String label;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    void record(long latencyNanos, boolean expected) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1000));
+        if (!expected) {
+            errors.increment();
+        }
+    }
+
+    long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    double getMeanMillis() {
+        return latencies.getMean() / 1000.0;
+    }
+
+    double getMaxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pfetrack.api.loadtest;
+
+import java.util.List;
+
+// Data shared by all virtual users of a run; scenario setups fill in what their steps need
+final class Fixture {
+
+    record PublishTarget(String subjectName, String semester) {
+    }
+
+    private final String adminToken;
+    private final List<VirtualUser> users;
+    private final int reportSizeKb;
+    private long[] topicIds = new long[0];
+    private List<PublishTarget> publishTargets = List.of();
+
+    Fixture(String adminToken, List<VirtualUser> users, int reportSizeKb) {
+        this.adminToken = adminToken;
+        this.users = users;
+        this.reportSizeKb = reportSizeKb;
+    }
+
+    String getAdminToken() {
+        return adminToken;
+    }
+
+    List<VirtualUser> getUsers() {
+        return users;
+    }
+
+    int getReportSizeKb() {
+        return reportSizeKb;
+    }
+
+    long[] getTopicIds() {
+        return topicIds;
+    }
+
+    void setTopicIds(long[] topicIds) {
+        this.topicIds = topicIds;
+    }
+
+    List<PublishTarget> getPublishTargets() {
+        return publishTargets;
+    }
+
+    void setPublishTargets(List<PublishTarget> publishTargets) {
+        this.publishTargets = publishTargets;
+    }
+}
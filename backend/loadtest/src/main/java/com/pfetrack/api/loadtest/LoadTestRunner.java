@@ -0,0 +1,281 @@
+package com.pfetrack.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+// Entry point of loadtest.jar. Logs in one student per virtual user, then replays each selected scenario for a
+// fixed time and prints throughput and latency percentiles per endpoint. Exits with 1 when an endpoint's p99 is over
+// its budget (budgets.properties, --budgets=<file>, --budget.<endpoint>=<ms>) or too many responses were unexpected.
+//
+// Options, as --name=value:
+//  base-url          API root including the context path (http://localhost:8080/api)
+//  scenario          comma-separated names from Scenarios.NAMES, or all (all)
+//  users             concurrent virtual users (50)
+//  duration          seconds recorded per scenario (60)
+//  warmup            seconds replayed before recording starts (10)
+//  rate              total requests per second spread over the users; 0 runs closed-loop, back to back (0)
+//  admin-username, admin-password  account publishing grades and listing topics (admin, admin123)
+//  student-pattern   log into existing accounts, e.g. student%d from the generate profile, instead of registering
+//  student-password  password of those accounts (password123)
+//  report-size-kb    size of the report each student downloads (256)
+//  max-error-rate    share of unexpected statuses tolerated per endpoint (0.01)
+//  label             results file name under results/ (current git commit)
+public final class LoadTestRunner {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, String> options;
+    private final Properties budgets;
+    private final ApiClient api;
+
+    private LoadTestRunner(Map<String, String> options, Properties budgets) {
+        this.options = options;
+        this.budgets = budgets;
+        this.api = new ApiClient(option("base-url", "http://localhost:8080/api"), Duration.ofSeconds(30));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Expected --name=value, got " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        System.exit(new LoadTestRunner(options, budgets(options)).run() ? 0 : 1);
+    }
+
+    private boolean run() throws Exception {
+        String selected = option("scenario", "all");
+        List<String> names = selected.equals("all") ? Scenarios.NAMES : Arrays.asList(selected.split(","));
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : names) {
+            scenarios.add(Scenarios.create(name.trim()));
+        }
+
+        int users = Integer.parseInt(option("users", "50"));
+        String adminToken = api.login(option("admin-username", "admin"), option("admin-password", "admin123"))
+                .path("token").asText();
+        Fixture fixture = new Fixture(adminToken, loginStudents(users), Integer.parseInt(option("report-size-kb", "256")));
+
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode results = mapper.createObjectNode();
+        boolean passed = true;
+        for (Scenario scenario : scenarios) {
+            scenario.prepare(api, fixture);
+            Map<String, EndpointStats> stats = replay(scenario, fixture);
+            passed &= report(scenario, stats, results.putArray(scenario.getName()));
+        }
+
+        Path directory = Paths.get("results");
+        Files.createDirectories(directory);
+        Path file = directory.resolve(option("label", label()) + ".json");
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), results);
+        System.out.println("Results written to " + file + (passed ? "" : "; budgets exceeded"));
+        return passed;
+    }
+
+    // Registering hashes a password per account, so it runs in parallel like the load itself
+    private List<VirtualUser> loginStudents(int users) throws Exception {
+        String pattern = options.get("student-pattern");
+        String password = option("student-password", "password123");
+        String run = Long.toString(System.currentTimeMillis() / 1000 % 2_176_782_336L, 36);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(users, 16));
+        try {
+            List<Future<VirtualUser>> logins = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                int index = i;
+                logins.add(executor.submit(() -> {
+                    String username;
+                    if (pattern != null) {
+                        username = String.format(pattern, index + 1);
+                    } else {
+                        username = "lt" + run + "u" + index;
+                        api.registerStudent(username, password);
+                    }
+                    JsonNode login = api.login(username, password);
+                    return new VirtualUser(login.path("id").asLong(), username, login.path("token").asText(),
+                            new SplittableRandom(index));
+                }));
+            }
+            List<VirtualUser> students = new ArrayList<>();
+            for (Future<VirtualUser> login : logins) {
+                students.add(login.get());
+            }
+            return students;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Map<String, EndpointStats> replay(Scenario scenario, Fixture fixture) throws Exception {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (Scenario.Step step : scenario.getSteps()) {
+            stats.put(step.key(), new EndpointStats(step.key(), step.label()));
+        }
+        List<VirtualUser> users = fixture.getUsers();
+        double rate = Double.parseDouble(option("rate", "0"));
+        long interval = rate > 0 ? (long) (users.size() * 1_000_000_000L / rate) : 0;
+        long started = System.nanoTime();
+        long recordFrom = started + Duration.ofSeconds(Long.parseLong(option("warmup", "10"))).toNanos();
+        long end = recordFrom + Duration.ofSeconds(Long.parseLong(option("duration", "60"))).toNanos();
+
+        System.out.printf("%n== %s: %d users, %s s%s%n", scenario.getName(), users.size(), option("duration", "60"),
+                interval > 0 ? ", " + option("rate", "0") + " req/s" : ", closed loop");
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                VirtualUser user = users.get(i);
+                // Stagger paced users over one interval so they do not fire in lockstep
+                long first = started + (interval > 0 ? interval * i / users.size() : 0);
+                running.add(executor.submit(() -> loop(scenario, fixture, user, stats, first, interval, recordFrom, end)));
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return stats;
+    }
+
+    // With a rate, latency is measured from when the request was due rather than when it was sent, so a stalled
+    // server is charged for the requests it held back instead of hiding them (coordinated omission)
+    private Void loop(Scenario scenario, Fixture fixture, VirtualUser user, Map<String, EndpointStats> stats,
+                      long next, long interval, long recordFrom, long end) throws InterruptedException {
+        while (true) {
+            long now = System.nanoTime();
+            long start = interval > 0 ? next : now;
+            if (start >= end) {
+                return null;
+            }
+            if (start > now) {
+                LockSupport.parkNanos(start - now);
+            }
+            Scenario.Step step = scenario.pick(user.getRandom());
+            HttpRequest request = step.request().create(api, fixture, user);
+            int status;
+            try {
+                status = api.send(request);
+            } catch (IOException e) {
+                status = -1;
+            }
+            if (start >= recordFrom) {
+                stats.get(step.key()).record(System.nanoTime() - start, step.expected().contains(status));
+            }
+            next += interval;
+        }
+    }
+
+    private boolean report(Scenario scenario, Map<String, EndpointStats> stats, ArrayNode results) {
+        double seconds = Double.parseDouble(option("duration", "60"));
+        double maxErrorRate = Double.parseDouble(option("max-error-rate", "0.01"));
+        boolean passed = true;
+        System.out.printf("%-30s %8s %8s %7s %8s %8s %8s %8s %8s %8s %8s%n",
+                "endpoint", "count", "req/s", "errors", "mean", "p50", "p90", "p99", "p99.9", "max", "budget");
+        for (EndpointStats endpoint : stats.values()) {
+            Double budget = budget(scenario.getName(), endpoint.getKey());
+            double p99 = endpoint.percentileMillis(99);
+            double errorRate = endpoint.getCount() == 0 ? 0 : (double) endpoint.getErrors() / endpoint.getCount();
+            boolean overBudget = budget != null && endpoint.getCount() > 0 && p99 > budget;
+            boolean failing = overBudget || errorRate > maxErrorRate;
+            passed &= !failing;
+
+            System.out.printf("%-30s %8d %8.1f %7d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8s%s%n",
+                    endpoint.getLabel(), endpoint.getCount(), endpoint.getCount() / seconds, endpoint.getErrors(),
+                    endpoint.getMeanMillis(), endpoint.percentileMillis(50), endpoint.percentileMillis(90), p99,
+                    endpoint.percentileMillis(99.9), endpoint.getMaxMillis(),
+                    budget == null ? "-" : String.format("%.0f", budget), failing ? "  FAIL" : "");
+
+            ObjectNode result = results.addObject();
+            result.put("endpoint", endpoint.getLabel());
+            result.put("count", endpoint.getCount());
+            result.put("throughput", endpoint.getCount() / seconds);
+            result.put("errors", endpoint.getErrors());
+            result.put("meanMs", endpoint.getMeanMillis());
+            ObjectNode percentiles = result.putObject("percentilesMs");
+            for (double percentile : PERCENTILES) {
+                percentiles.put(String.valueOf(percentile), endpoint.percentileMillis(percentile));
+            }
+            result.put("maxMs", endpoint.getMaxMillis());
+            if (budget != null) {
+                result.put("p99BudgetMs", budget);
+            }
+            result.put("passed", !failing);
+        }
+        return passed;
+    }
+
+    // A scenario-specific budget (topic-rush.topics.apply) wins over the endpoint's default (topics.apply)
+    private Double budget(String scenario, String key) {
+        String value = budgets.getProperty(scenario + "." + key, budgets.getProperty(key));
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static Properties budgets(Map<String, String> options) throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream defaults = LoadTestRunner.class.getResourceAsStream("/budgets.properties")) {
+            if (defaults != null) {
+                budgets.load(defaults);
+            }
+        }
+        String file = options.get("budgets");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                budgets.load(reader);
+            }
+        }
+        options.forEach((name, value) -> {
+            if (name.startsWith("budget.")) {
+                budgets.setProperty(name.substring("budget.".length()), value);
+            }
+        });
+        return budgets;
+    }
+
+    private static String label() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor() == 0 && !commit.isEmpty()) {
+                return commit;
+            }
+        } catch (IOException e) {
+            // Not in a git checkout; fall back to the time of the run
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
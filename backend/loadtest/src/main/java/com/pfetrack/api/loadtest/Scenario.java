@@ -0,0 +1,69 @@
+package com.pfetrack.api.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// A weighted mix of requests replayed by every virtual user, plus the setup it needs before the clock starts
+// (topic ids to apply to, reports to download). Each step is one endpoint in the report and in the budgets.
+final class Scenario {
+
+    interface Setup {
+        void prepare(ApiClient api, Fixture fixture) throws Exception;
+    }
+
+    interface RequestFactory {
+        HttpRequest create(ApiClient api, Fixture fixture, VirtualUser user);
+    }
+
+    // key names the endpoint in budgets.properties; statuses other than expected count as errors
+    record Step(String key, String label, int weight, RequestFactory request, Set<Integer> expected) {
+    }
+
+    private final String name;
+    private final Setup setup;
+    private final List<Step> steps = new ArrayList<>();
+    private int totalWeight;
+
+    Scenario(String name, Setup setup) {
+        this.name = name;
+        this.setup = setup;
+    }
+
+    Scenario step(String key, String label, int weight, RequestFactory request) {
+        return step(key, label, weight, request, Set.of(200));
+    }
+
+    Scenario step(String key, String label, int weight, RequestFactory request, Set<Integer> expected) {
+        steps.add(new Step(key, label, weight, request, expected));
+        totalWeight += weight;
+        return this;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    List<Step> getSteps() {
+        return steps;
+    }
+
+    void prepare(ApiClient api, Fixture fixture) throws Exception {
+        if (setup != null) {
+            setup.prepare(api, fixture);
+        }
+    }
+
+    Step pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Step step : steps) {
+            ticket -= step.weight();
+            if (ticket < 0) {
+                return step;
+            }
+        }
+        throw new IllegalStateException("Scenario " + name + " has no steps");
+    }
+}
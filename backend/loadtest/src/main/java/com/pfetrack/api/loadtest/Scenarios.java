@@ -0,0 +1,154 @@
+package com.pfetrack.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// The traffic shapes we plan capacity for. Paths are relative to the API base URL (context path included).
+final class Scenarios {
+
+    static final List<String> NAMES = List.of("dashboard", "topic-rush", "grade-publish", "report-downloads");
+
+    private Scenarios() {
+    }
+
+    static Scenario create(String name) {
+        switch (name) {
+            case "dashboard":
+                return dashboard();
+            case "topic-rush":
+                return topicRush();
+            case "grade-publish":
+                return gradePublish();
+            case "report-downloads":
+                return reportDownloads();
+            default:
+                throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + NAMES);
+        }
+    }
+
+    // Students opening the application: the dashboard and the lists it links to
+    static Scenario dashboard() {
+        return new Scenario("dashboard", null)
+                .step("dashboard", "GET /api/dashboard", 5, (api, fixture, user) -> get(api, "/api/dashboard", user))
+                .step("events.upcoming", "GET /api/events/upcoming", 2,
+                        (api, fixture, user) -> get(api, "/api/events/upcoming", user))
+                .step("grades.mine", "GET /api/grades/my-grades", 2,
+                        (api, fixture, user) -> get(api, "/api/grades/my-grades", user))
+                .step("grades.gpa", "GET /api/grades/my-gpa", 1, (api, fixture, user) -> get(api, "/api/grades/my-gpa", user))
+                .step("topics.list", "GET /topics", 2, (api, fixture, user) -> get(api, "/topics?size=20", user));
+    }
+
+    // Topic selection opening: everyone applies at once. 400 (already applied, topic taken) and 503 (admission
+    // queue full, retry later) are the answers a rush is supposed to get, so they are not errors.
+    static Scenario topicRush() {
+        return new Scenario("topic-rush", Scenarios::loadTopics)
+                .step("topics.apply", "POST /topics/{id}/apply", 6, (api, fixture, user) -> {
+                    long[] topics = fixture.getTopicIds();
+                    SplittableRandom random = user.getRandom();
+                    long topicId = topics[random.nextInt(topics.length)];
+                    return api.request("/topics/" + topicId + "/apply?rank=" + (1 + random.nextInt(3)), user.getToken())
+                            .header("Content-Type", "text/plain")
+                            .POST(HttpRequest.BodyPublishers.ofString("Load test application"))
+                            .build();
+                }, Set.of(200, 400, 503))
+                .step("topics.available", "GET /topics/available", 3,
+                        (api, fixture, user) -> get(api, "/topics/available?size=20", user))
+                .step("topics.my-applications", "GET /topics/my-applications", 1,
+                        (api, fixture, user) -> get(api, "/topics/my-applications", user));
+    }
+
+    // Grades going out at the end of the semester while students keep refreshing theirs
+    static Scenario gradePublish() {
+        return new Scenario("grade-publish", Scenarios::seedGrades)
+                .step("grades.publish", "PUT /api/grades/publish", 1, (api, fixture, user) -> {
+                    List<Fixture.PublishTarget> targets = fixture.getPublishTargets();
+                    Fixture.PublishTarget target = targets.get(user.getRandom().nextInt(targets.size()));
+                    return api.request("/api/grades/publish?subjectName=" + encode(target.subjectName())
+                                    + "&semester=" + encode(target.semester()), fixture.getAdminToken())
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .build();
+                })
+                .step("grades.mine", "GET /api/grades/my-grades", 4,
+                        (api, fixture, user) -> get(api, "/api/grades/my-grades", user))
+                .step("grades.summary", "GET /api/grades/my-summary", 3,
+                        (api, fixture, user) -> get(api, "/api/grades/my-summary", user))
+                .step("grades.gpa", "GET /api/grades/my-gpa", 2, (api, fixture, user) -> get(api, "/api/grades/my-gpa", user));
+    }
+
+    // Review week: every student fetching their report file again and again
+    static Scenario reportDownloads() {
+        return new Scenario("report-downloads", Scenarios::uploadReports)
+                .step("reports.download", "GET /reports/{id}/download", 6,
+                        (api, fixture, user) -> get(api, "/reports/" + user.getReportId() + "/download", user))
+                .step("reports.list", "GET /reports", 3, (api, fixture, user) -> get(api, "/reports", user))
+                .step("dashboard", "GET /api/dashboard", 1, (api, fixture, user) -> get(api, "/api/dashboard", user));
+    }
+
+    private static HttpRequest get(ApiClient api, String path, VirtualUser user) {
+        return api.request(path, user.getToken()).GET().build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void loadTopics(ApiClient api, Fixture fixture) throws Exception {
+        JsonNode topics = api.getJson("/topics/available?size=200", fixture.getAdminToken());
+        long[] ids = new long[topics.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = topics.get(i).path("id").asLong();
+        }
+        if (ids.length == 0) {
+            throw new IllegalStateException("No available topic to apply to");
+        }
+        fixture.setTopicIds(ids);
+    }
+
+    // Unpublished grades for every student in a few subjects, so each publish has rows to flip; once they are all
+    // published the statement still runs, it just matches nothing
+    private static void seedGrades(ApiClient api, Fixture fixture) throws Exception {
+        List<Fixture.PublishTarget> targets = new ArrayList<>();
+        for (int subject = 1; subject <= 4; subject++) {
+            targets.add(new Fixture.PublishTarget("Load Test " + subject, "S2"));
+        }
+        for (VirtualUser user : fixture.getUsers()) {
+            SplittableRandom random = new SplittableRandom(user.getId());
+            for (Fixture.PublishTarget target : targets) {
+                Map<String, Object> grade = new LinkedHashMap<>();
+                grade.put("student", Map.of("id", user.getId()));
+                grade.put("subjectName", target.subjectName());
+                grade.put("semester", target.semester());
+                grade.put("academicYear", "2025-2026");
+                grade.put("gradeValue", 8 + random.nextInt(25) / 2.0);
+                grade.put("credits", 3);
+                grade.put("status", "Final");
+                grade.put("isPublished", false);
+                api.postJson("/api/grades", fixture.getAdminToken(), grade);
+            }
+        }
+        fixture.setPublishTargets(targets);
+    }
+
+    // One report per student with distinct content, so downloads are not all served from the same blob
+    private static void uploadReports(ApiClient api, Fixture fixture) throws Exception {
+        for (VirtualUser user : fixture.getUsers()) {
+            byte[] content = new byte[fixture.getReportSizeKb() * 1024];
+            new SplittableRandom(user.getUsername().hashCode()).nextBytes(content);
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("title", "Load test report");
+            fields.put("type", "Final Report");
+            fields.put("description", "Uploaded by the load test");
+            JsonNode report = api.postMultipart("/reports/upload", user.getToken(), fields, "report.pdf", content);
+            user.setReportId(report.path("id").asLong());
+        }
+    }
+}
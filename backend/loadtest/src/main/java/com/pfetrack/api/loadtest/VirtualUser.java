@@ -0,0 +1,44 @@
+package com.pfetrack.api.loadtest;
+
+import java.util.SplittableRandom;
+
+// One logged-in student; each runs on its own thread, so its random source is not shared
+final class VirtualUser {
+
+    private final long id;
+    private final String username;
+    private final String token;
+    private final SplittableRandom random;
+    private long reportId;
+
+    VirtualUser(long id, String username, String token, SplittableRandom random) {
+        this.id = id;
+        this.username = username;
+        this.token = token;
+        this.random = random;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    SplittableRandom getRandom() {
+        return random;
+    }
+
+    long getReportId() {
+        return reportId;
+    }
+
+    void setReportId(long reportId) {
+        this.reportId = reportId;
+    }
+}
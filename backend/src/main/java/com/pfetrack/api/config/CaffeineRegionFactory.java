@@ -0,0 +1,146 @@
+package com.pfetrack.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Hibernate second-level and query cache regions held in Caffeine caches, bounded by size and time since write.
+// Configured through spring.jpa.properties.hibernate.cache.caffeine.*; Hibernate instantiates the factory itself,
+// so the regions are also kept in a static map for the statistics endpoint.
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_SIZE = "hibernate.cache.caffeine.max-size";
+    public static final String TTL_SECONDS = "hibernate.cache.caffeine.ttl-seconds";
+
+    private static final Map<String, Cache<Object, Object>> regions = new ConcurrentHashMap<>();
+
+    // Query result regions, cleared together when the timestamps region evicts
+    private final List<Cache<Object, Object>> queryRegions = new CopyOnWriteArrayList<>();
+
+    private long maxSize = 10_000;
+    private long ttlSeconds = 600;
+
+    // Hit/miss counters per region, by region name
+    public static Map<String, CacheStats> getStatistics() {
+        Map<String, CacheStats> statistics = new TreeMap<>();
+        regions.forEach((name, cache) -> statistics.put(name, cache.stats()));
+        return statistics;
+    }
+
+    public static Map<String, Long> getSizes() {
+        Map<String, Long> sizes = new TreeMap<>();
+        regions.forEach((name, cache) -> sizes.put(name, cache.estimatedSize()));
+        return sizes;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Object size = configValues.get(MAX_SIZE);
+        if (size != null) {
+            maxSize = Long.parseLong(size.toString());
+        }
+        Object ttl = configValues.get(TTL_SECONDS);
+        if (ttl != null) {
+            ttlSeconds = Long.parseLong(ttl.toString());
+        }
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(Cache::invalidateAll);
+        regions.clear();
+        queryRegions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new CaffeineStorageAccess(register(regionConfig.getRegionName(), bounded()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        Cache<Object, Object> results = bounded();
+        queryRegions.add(results);
+        return new CaffeineStorageAccess(register(regionName, results));
+    }
+
+    // Bounded like the others, but a missing timestamp counts as "never updated": cached query results would
+    // outlive the record of their tables changing. So evicting a timestamp also drops every cached query result.
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        Cache<Object, Object> timestamps = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .evictionListener((key, value, cause) -> queryRegions.forEach(Cache::invalidateAll))
+                .recordStats()
+                .build();
+        return new CaffeineStorageAccess(register(regionName, timestamps));
+    }
+
+    private Cache<Object, Object> bounded() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    private static Cache<Object, Object> register(String regionName, Cache<Object, Object> cache) {
+        regions.put(regionName, cache);
+        return cache;
+    }
+
+    private record CaffeineStorageAccess(Cache<Object, Object> cache) implements DomainDataStorageAccess {
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (value == null) {
+                cache.invalidate(key);
+            } else {
+                cache.put(key, value);
+            }
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+    }
+}
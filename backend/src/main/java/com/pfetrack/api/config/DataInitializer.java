@@ -6,6 +6,7 @@ import com.pfetrack.api.model.Event;
 import com.pfetrack.api.repository.EventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -15,7 +16,9 @@ import java.time.LocalTime;
 import java.util.HashSet;
 import java.util.Set;
 
+// Demo rows for local runs; the "generate" profile seeds through SyntheticDataGenerator instead
 @Component
+@Profile("!generate")
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
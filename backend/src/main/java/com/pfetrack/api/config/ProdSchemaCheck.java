@@ -0,0 +1,35 @@
+package com.pfetrack.api.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+// The prod profile leaves the schema to Flyway (ddl-auto=none). A jar built without -Pprod has no Flyway, and would
+// start against an empty database and fail on the first query; refuse to start instead, before any bean is created
+@Component
+@Profile("prod")
+public class ProdSchemaCheck implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (!ClassUtils.isPresent("org.flywaydb.core.Flyway", getClass().getClassLoader())) {
+            throw new IllegalStateException(
+                    "The prod profile needs Flyway to create the schema; build the jar with mvn -Pprod package");
+        }
+        if (!environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+            throw new IllegalStateException(
+                    "The prod profile does not create the schema itself; spring.flyway.enabled must stay true");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.pfetrack.api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Times every statement execution (execute, executeQuery, executeUpdate, executeBatch...) into the current
+// RequestProfile. Whatever issues the SQL, Hibernate or JdbcTemplate, goes through here; a batch counts as one
+// statement. Outside a profiled request the proxies only pass calls through. unwrap() still reaches the pool.
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    public ProfilingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                type == Connection.class ? new ConnectionHandler(target) : new StatementHandler(target));
+    }
+
+    // Proxies compare by identity; everything else goes to the driver's object
+    private static Object invoke(Object proxy, Method method, Object target, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Object connection) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(proxy, method, connection, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return proxy(Statement.class, statement);
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Object statement) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            RequestProfile profile = RequestProfile.current();
+            if (profile == null || !method.getName().startsWith("execute")) {
+                return ProfilingDataSource.invoke(proxy, method, statement, args);
+            }
+            long started = System.nanoTime();
+            try {
+                return ProfilingDataSource.invoke(proxy, method, statement, args);
+            } finally {
+                profile.recordStatement(System.nanoTime() - started);
+            }
+        }
+    }
+}
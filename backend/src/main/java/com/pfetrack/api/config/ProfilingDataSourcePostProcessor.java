@@ -0,0 +1,19 @@
+package com.pfetrack.api.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Puts ProfilingDataSource in front of the pool, so every connection handed out is timed
+@Component
+public class ProfilingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+            return new ProfilingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,64 @@
+package com.pfetrack.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+// Boot's JSON converter (same ObjectMapper), timing serialization into the current RequestProfile. When the
+// Server-Timing header is on, the body is serialized into a buffer first: headers can only be added before the
+// first byte goes out, and by then serialization has to be over to be in them.
+@Component
+public class ProfilingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    public ProfilingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        profile.endApplication();
+        long started = System.nanoTime();
+        if (!profile.isServerTiming()) {
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                profile.recordSerialization(System.nanoTime() - started);
+            }
+            return;
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        HttpHeaders headers = outputMessage.getHeaders();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        profile.recordSerialization(System.nanoTime() - started);
+        if (profile.markHeaderWritten()) {
+            headers.add(RequestProfilingFilter.SERVER_TIMING, profile.serverTimingHeader());
+        }
+        headers.setContentLength(body.size());
+        body.writeTo(outputMessage.getBody());
+    }
+}
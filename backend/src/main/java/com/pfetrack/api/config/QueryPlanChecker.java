@@ -0,0 +1,144 @@
+package com.pfetrack.api.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Runs EXPLAIN on the SQL behind every JPQL @Query in the repositories and warns about the ones whose plan
+// reads a whole table. Each query is executed once with null parameters in a rolled-back read-only transaction
+// so Hibernate generates the real SQL; modifying and native queries are skipped.
+@Component
+@ConditionalOnProperty(name = "app.jpa.plan-check.enabled", havingValue = "true")
+public class QueryPlanChecker {
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanChecker.class);
+
+    // H2 marks scans as "/* PUBLIC.EVENTS.tableScan */", PostgreSQL as "Seq Scan on events"
+    private static final Pattern FULL_SCAN = Pattern.compile("(\\w+)\\.tableScan|Seq Scan on (\\w+)");
+
+    // Spring Data's LIKE shorthand (LIKE %:keyword%) is not JPQL; the wildcards are dropped for planning
+    private static final Pattern LIKE_SHORTHAND = Pattern.compile("%?(:\\w+)%?");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    public QueryPlanChecker(ApplicationContext applicationContext, DataSource dataSource,
+                            PlatformTransactionManager transactionManager) {
+        this.applicationContext = applicationContext;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkQueryPlans() {
+        List<Method> methods = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryInformationFor(domainType).ifPresent(information -> {
+                for (Method method : information.getRepositoryInterface().getDeclaredMethods()) {
+                    Query query = method.getAnnotation(Query.class);
+                    if (query != null && !query.nativeQuery() && !method.isAnnotationPresent(Modifying.class)) {
+                        methods.add(method);
+                    }
+                }
+            });
+        }
+        methods.sort(Comparator.comparing(method -> method.getDeclaringClass().getSimpleName() + "." + method.getName()));
+
+        int fullScans = 0;
+        for (Method method : methods) {
+            String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            try {
+                List<String> scanned = new ArrayList<>();
+                for (String sql : generatedSql(method.getAnnotation(Query.class).value())) {
+                    for (String table : scannedTables(sql)) {
+                        if (!scanned.contains(table)) {
+                            scanned.add(table);
+                        }
+                    }
+                }
+                if (!scanned.isEmpty()) {
+                    fullScans++;
+                    logger.warn("Query plan check: {} scans {} without an index", name, String.join(", ", scanned));
+                }
+            } catch (RuntimeException | SQLException e) {
+                logger.warn("Query plan check: could not explain {}: {}", name, e.getMessage());
+            }
+        }
+        logger.info("Query plan check: {} of {} repository queries fall back to a full scan", fullScans, methods.size());
+    }
+
+    private List<String> generatedSql(String jpql) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            jakarta.persistence.Query query = entityManager.createQuery(LIKE_SHORTHAND.matcher(jpql).replaceAll("$1"));
+            for (Parameter<?> parameter : query.getParameters()) {
+                if (parameter.getName() != null) {
+                    query.setParameter(parameter.getName(), null);
+                } else {
+                    query.setParameter(parameter.getPosition(), null);
+                }
+            }
+            List<String> captured;
+            StatementCapture.startCapture();
+            try {
+                query.setMaxResults(1).getResultList();
+            } finally {
+                captured = StatementCapture.stopCapture();
+                entityManager.clear();
+            }
+            return captured;
+        });
+    }
+
+    private List<String> scannedTables(String sql) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                explain.setNull(i, Types.NULL);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    Matcher matcher = FULL_SCAN.matcher(plan.getString(1));
+                    while (matcher.find()) {
+                        String table = (matcher.group(1) != null ? matcher.group(1) : matcher.group(2)).toLowerCase();
+                        if (!tables.contains(table)) {
+                            tables.add(table);
+                        }
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+}
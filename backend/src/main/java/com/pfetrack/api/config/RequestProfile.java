@@ -0,0 +1,114 @@
+package com.pfetrack.api.config;
+
+import java.util.Locale;
+
+// Where the time of one request went: token authentication, JDBC statements, controller logic and JSON
+// serialization. Opened by RequestProfilingFilter on the request thread and filled in by AuthTokenFilter,
+// ProfilingDataSource and ProfilingJacksonConverter; work handed to other threads is not seen.
+public class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long started = System.nanoTime();
+    private final boolean serverTiming;
+    private final int statementBudget;
+
+    private long authNanos;
+    private long authEnded = -1;
+    private int statements;
+    private long dbNanos;
+    private long appNanos = -1;
+    private long serializationNanos;
+    private boolean headerWritten;
+
+    private RequestProfile(boolean serverTiming, int statementBudget) {
+        this.serverTiming = serverTiming;
+        this.statementBudget = statementBudget;
+    }
+
+    public static RequestProfile start(boolean serverTiming, int statementBudget) {
+        RequestProfile profile = new RequestProfile(serverTiming, statementBudget);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    // Null outside a profiled request
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public void recordAuthentication(long nanos) {
+        authNanos += nanos;
+        authEnded = System.nanoTime();
+    }
+
+    public void recordStatement(long nanos) {
+        statements++;
+        dbNanos += nanos;
+    }
+
+    // Application time runs from authentication to the first byte of the body, or to the end of the chain for
+    // handlers that write the response themselves; it includes the statements counted under db
+    public void endApplication() {
+        if (appNanos < 0) {
+            appNanos = System.nanoTime() - (authEnded >= 0 ? authEnded : started);
+        }
+    }
+
+    public void recordSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public boolean isServerTiming() {
+        return serverTiming;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public boolean isOverBudget() {
+        return statements > statementBudget;
+    }
+
+    public int getStatementBudget() {
+        return statementBudget;
+    }
+
+    // The header goes out once, just before the body; false if it already did
+    public boolean markHeaderWritten() {
+        if (headerWritten) {
+            return false;
+        }
+        headerWritten = true;
+        return true;
+    }
+
+    // Server-Timing value; total is the time so far
+    public String serverTimingHeader() {
+        return "auth;dur=" + millis(authNanos)
+                + ", db;dur=" + millis(dbNanos) + ";desc=\"" + statements + (statements == 1 ? " statement" : " statements")
+                + (isOverBudget() ? ", over budget" : "") + "\""
+                + ", app;dur=" + millis(Math.max(appNanos, 0))
+                + ", ser;dur=" + millis(serializationNanos)
+                + ", total;dur=" + millis(System.nanoTime() - started);
+    }
+
+    // key=value pairs for the log line
+    public String summary() {
+        return "total_ms=" + millis(System.nanoTime() - started)
+                + " auth_ms=" + millis(authNanos)
+                + " db_ms=" + millis(dbNanos)
+                + " db_statements=" + statements
+                + " app_ms=" + millis(Math.max(appNanos, 0))
+                + " ser_ms=" + millis(serializationNanos);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
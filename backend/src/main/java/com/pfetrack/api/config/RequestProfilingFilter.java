@@ -0,0 +1,67 @@
+package com.pfetrack.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Profiles each request (see RequestProfile) and reports it three ways: a Server-Timing header, a key=value log
+// line for a sample of requests, and a warning for every request running more SQL than the budget allows.
+// With list endpoints on fixed fetch plans, going over the budget is almost always an N+1 that crept back in.
+// Runs just ahead of the security chain so token authentication is inside the profile.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RequestProfilingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RequestProfilingFilter.class);
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Value("${app.profiling.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.profiling.server-timing:true}")
+    private boolean serverTiming;
+
+    @Value("${app.profiling.log-sample-rate:0.01}")
+    private double logSampleRate;
+
+    @Value("${app.jpa.statement-budget:10}")
+    private int statementBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestProfile profile = RequestProfile.start(serverTiming, statementBudget);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestProfile.stop();
+            profile.endApplication();
+            // Bodies Jackson did not write (files, empty responses) leave the headers open until here
+            if (serverTiming && !response.isCommitted() && profile.markHeaderWritten()) {
+                response.addHeader(SERVER_TIMING, profile.serverTimingHeader());
+            }
+            if (profile.isOverBudget()) {
+                logger.warn("profile method={} path={} status={} {} statement_budget={}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), profile.summary(), profile.getStatementBudget());
+            } else if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                logger.info("profile method={} path={} status={} {}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), profile.summary());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pfetrack.api.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Captures the SQL text Hibernate generates on the current thread while a capture is open; statement counts and
+// timings per request come from ProfilingDataSource. Registered through hibernate.session_factory.statement_inspector,
+// so Hibernate creates its own instance and the state has to be static.
+public class StatementCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURE = new ThreadLocal<>();
+
+    // For tooling that needs the generated statements
+    public static void startCapture() {
+        CAPTURE.set(new ArrayList<>());
+    }
+
+    public static List<String> stopCapture() {
+        List<String> captured = CAPTURE.get();
+        CAPTURE.remove();
+        return captured != null ? captured : new ArrayList<>();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURE.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+}
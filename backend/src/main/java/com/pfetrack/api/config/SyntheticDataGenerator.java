@@ -0,0 +1,471 @@
+package com.pfetrack.api.config;
+
+import com.pfetrack.api.model.ERole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fills an empty database with a synthetic dataset at any scale, in place of DataInitializer's handful of demo rows
+// (profile "generate", settings in application-generate.properties). Students are written in chunks on several
+// threads, each chunk one transaction of batched JDBC inserts; ids are derived from each row's position, so the
+// chunks need no coordination and the sequences are moved past them at the end. Every value comes from a random
+// seeded per student, topic or supervisor, so a given seed, scale and reference date always produce the same rows,
+// whatever the thread count. Passwords are hashed once up front: all generated accounts share one hash, and the
+// admin / student / supervisor demo accounts keep their usual passwords.
+@Component
+@Profile("generate")
+public class SyntheticDataGenerator implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final long STUDENT_SALT = 0x9E3779B97F4A7C15L;
+    private static final long TOPIC_SALT = 0xC2B2AE3D27D4EB4FL;
+    private static final long SUPERVISOR_SALT = 0x165667B19E3779F9L;
+    private static final long EVENT_SALT = 0x27D4EB2F165667C5L;
+
+    private static final String[] DEPARTMENTS = {"Computer Science", "Software Engineering", "Electrical Engineering",
+            "Information Systems", "Cybersecurity", "Mechanical Engineering", "Civil Engineering", "Industrial Engineering"};
+    private static final int[] DEPARTMENT_WEIGHTS = {30, 20, 12, 12, 8, 8, 5, 5};
+    private static final String[] FIRST_NAMES = {"Ahmed", "Fatma", "Mohamed", "Leila", "Sami", "Amira", "Youssef",
+            "Salma", "Karim", "Nour", "Omar", "Ines", "Mehdi", "Rania", "Walid", "Yasmine", "Hamza", "Sarra", "Aziz", "Mariem"};
+    private static final String[] LAST_NAMES = {"Ben Ali", "Gharbi", "Trabelsi", "Khedher", "Jemni", "Khouani",
+            "Mansouri", "Haddad", "Bouazizi", "Chaabane", "Dridi", "Ferchichi", "Hamdi", "Jaziri", "Karoui", "Mejri",
+            "Nasri", "Riahi", "Saidi", "Zouari"};
+    private static final String[] COURSES = {"Algorithms", "Databases", "Operating Systems", "Computer Networks",
+            "Software Engineering", "Linear Algebra", "Probability and Statistics", "Web Development",
+            "Object-Oriented Programming", "Compilers", "Distributed Systems", "Machine Learning", "Computer Architecture",
+            "Information Security", "Project Management", "Signal Processing", "Numerical Analysis", "Cloud Computing"};
+    private static final String[] TOPIC_SUBJECTS = {"Machine Learning", "IoT", "Blockchain", "Computer Vision",
+            "Microservices", "Natural Language Processing", "Digital Twin", "Recommender System", "Edge Computing",
+            "Intrusion Detection", "Mobile Application", "Data Warehouse"};
+    private static final String[] TOPIC_PURPOSES = {"Predictive Maintenance", "Supply Chain Tracking",
+            "Energy Monitoring", "Healthcare Follow-up", "Smart Agriculture", "Fraud Detection", "Campus Services",
+            "Traffic Management", "Customer Analytics", "Document Management"};
+    private static final String[] TOPIC_TYPES = {"Research", "Development", "Development", "Analysis"};
+    private static final String[] MILESTONES = {"Requirements Analysis", "State of the Art", "System Design",
+            "Implementation", "Testing and Validation", "Final Report"};
+    private static final String[] PRIORITIES = {"Low", "Medium", "High", "Critical"};
+    private static final String[] EVENT_TYPES = {"exam", "exam", "exam", "meeting", "meeting", "meeting",
+            "deadline", "deadline", "pfe", "presentation"};
+    private static final String[] REPORT_TYPES = {"Weekly", "Monthly", "Progress", "Final"};
+    private static final int SUBJECTS_PER_SEMESTER = 6;
+    private static final int MAX_SEMESTERS = 6;
+    private static final int REPORTS_PER_STUDENT = 3;
+
+    private static final String USERS = "INSERT INTO users (id, username, email, password, first_name, last_name) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String USER_ROLES = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String STUDENT_PROFILES = "INSERT INTO student_profiles (id, user_id, student_id, department, " +
+            "academic_year, enrollment_date, expected_graduation, gpa, credits_completed, total_credits_required, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String TOPICS = "INSERT INTO topics (id, title, description, supervisor, department, type, " +
+            "status, max_students, current_students, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String PROJECTS = "INSERT INTO projects (id, student_id, topic_id, title, description, " +
+            "supervisor, department, type, status, start_date, end_date, expected_completion_date, progress_percentage, " +
+            "current_phase, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String MILESTONES_SQL = "INSERT INTO project_milestones (id, project_id, title, due_date, " +
+            "completion_date, status, priority, progress_percentage, order_index, reminder_sent, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String GRADES = "INSERT INTO grades (id, student_id, subject_name, subject_code, grade_value, " +
+            "letter_grade, credits, semester, academic_year, evaluation_type, evaluation_date, max_score, obtained_score, " +
+            "professor, status, is_published, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String EVENTS = "INSERT INTO events (id, title, description, event_date, event_time, type, " +
+            "location, status, student_id, is_public, created_by, reminder_sent, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String REPORTS = "INSERT INTO reports (id, student_id, title, description, type, status, " +
+            "submitted_at, reviewed_at, grade, reviewer_comments, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Tables whose ids the generator assigns, in the order their rows are written
+    private static final String[] TABLES = {"roles", "users", "user_roles", "topics", "student_profiles", "projects",
+            "project_milestones", "grades", "events", "reports"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.generator.students:1000}")
+    private int students;
+
+    @Value("${app.generator.seed:42}")
+    private long seed;
+
+    @Value("${app.generator.threads:4}")
+    private int threads;
+
+    @Value("${app.generator.chunk-size:250}")
+    private int chunkSize;
+
+    @Value("${app.generator.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.generator.events-per-student:8}")
+    private int eventsPerStudent;
+
+    @Value("${app.generator.password:password123}")
+    private String password;
+
+    @Value("${app.generator.today:}")
+    private String referenceDate;
+
+    private final Map<String, LongAdder> counts = new LinkedHashMap<>();
+    private final Map<ERole, Integer> roleIds = new EnumMap<>(ERole.class);
+    private LocalDate today;
+    private Timestamp now;
+    private int supervisors;
+    private int assignedTopics;
+    private int topics;
+    private String sharedHash;
+    private String studentHash;
+
+    public SyntheticDataGenerator(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (String table : TABLES) {
+            counts.put(table, new LongAdder());
+        }
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            logger.info("Synthetic data skipped: the database already has {} users", existing);
+            return;
+        }
+        long started = System.nanoTime();
+        today = StringUtils.hasText(referenceDate) ? LocalDate.parse(referenceDate) : LocalDate.now();
+        now = Timestamp.valueOf(today.atTime(LocalTime.NOON));
+        supervisors = Math.max(1, students / 20);
+        // Students pair up on topics; a tenth more stay open
+        assignedTopics = (students + 1) / 2;
+        topics = assignedTopics + Math.max(1, students / 10);
+
+        sharedHash = passwordEncoder.encode(password);
+        studentHash = passwordEncoder.encode("student123");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            writeRoles();
+            writeStaffTopicsAndPublicEvents();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int first = 0; first < students; first += chunkSize) {
+                int from = first;
+                int to = Math.min(students, first + chunkSize);
+                chunks.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> writeStudents(from, to))));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String table : TABLES) {
+            if (!"user_roles".equals(table)) {
+                restartSequence(table);
+            }
+        }
+
+        long total = counts.values().stream().mapToLong(LongAdder::sum).sum();
+        Map<String, Long> perTable = new LinkedHashMap<>();
+        counts.forEach((table, count) -> perTable.put(table, count.sum()));
+        logger.info("Generated {} rows for {} students in {} ms: {}", total, students,
+                (System.nanoTime() - started) / 1_000_000, perTable);
+    }
+
+    private void writeRoles() {
+        jdbcTemplate.query("SELECT id, name FROM roles", rs -> {
+            roleIds.put(ERole.valueOf(rs.getString("name")), rs.getInt("id"));
+        });
+        Integer max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM roles", Integer.class);
+        int next = max != null ? max + 1 : 1;
+        List<Object[]> rows = new ArrayList<>();
+        for (ERole role : new ERole[]{ERole.ROLE_STUDENT, ERole.ROLE_ADMIN, ERole.ROLE_SUPERVISOR}) {
+            if (!roleIds.containsKey(role)) {
+                roleIds.put(role, next);
+                rows.add(new Object[]{next++, role.name()});
+            }
+        }
+        write("roles", "INSERT INTO roles (id, name) VALUES (?, ?)", rows);
+    }
+
+    // The admin, the supervisors (the first one is the "supervisor" demo account), every topic and the public events
+    private void writeStaffTopicsAndPublicEvents() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+        users.add(new Object[]{1L, "admin", "admin@pfetrack.com", passwordEncoder.encode("admin123"), "Admin", "User"});
+        userRoles.add(new Object[]{1L, roleIds.get(ERole.ROLE_ADMIN)});
+        String supervisorHash = passwordEncoder.encode("supervisor123");
+        for (int k = 0; k < supervisors; k++) {
+            SplittableRandom random = new SplittableRandom(seed ^ (k + 1) * SUPERVISOR_SALT);
+            String username = k == 0 ? "supervisor" : "supervisor" + k;
+            users.add(new Object[]{supervisorUserId(k), username, username + "@pfetrack.com",
+                    k == 0 ? supervisorHash : sharedHash, pick(random, FIRST_NAMES), pick(random, LAST_NAMES)});
+            userRoles.add(new Object[]{supervisorUserId(k), roleIds.get(ERole.ROLE_SUPERVISOR)});
+        }
+        write("users", USERS, users);
+        write("user_roles", USER_ROLES, userRoles);
+
+        List<Object[]> topicRows = new ArrayList<>();
+        for (int t = 0; t < topics; t++) {
+            String department = topicDepartment(t);
+            String title = topicTitle(t);
+            SplittableRandom random = new SplittableRandom(seed ^ ~((t + 1) * TOPIC_SALT));
+            boolean assigned = t < assignedTopics;
+            int current = assigned ? (2 * t + 1 < students ? 2 : 1) : 0;
+            topicRows.add(new Object[]{(long) t + 1, title,
+                    "Final-year project in " + department + ": design, build and evaluate " + title + ".",
+                    supervisorName(t % supervisors), department, pick(random, TOPIC_TYPES),
+                    assigned ? "Taken" : "Available", assigned ? 2 : 1 + random.nextInt(3), current, 0L, now, now});
+        }
+        write("topics", TOPICS, topicRows);
+
+        List<Object[]> events = new ArrayList<>();
+        int publicEvents = Math.max(1, students / 50);
+        for (int e = 0; e < publicEvents; e++) {
+            SplittableRandom random = new SplittableRandom(seed ^ (e + 1) * EVENT_SALT);
+            LocalDate date = today.plusDays(random.nextInt(-90, 180));
+            String type = random.nextInt(3) == 0 ? "pfe" : "meeting";
+            events.add(new Object[]{publicEventId(e), type.equals("pfe") ? "PFE Information Session" : "Career Fair",
+                    "Open to all students.", Date.valueOf(date), Time.valueOf(LocalTime.of(9 + random.nextInt(8), 0)),
+                    type, "Main Auditorium", date.isBefore(today) ? "completed" : "upcoming", null, true, "admin",
+                    false, now, now});
+        }
+        write("events", EVENTS, events);
+    }
+
+    // Everything owned by students from (inclusive) to to (exclusive), written table by table so foreign keys hold
+    private void writeStudents(int from, int to) {
+        int capacity = to - from;
+        List<Object[]> users = new ArrayList<>(capacity);
+        List<Object[]> userRoles = new ArrayList<>(capacity);
+        List<Object[]> profiles = new ArrayList<>(capacity);
+        List<Object[]> projects = new ArrayList<>(capacity);
+        List<Object[]> milestones = new ArrayList<>(capacity * MILESTONES.length);
+        List<Object[]> grades = new ArrayList<>(capacity * SUBJECTS_PER_SEMESTER * MAX_SEMESTERS / 2);
+        List<Object[]> events = new ArrayList<>(capacity * eventsPerStudent);
+        List<Object[]> reports = new ArrayList<>(capacity * REPORTS_PER_STUDENT);
+        int academicYearStart = today.getMonthValue() >= Month.SEPTEMBER.getValue() ? today.getYear() : today.getYear() - 1;
+
+        for (int s = from; s < to; s++) {
+            SplittableRandom random = new SplittableRandom(seed ^ (s + 1) * STUDENT_SALT);
+            long userId = studentUserId(s);
+            String username = s == 0 ? "student" : "student" + s;
+            String firstName = s == 0 ? "John" : pick(random, FIRST_NAMES);
+            String lastName = s == 0 ? "Doe" : pick(random, LAST_NAMES);
+            users.add(new Object[]{userId, username, username + "@pfetrack.com", s == 0 ? studentHash : sharedHash,
+                    firstName, lastName});
+            userRoles.add(new Object[]{userId, roleIds.get(ERole.ROLE_STUDENT)});
+
+            // Year of study 1 to 3; the department is the one of the topic the student works on
+            int level = 1 + random.nextInt(3);
+            int topic = s / 2;
+            String department = topicDepartment(topic);
+            int enrollmentYear = academicYearStart - level + 1;
+            profiles.add(new Object[]{(long) s + 1, userId, String.format("S%07d", s + 1), department,
+                    level + (level == 1 ? "st" : level == 2 ? "nd" : "rd") + " Year",
+                    Date.valueOf(LocalDate.of(enrollmentYear, 9, 15)), Date.valueOf(LocalDate.of(enrollmentYear + 3, 6, 30)),
+                    0.0, 0, 180, now, now});
+
+            // Grades: a per-student ability and a per-course difficulty around a 12/20 mean
+            double ability = 12 + 2.5 * random.nextGaussian();
+            int semesters = 2 * (level - 1) + (today.getMonthValue() >= Month.FEBRUARY.getValue()
+                    && today.getMonthValue() < Month.SEPTEMBER.getValue() ? 2 : 1);
+            for (int semester = 1; semester <= semesters; semester++) {
+                int yearStart = enrollmentYear + (semester - 1) / 2;
+                LocalDate evaluated = semester % 2 == 1 ? LocalDate.of(yearStart + 1, 1, 20) : LocalDate.of(yearStart + 1, 6, 15);
+                boolean published = evaluated.isBefore(today);
+                for (int j = 0; j < SUBJECTS_PER_SEMESTER; j++) {
+                    int course = ((semester - 1) * SUBJECTS_PER_SEMESTER + j) % COURSES.length;
+                    double difficulty = (course % 5 - 2) * 0.75;
+                    double value = Math.max(0, Math.min(20, Math.round((ability - difficulty + 2 * random.nextGaussian()) * 4) / 4.0));
+                    long gradeId = (long) s * SUBJECTS_PER_SEMESTER * MAX_SEMESTERS + (semester - 1) * SUBJECTS_PER_SEMESTER + j + 1;
+                    grades.add(new Object[]{gradeId, userId, COURSES[course], "C" + (101 + course) + "-S" + semester,
+                            value, letterGrade(value), 2 + course % 4, "S" + semester, yearStart + "-" + (yearStart + 1),
+                            j == SUBJECTS_PER_SEMESTER - 1 ? "Project" : "Final", Date.valueOf(evaluated), 20.0, value,
+                            supervisorName((course + s) % supervisors), published ? "Final" : "Provisional", published,
+                            now, now});
+                }
+            }
+
+            // The PFE project runs February to June, one milestone every three weeks
+            LocalDate start = LocalDate.of(academicYearStart + 1, 2, 1);
+            long projectId = (long) s + 1;
+            int completed = 0;
+            for (int m = 0; m < MILESTONES.length; m++) {
+                LocalDate due = start.plusWeeks(3L * (m + 1));
+                String status;
+                LocalDate completion = null;
+                double progress;
+                if (due.isBefore(today)) {
+                    boolean done = random.nextInt(100) < 85;
+                    status = done ? "Completed" : "Overdue";
+                    completion = done ? due.minusDays(random.nextInt(6)) : null;
+                    progress = done ? 100.0 : 50.0 + random.nextInt(40);
+                    completed += done ? 1 : 0;
+                } else if (due.isBefore(today.plusWeeks(3))) {
+                    status = "In Progress";
+                    progress = 10.0 + random.nextInt(80);
+                } else {
+                    status = "Pending";
+                    progress = 0.0;
+                }
+                milestones.add(new Object[]{(long) s * MILESTONES.length + m + 1, projectId,
+                        MILESTONES[m], Date.valueOf(due), completion != null ? Date.valueOf(completion) : null, status,
+                        PRIORITIES[Math.min(PRIORITIES.length - 1, m * PRIORITIES.length / MILESTONES.length)],
+                        progress, m, false, now, now});
+            }
+            projects.add(new Object[]{projectId, userId, (long) topic + 1, "PFE: " + topicTitle(topic), null,
+                    supervisorName(topic % supervisors), department, "PFE", "Active", Date.valueOf(start),
+                    Date.valueOf(LocalDate.of(academicYearStart + 1, 6, 30)), Date.valueOf(LocalDate.of(academicYearStart + 1, 6, 15)),
+                    100.0 * completed / MILESTONES.length,
+                    completed < 2 ? "Planning" : completed < 4 ? "Development" : completed < 5 ? "Testing" : "Documentation",
+                    now, now});
+
+            // Private events spread from two months back to four months ahead
+            for (int e = 0; e < eventsPerStudent; e++) {
+                LocalDate date = today.plusDays(random.nextInt(-60, 120));
+                String type = pick(random, EVENT_TYPES);
+                events.add(new Object[]{(long) s * eventsPerStudent + e + 1, eventTitle(type, random), null,
+                        Date.valueOf(date), Time.valueOf(LocalTime.of(8 + random.nextInt(10), random.nextInt(2) * 30)),
+                        type, "Room " + (char) ('A' + random.nextInt(4)) + (100 + random.nextInt(30)),
+                        date.isBefore(today) ? "completed" : random.nextInt(4) == 0 ? "scheduled" : "upcoming",
+                        userId, false, "system", date.isBefore(today), now, now});
+            }
+
+            for (int r = 0; r < REPORTS_PER_STUDENT; r++) {
+                String type = REPORT_TYPES[(r + s) % REPORT_TYPES.length];
+                int roll = random.nextInt(100);
+                String status = roll < 15 ? "Draft" : roll < 45 ? "Submitted" : roll < 85 ? "Reviewed" : "Approved";
+                LocalDateTime submitted = status.equals("Draft") ? null
+                        : today.minusDays(7L * (REPORTS_PER_STUDENT - r) + random.nextInt(7)).atTime(10, 0);
+                boolean reviewed = status.equals("Reviewed") || status.equals("Approved");
+                reports.add(new Object[]{(long) s * REPORTS_PER_STUDENT + r + 1, userId, type + " Report " + (r + 1),
+                        "Progress on " + topicTitle(topic) + ".", type, status,
+                        submitted != null ? Timestamp.valueOf(submitted) : null,
+                        reviewed ? Timestamp.valueOf(submitted.plusDays(3)) : null,
+                        reviewed ? (double) Math.round(Math.max(0, Math.min(100, 60 + ability * 1.5 + 8 * random.nextGaussian()))) : null,
+                        reviewed ? "Reviewed by " + supervisorName(topic % supervisors) + "." : null, now, now});
+            }
+        }
+
+        write("users", USERS, users);
+        write("user_roles", USER_ROLES, userRoles);
+        write("student_profiles", STUDENT_PROFILES, profiles);
+        write("projects", PROJECTS, projects);
+        write("project_milestones", MILESTONES_SQL, milestones);
+        write("grades", GRADES, grades);
+        write("events", EVENTS, events);
+        write("reports", REPORTS, reports);
+    }
+
+    private void write(String table, String sql, List<Object[]> rows) {
+        for (int i = 0; i < rows.size(); i += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(i, Math.min(rows.size(), i + batchSize)));
+        }
+        counts.get(table).add(rows.size());
+    }
+
+    // Ids were assigned here, so the pooled-lo sequences have to start above them
+    private void restartSequence(String table) {
+        Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+    }
+
+    private long supervisorUserId(int k) {
+        return 2L + k;
+    }
+
+    private long studentUserId(int s) {
+        return 2L + supervisors + s;
+    }
+
+    private long publicEventId(int e) {
+        return (long) students * eventsPerStudent + e + 1;
+    }
+
+    // Topic department and title are recomputed from the topic's own random wherever students need them
+    private String topicDepartment(int t) {
+        int roll = new SplittableRandom(seed ^ (t + 1) * TOPIC_SALT).nextInt(100);
+        for (int d = 0; d < DEPARTMENTS.length; d++) {
+            roll -= DEPARTMENT_WEIGHTS[d];
+            if (roll < 0) {
+                return DEPARTMENTS[d];
+            }
+        }
+        return DEPARTMENTS[0];
+    }
+
+    private String topicTitle(int t) {
+        SplittableRandom random = new SplittableRandom(seed ^ (t + 1) * TOPIC_SALT);
+        random.nextInt(100);
+        return pick(random, TOPIC_SUBJECTS) + " for " + pick(random, TOPIC_PURPOSES);
+    }
+
+    private String supervisorName(int k) {
+        SplittableRandom random = new SplittableRandom(seed ^ (k + 1) * SUPERVISOR_SALT);
+        return (k % 3 == 0 ? "Prof. " : "Dr. ") + pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    private static String eventTitle(String type, SplittableRandom random) {
+        return switch (type) {
+            case "exam" -> "Exam - " + pick(random, COURSES);
+            case "meeting" -> "Supervisor Meeting";
+            case "deadline" -> "Deliverable Deadline";
+            case "presentation" -> "Progress Presentation";
+            default -> "PFE Committee Review";
+        };
+    }
+
+    private static String letterGrade(double value) {
+        if (value >= 16) {
+            return "A";
+        }
+        if (value >= 14) {
+            return "B";
+        }
+        if (value >= 12) {
+            return "C";
+        }
+        return value >= 10 ? "D" : "F";
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
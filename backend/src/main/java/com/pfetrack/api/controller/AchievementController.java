@@ -2,9 +2,19 @@ package com.pfetrack.api.controller;
 
 import com.pfetrack.api.model.Achievement;
 import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.AchievementResponse;
 import com.pfetrack.api.repository.AchievementRepository;
+import com.pfetrack.api.repository.FilterSpecifications;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.service.SearchService;
+import com.pfetrack.api.util.KeysetCursor;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,12 +35,36 @@ public class AchievementController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SearchService searchService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Achievement>> getAllAchievements() {
+    public ResponseEntity<List<AchievementResponse>> getAllAchievements(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean isPublic,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable) {
         try {
-            List<Achievement> achievements = achievementRepository.findAll();
-            return ResponseEntity.ok(achievements);
+            if (type != null || status != null || category != null || isPublic != null) {
+                Page<Achievement> achievements = achievementRepository.findAll(
+                    FilterSpecifications.achievements(null, type, status, category, isPublic), pageable);
+                return Pagination.ok(achievements.map(AchievementResponse::from));
+            }
+            
+            // Keyset mode is only available on the unfiltered listing
+            if (cursor != null) {
+                Window<Achievement> achievements = achievementRepository.findAllBy(
+                    KeysetCursor.decode(cursor, Achievement.class), Pagination.keysetSort(pageable, Achievement.class), Pagination.keysetLimit(pageable));
+                return Pagination.ok(achievements.map(AchievementResponse::from));
+            }
+            
+            Page<Achievement> achievements = achievementRepository.findAll(pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -38,7 +72,12 @@ public class AchievementController {
 
     @GetMapping("/my-achievements")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Achievement>> getMyAchievements(Authentication authentication) {
+    public ResponseEntity<List<AchievementResponse>> getMyAchievements(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            Authentication authentication,
+            Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -47,8 +86,17 @@ public class AchievementController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Achievement> achievements = achievementRepository.findByStudentOrderByAchievementDateDesc(userOpt.get());
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements;
+            if (type != null || status != null || category != null) {
+                // Same ordering as the unfiltered listing unless the client asks for another
+                Pageable ordered = pageable.getSort().isSorted() ? pageable
+                    : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "achievementDate"));
+                achievements = achievementRepository.findAll(
+                    FilterSpecifications.achievements(userOpt.get(), type, status, category, null), ordered);
+            } else {
+                achievements = achievementRepository.findByStudentOrderByAchievementDateDesc(userOpt.get(), pageable);
+            }
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -56,7 +104,7 @@ public class AchievementController {
 
     @GetMapping("/my-achievements/recent")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Achievement>> getMyRecentAchievements(Authentication authentication) {
+    public ResponseEntity<List<AchievementResponse>> getMyRecentAchievements(Authentication authentication, Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -65,8 +113,8 @@ public class AchievementController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Achievement> achievements = achievementRepository.findRecentAchievementsByStudent(userOpt.get());
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = achievementRepository.findRecentAchievementsByStudent(userOpt.get(), pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -92,7 +140,7 @@ public class AchievementController {
 
     @GetMapping("/my-achievements/type/{type}")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Achievement>> getMyAchievementsByType(@PathVariable String type, Authentication authentication) {
+    public ResponseEntity<List<AchievementResponse>> getMyAchievementsByType(@PathVariable String type, Authentication authentication, Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -101,8 +149,8 @@ public class AchievementController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Achievement> achievements = achievementRepository.findByStudentAndTypeOrderByAchievementDateDesc(userOpt.get(), type);
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = achievementRepository.findByStudentAndTypeOrderByAchievementDateDesc(userOpt.get(), type, pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -110,7 +158,7 @@ public class AchievementController {
 
     @GetMapping("/my-achievements/category/{category}")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Achievement>> getMyAchievementsByCategory(@PathVariable String category, Authentication authentication) {
+    public ResponseEntity<List<AchievementResponse>> getMyAchievementsByCategory(@PathVariable String category, Authentication authentication, Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -119,8 +167,8 @@ public class AchievementController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Achievement> achievements = achievementRepository.findByStudentAndCategoryOrderByAchievementDateDesc(userOpt.get(), category);
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = achievementRepository.findByStudentAndCategoryOrderByAchievementDateDesc(userOpt.get(), category, pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -238,7 +286,7 @@ public class AchievementController {
 
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Achievement>> getAchievementsByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<List<AchievementResponse>> getAchievementsByStudent(@PathVariable Long studentId, Pageable pageable) {
         try {
             Optional<User> studentOpt = userRepository.findById(studentId);
             
@@ -246,8 +294,8 @@ public class AchievementController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Achievement> achievements = achievementRepository.findByStudentOrderByAchievementDateDesc(studentOpt.get());
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = achievementRepository.findByStudentOrderByAchievementDateDesc(studentOpt.get(), pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -255,10 +303,10 @@ public class AchievementController {
 
     @GetMapping("/type/{type}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Achievement>> getAchievementsByType(@PathVariable String type) {
+    public ResponseEntity<List<AchievementResponse>> getAchievementsByType(@PathVariable String type, Pageable pageable) {
         try {
-            List<Achievement> achievements = achievementRepository.findByTypeOrderByAchievementDateDesc(type);
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = achievementRepository.findByTypeOrderByAchievementDateDesc(type, pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -266,20 +314,20 @@ public class AchievementController {
 
     @GetMapping("/category/{category}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Achievement>> getAchievementsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<AchievementResponse>> getAchievementsByCategory(@PathVariable String category, Pageable pageable) {
         try {
-            List<Achievement> achievements = achievementRepository.findByCategoryOrderByAchievementDateDesc(category);
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = achievementRepository.findByCategoryOrderByAchievementDateDesc(category, pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<Achievement>> getPublicAchievements() {
+    public ResponseEntity<List<AchievementResponse>> getPublicAchievements(Pageable pageable) {
         try {
-            List<Achievement> achievements = achievementRepository.findPublicAchievements();
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = achievementRepository.findPublicAchievements(pageable);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -287,10 +335,10 @@ public class AchievementController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Achievement>> searchAchievements(@RequestParam String keyword) {
+    public ResponseEntity<List<AchievementResponse>> searchAchievements(@RequestParam String keyword, Pageable pageable) {
         try {
-            List<Achievement> achievements = achievementRepository.searchAchievements(keyword);
-            return ResponseEntity.ok(achievements);
+            Page<Achievement> achievements = searchService.search(Achievement.class, keyword, pageable, achievementRepository::findAllById);
+            return Pagination.ok(achievements.map(AchievementResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
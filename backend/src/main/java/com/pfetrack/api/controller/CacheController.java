@@ -0,0 +1,28 @@
+package com.pfetrack.api.controller;
+
+import com.pfetrack.api.config.CaffeineRegionFactory;
+import com.pfetrack.api.payload.response.CacheStatsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/caches")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CacheController {
+
+    // Hit/miss counters of the Hibernate second-level and query cache regions since startup
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        Map<String, Long> sizes = CaffeineRegionFactory.getSizes();
+        List<CacheStatsResponse> regions = new ArrayList<>();
+        CaffeineRegionFactory.getStatistics().forEach((region, stats) ->
+                regions.add(CacheStatsResponse.from(region, sizes.getOrDefault(region, 0L), stats)));
+        return ResponseEntity.ok(regions);
+    }
+}
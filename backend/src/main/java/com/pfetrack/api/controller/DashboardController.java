@@ -0,0 +1,34 @@
+package com.pfetrack.api.controller;
+
+import com.pfetrack.api.payload.response.DashboardResponse;
+import com.pfetrack.api.security.services.UserDetailsImpl;
+import com.pfetrack.api.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+// One round trip for the student dashboard instead of separate GPA, points, event and milestone calls
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<DashboardResponse> getMyDashboard(Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            return dashboardService.getStudentDashboard(userDetails.getId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
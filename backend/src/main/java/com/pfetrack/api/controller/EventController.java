@@ -2,12 +2,22 @@ package com.pfetrack.api.controller;
 
 import com.pfetrack.api.model.Event;
 import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.EventResponse;
+import com.pfetrack.api.payload.response.MessageResponse;
 import com.pfetrack.api.repository.EventRepository;
+import com.pfetrack.api.repository.FilterSpecifications;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.service.ReminderService;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,13 +37,17 @@ public class EventController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReminderService reminderService;
+
     @GetMapping
-    public ResponseEntity<List<Event>> getEvents(
+    public ResponseEntity<List<EventResponse>> getEvents(
             Authentication authentication,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Pageable pageable) {
         
         String username = authentication.getName();
         Optional<User> userOpt = userRepository.findByUsername(username);
@@ -52,18 +66,22 @@ public class EventController {
             endDate = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
         }
         
-        List<Event> events;
+        Page<Event> events;
         if (type != null || status != null) {
-            events = eventRepository.findEventsWithFilters(user, type, status, startDate, endDate);
+            // Same ordering the filtered listing has always had unless the client asks for another
+            Pageable ordered = pageable.getSort().isSorted() ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("eventDate", "eventTime"));
+            events = eventRepository.findAll(FilterSpecifications.events(user, type, status, startDate, endDate), ordered);
         } else {
-            events = eventRepository.findByStudentOrPublicAndDateRange(user, startDate, endDate);
+            events = eventRepository.findByStudentOrPublicAndDateRange(user, startDate, endDate, pageable);
         }
         
-        return ResponseEntity.ok(events);
+        return Pagination.ok(events.map(EventResponse::from));
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<Event>> getUpcomingEvents(Authentication authentication) {
+    public ResponseEntity<List<EventResponse>> getUpcomingEvents(Authentication authentication,
+    Pageable pageable) {
         String username = authentication.getName();
         Optional<User> userOpt = userRepository.findByUsername(username);
         
@@ -72,15 +90,16 @@ public class EventController {
         }
         
         User user = userOpt.get();
-        List<Event> events = eventRepository.findUpcomingEventsByStudentOrPublic(user);
+        Page<Event> events = eventRepository.findUpcomingEventsByStudentOrPublic(user, pageable);
         
-        return ResponseEntity.ok(events);
+        return Pagination.ok(events.map(EventResponse::from));
     }
 
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<Event>> getEventsByDate(
+    public ResponseEntity<List<EventResponse>> getEventsByDate(
             Authentication authentication,
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            Pageable pageable) {
         
         String username = authentication.getName();
         Optional<User> userOpt = userRepository.findByUsername(username);
@@ -90,9 +109,9 @@ public class EventController {
         }
         
         User user = userOpt.get();
-        List<Event> events = eventRepository.findByStudentAndEventDate(user, date);
+        Page<Event> events = eventRepository.findByStudentAndEventDate(user, date, pageable);
         
-        return ResponseEntity.ok(events);
+        return Pagination.ok(events.map(EventResponse::from));
     }
 
     @GetMapping("/{id}")
@@ -239,18 +258,29 @@ public class EventController {
             return ResponseEntity.notFound().build();
         }
         
-        User user = userOpt.get();
-        
-        long totalEventsCount = eventRepository.findByStudent(user).size();
-        long upcomingExamsCount = eventRepository.countUpcomingEventsByStudentAndType(user, "exam");
-        long upcomingPfeEventsCount = eventRepository.countUpcomingEventsByStudentAndType(user, "pfe");
-        long upcomingMeetingsCount = eventRepository.countUpcomingEventsByStudentAndType(user, "meeting");
+        EventRepository.EventStatistics statistics = eventRepository.getStatisticsByStudentId(userOpt.get().getId());
         
         return ResponseEntity.ok(new Object() {
-            public final long totalEvents = totalEventsCount;
-            public final long upcomingExams = upcomingExamsCount;
-            public final long upcomingPfeEvents = upcomingPfeEventsCount;
-            public final long upcomingMeetings = upcomingMeetingsCount;
+            public final long totalEvents = statistics.getTotalEvents();
+            public final long upcomingExams = statistics.getUpcomingExams();
+            public final long upcomingPfeEvents = statistics.getUpcomingPfeEvents();
+            public final long upcomingMeetings = statistics.getUpcomingMeetings();
         });
     }
-}
\ No newline at end of file
+
+    // Runs the reminder pipeline now instead of waiting for app.reminders.cron
+    @PostMapping("/reminders/send")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> sendReminders() {
+        try {
+            int sent = reminderService.sendDue();
+            if (sent < 0) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(new MessageResponse("Reminders are already being sent"));
+            }
+            return ResponseEntity.ok(new MessageResponse("Sent " + sent + " reminders"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.pfetrack.api.controller;
+
+import com.pfetrack.api.model.Achievement;
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.model.Project;
+import com.pfetrack.api.model.Report;
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.repository.AchievementRepository;
+import com.pfetrack.api.repository.GradeRepository;
+import com.pfetrack.api.repository.ProjectRepository;
+import com.pfetrack.api.repository.ReportRepository;
+import com.pfetrack.api.service.ExportService;
+import com.pfetrack.api.service.ExportService.Column;
+import com.pfetrack.api.service.ExportService.Format;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ExportController {
+
+    // Associations are exported as ids only; touching the lazy proxies would cost a query per row
+    private static final List<Column<Grade>> GRADE_COLUMNS = List.of(
+            new Column<>("id", Grade::getId),
+            new Column<>("studentId", g -> userId(g.getStudent())),
+            new Column<>("subjectName", Grade::getSubjectName),
+            new Column<>("subjectCode", Grade::getSubjectCode),
+            new Column<>("gradeValue", Grade::getGradeValue),
+            new Column<>("letterGrade", Grade::getLetterGrade),
+            new Column<>("credits", Grade::getCredits),
+            new Column<>("semester", Grade::getSemester),
+            new Column<>("academicYear", Grade::getAcademicYear),
+            new Column<>("evaluationType", Grade::getEvaluationType),
+            new Column<>("evaluationDate", Grade::getEvaluationDate),
+            new Column<>("maxScore", Grade::getMaxScore),
+            new Column<>("obtainedScore", Grade::getObtainedScore),
+            new Column<>("professor", Grade::getProfessor),
+            new Column<>("comments", Grade::getComments),
+            new Column<>("status", Grade::getStatus),
+            new Column<>("isPublished", Grade::getIsPublished),
+            new Column<>("createdAt", Grade::getCreatedAt),
+            new Column<>("updatedAt", Grade::getUpdatedAt));
+
+    private static final List<Column<Project>> PROJECT_COLUMNS = List.of(
+            new Column<>("id", Project::getId),
+            new Column<>("studentId", p -> userId(p.getStudent())),
+            new Column<>("topicId", p -> topicId(p.getTopic())),
+            new Column<>("title", Project::getTitle),
+            new Column<>("description", Project::getDescription),
+            new Column<>("supervisor", Project::getSupervisor),
+            new Column<>("coSupervisor", Project::getCoSupervisor),
+            new Column<>("department", Project::getDepartment),
+            new Column<>("type", Project::getType),
+            new Column<>("status", Project::getStatus),
+            new Column<>("startDate", Project::getStartDate),
+            new Column<>("endDate", Project::getEndDate),
+            new Column<>("expectedCompletionDate", Project::getExpectedCompletionDate),
+            new Column<>("progressPercentage", Project::getProgressPercentage),
+            new Column<>("currentPhase", Project::getCurrentPhase),
+            new Column<>("finalGrade", Project::getFinalGrade),
+            new Column<>("presentationDate", Project::getPresentationDate),
+            new Column<>("repositoryUrl", Project::getRepositoryUrl),
+            new Column<>("documentationUrl", Project::getDocumentationUrl),
+            new Column<>("createdAt", Project::getCreatedAt),
+            new Column<>("updatedAt", Project::getUpdatedAt));
+
+    private static final List<Column<Report>> REPORT_COLUMNS = List.of(
+            new Column<>("id", Report::getId),
+            new Column<>("studentId", r -> userId(r.getStudent())),
+            new Column<>("topicId", r -> topicId(r.getTopic())),
+            new Column<>("title", Report::getTitle),
+            new Column<>("description", Report::getDescription),
+            new Column<>("type", Report::getType),
+            new Column<>("status", Report::getStatus),
+            new Column<>("fileName", Report::getFileName),
+            new Column<>("fileSize", Report::getFileSize),
+            new Column<>("submittedAt", Report::getSubmittedAt),
+            new Column<>("reviewedAt", Report::getReviewedAt),
+            new Column<>("reviewerComments", Report::getReviewerComments),
+            new Column<>("grade", Report::getGrade),
+            new Column<>("createdAt", Report::getCreatedAt),
+            new Column<>("updatedAt", Report::getUpdatedAt));
+
+    private static final List<Column<Achievement>> ACHIEVEMENT_COLUMNS = List.of(
+            new Column<>("id", Achievement::getId),
+            new Column<>("studentId", a -> userId(a.getStudent())),
+            new Column<>("title", Achievement::getTitle),
+            new Column<>("description", Achievement::getDescription),
+            new Column<>("type", Achievement::getType),
+            new Column<>("issuingOrganization", Achievement::getIssuingOrganization),
+            new Column<>("achievementDate", Achievement::getAchievementDate),
+            new Column<>("certificateUrl", Achievement::getCertificateUrl),
+            new Column<>("verificationUrl", Achievement::getVerificationUrl),
+            new Column<>("status", Achievement::getStatus),
+            new Column<>("pointsAwarded", Achievement::getPointsAwarded),
+            new Column<>("category", Achievement::getCategory),
+            new Column<>("isPublic", Achievement::getIsPublic),
+            new Column<>("expiryDate", Achievement::getExpiryDate),
+            new Column<>("createdAt", Achievement::getCreatedAt),
+            new Column<>("updatedAt", Achievement::getUpdatedAt));
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    @GetMapping("/grades")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportGrades(@RequestParam(defaultValue = "ndjson") String format) {
+        return export("grades", format, gradeRepository::streamAllForExport, GRADE_COLUMNS);
+    }
+
+    @GetMapping("/projects")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportProjects(@RequestParam(defaultValue = "ndjson") String format) {
+        return export("projects", format, projectRepository::streamAllForExport, PROJECT_COLUMNS);
+    }
+
+    @GetMapping("/reports")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportReports(@RequestParam(defaultValue = "ndjson") String format) {
+        return export("reports", format, reportRepository::streamAllForExport, REPORT_COLUMNS);
+    }
+
+    @GetMapping("/achievements")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAchievements(@RequestParam(defaultValue = "ndjson") String format) {
+        return export("achievements", format, achievementRepository::streamAllForExport, ACHIEVEMENT_COLUMNS);
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> export(String name, String format,
+                                                             Supplier<Stream<T>> source, List<Column<T>> columns) {
+        Format exportFormat;
+        try {
+            exportFormat = Format.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + exportFormat.getExtension() + "\"")
+                .body(exportService.export(source, columns, exportFormat));
+    }
+
+    private static Long userId(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    private static Long topicId(Topic topic) {
+        return topic != null ? topic.getId() : null;
+    }
+}
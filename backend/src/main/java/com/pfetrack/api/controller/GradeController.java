@@ -1,16 +1,36 @@
 package com.pfetrack.api.controller;
 
+import com.pfetrack.api.model.AcademicSummary;
 import com.pfetrack.api.model.Grade;
 import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.GradeImportResponse;
+import com.pfetrack.api.payload.response.GradeResponse;
+import com.pfetrack.api.payload.response.MessageResponse;
+import com.pfetrack.api.repository.FilterSpecifications;
 import com.pfetrack.api.repository.GradeRepository;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.security.services.UserDetailsImpl;
+import com.pfetrack.api.service.AcademicSummaryService;
+import com.pfetrack.api.service.ExportService;
+import com.pfetrack.api.service.GradeImportService;
+import com.pfetrack.api.service.GradeService;
+import com.pfetrack.api.util.KeysetCursor;
+import com.pfetrack.api.util.Pagination;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,12 +45,42 @@ public class GradeController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Grade>> getAllGrades() {
+    public ResponseEntity<List<GradeResponse>> getAllGrades(
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String evaluationType,
+            @RequestParam(required = false) Boolean isPublished,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable) {
         try {
-            List<Grade> grades = gradeRepository.findAll();
-            return ResponseEntity.ok(grades);
+            if (semester != null || academicYear != null || evaluationType != null || isPublished != null) {
+                Page<Grade> grades = gradeRepository.findAll(
+                    FilterSpecifications.grades(null, semester, academicYear, evaluationType, isPublished), pageable);
+                return Pagination.ok(grades.map(GradeResponse::from));
+            }
+            
+            // Keyset mode is only available on the unfiltered listing
+            if (cursor != null) {
+                Window<Grade> grades = gradeRepository.findAllBy(
+                    KeysetCursor.decode(cursor, Grade.class), Pagination.keysetSort(pageable, Grade.class), Pagination.keysetLimit(pageable));
+                return Pagination.ok(grades.map(GradeResponse::from));
+            }
+            
+            Page<Grade> grades = gradeRepository.findAll(pageable);
+            return Pagination.ok(grades.map(GradeResponse::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -38,7 +88,12 @@ public class GradeController {
 
     @GetMapping("/my-grades")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Grade>> getMyGrades(Authentication authentication) {
+    public ResponseEntity<List<GradeResponse>> getMyGrades(
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String evaluationType,
+            Authentication authentication,
+            Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -47,8 +102,17 @@ public class GradeController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Grade> grades = gradeRepository.findByStudentAndIsPublishedOrderByEvaluationDateDesc(userOpt.get(), true);
-            return ResponseEntity.ok(grades);
+            Page<Grade> grades;
+            if (semester != null || academicYear != null || evaluationType != null) {
+                // Same ordering as the unfiltered listing unless the client asks for another
+                Pageable ordered = pageable.getSort().isSorted() ? pageable
+                    : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "evaluationDate"));
+                grades = gradeRepository.findAll(
+                    FilterSpecifications.grades(userOpt.get(), semester, academicYear, evaluationType, true), ordered);
+            } else {
+                grades = gradeRepository.findByStudentAndIsPublishedOrderByEvaluationDateDesc(userOpt.get(), true, pageable);
+            }
+            return Pagination.ok(grades.map(GradeResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -56,7 +120,7 @@ public class GradeController {
 
     @GetMapping("/my-grades/semester/{semester}")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Grade>> getMyGradesBySemester(@PathVariable String semester, Authentication authentication) {
+    public ResponseEntity<List<GradeResponse>> getMyGradesBySemester(@PathVariable String semester, Authentication authentication, Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -65,8 +129,8 @@ public class GradeController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Grade> grades = gradeRepository.findByStudentAndSemesterAndIsPublishedOrderByEvaluationDateDesc(userOpt.get(), semester, true);
-            return ResponseEntity.ok(grades);
+            Page<Grade> grades = gradeRepository.findByStudentAndSemesterAndIsPublishedOrderByEvaluationDateDesc(userOpt.get(), semester, true, pageable);
+            return Pagination.ok(grades.map(GradeResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -74,7 +138,7 @@ public class GradeController {
 
     @GetMapping("/my-grades/academic-year/{year}")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Grade>> getMyGradesByAcademicYear(@PathVariable String year, Authentication authentication) {
+    public ResponseEntity<List<GradeResponse>> getMyGradesByAcademicYear(@PathVariable String year, Authentication authentication, Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -83,8 +147,8 @@ public class GradeController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Grade> grades = gradeRepository.findByStudentAndAcademicYearAndIsPublishedOrderByEvaluationDateDesc(userOpt.get(), year, true);
-            return ResponseEntity.ok(grades);
+            Page<Grade> grades = gradeRepository.findByStudentAndAcademicYearAndIsPublishedOrderByEvaluationDateDesc(userOpt.get(), year, true, pageable);
+            return Pagination.ok(grades.map(GradeResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -101,8 +165,40 @@ public class GradeController {
                 return ResponseEntity.notFound().build();
             }
             
-            Double gpa = gradeRepository.calculateGPAByStudent(userOpt.get());
-            return ResponseEntity.ok(gpa != null ? gpa : 0.0);
+            double gpa = academicSummaryService.getOverall(userOpt.get().getId()).map(AcademicSummary::getGpa).orElse(0.0);
+            return ResponseEntity.ok(gpa);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/my-summary")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<AcademicSummary>> getMySummary(Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            return ResponseEntity.ok(academicSummaryService.getAll(userDetails.getId()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/student/{studentId}/summary")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
+    public ResponseEntity<List<AcademicSummary>> getStudentSummary(@PathVariable Long studentId) {
+        try {
+            return ResponseEntity.ok(academicSummaryService.getAll(studentId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/summaries/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> reconcileSummaries() {
+        try {
+            int corrected = academicSummaryService.reconcile();
+            return ResponseEntity.ok(new MessageResponse("Reconciled academic summaries, " + corrected + " rows corrected"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -110,7 +206,7 @@ public class GradeController {
 
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Grade>> getGradesByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<List<GradeResponse>> getGradesByStudent(@PathVariable Long studentId, Pageable pageable) {
         try {
             Optional<User> studentOpt = userRepository.findById(studentId);
             
@@ -118,8 +214,8 @@ public class GradeController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Grade> grades = gradeRepository.findByStudentOrderByEvaluationDateDesc(studentOpt.get());
-            return ResponseEntity.ok(grades);
+            Page<Grade> grades = gradeRepository.findByStudentOrderByEvaluationDateDesc(studentOpt.get(), pageable);
+            return Pagination.ok(grades.map(GradeResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -129,7 +225,7 @@ public class GradeController {
     @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
     public ResponseEntity<Grade> createGrade(@RequestBody Grade grade) {
         try {
-            Grade savedGrade = gradeRepository.save(grade);
+            Grade savedGrade = gradeService.create(grade);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedGrade);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -140,32 +236,9 @@ public class GradeController {
     @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
     public ResponseEntity<Grade> updateGrade(@PathVariable Long id, @RequestBody Grade gradeDetails) {
         try {
-            Optional<Grade> gradeOpt = gradeRepository.findById(id);
-            
-            if (!gradeOpt.isPresent()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            Grade grade = gradeOpt.get();
-            
-            // Update fields
-            if (gradeDetails.getSubjectName() != null) grade.setSubjectName(gradeDetails.getSubjectName());
-            if (gradeDetails.getGradeValue() != null) grade.setGradeValue(gradeDetails.getGradeValue());
-            if (gradeDetails.getLetterGrade() != null) grade.setLetterGrade(gradeDetails.getLetterGrade());
-            if (gradeDetails.getCredits() != null) grade.setCredits(gradeDetails.getCredits());
-            if (gradeDetails.getSemester() != null) grade.setSemester(gradeDetails.getSemester());
-            if (gradeDetails.getAcademicYear() != null) grade.setAcademicYear(gradeDetails.getAcademicYear());
-            if (gradeDetails.getEvaluationType() != null) grade.setEvaluationType(gradeDetails.getEvaluationType());
-            if (gradeDetails.getEvaluationDate() != null) grade.setEvaluationDate(gradeDetails.getEvaluationDate());
-            if (gradeDetails.getMaxScore() != null) grade.setMaxScore(gradeDetails.getMaxScore());
-            if (gradeDetails.getObtainedScore() != null) grade.setObtainedScore(gradeDetails.getObtainedScore());
-            if (gradeDetails.getProfessor() != null) grade.setProfessor(gradeDetails.getProfessor());
-            if (gradeDetails.getComments() != null) grade.setComments(gradeDetails.getComments());
-            if (gradeDetails.getStatus() != null) grade.setStatus(gradeDetails.getStatus());
-            if (gradeDetails.getIsPublished() != null) grade.setIsPublished(gradeDetails.getIsPublished());
-            
-            Grade updatedGrade = gradeRepository.save(grade);
-            return ResponseEntity.ok(updatedGrade);
+            return gradeService.update(id, gradeDetails)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -175,8 +248,7 @@ public class GradeController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteGrade(@PathVariable Long id) {
         try {
-            if (gradeRepository.existsById(id)) {
-                gradeRepository.deleteById(id);
+            if (gradeService.delete(id)) {
                 return ResponseEntity.noContent().build();
             } else {
                 return ResponseEntity.notFound().build();
@@ -190,17 +262,39 @@ public class GradeController {
     @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
     public ResponseEntity<Grade> publishGrade(@PathVariable Long id) {
         try {
-            Optional<Grade> gradeOpt = gradeRepository.findById(id);
-            
-            if (!gradeOpt.isPresent()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            Grade grade = gradeOpt.get();
-            grade.setIsPublished(true);
-            
-            Grade updatedGrade = gradeRepository.save(grade);
-            return ResponseEntity.ok(updatedGrade);
+            return gradeService.publish(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Bulk import of a grade sheet streamed in the request body: CSV with a header row (text/csv) or NDJSON.
+    // Rows name their student by student number; rejected rows are listed by line in the response.
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
+    public ResponseEntity<?> importGrades(HttpServletRequest request) {
+        try {
+            ExportService.Format format = MediaType.parseMediaType(request.getContentType())
+                    .isCompatibleWith(ExportService.Format.CSV.getMediaType())
+                    ? ExportService.Format.CSV : ExportService.Format.NDJSON;
+            GradeImportResponse result = gradeImportService.importGrades(request.getInputStream(), format);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Publishes every unpublished grade of a subject for a semester in one statement
+    @PutMapping("/publish")
+    @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> publishAll(@RequestParam String subjectName, @RequestParam String semester) {
+        try {
+            int published = gradeService.publishAll(subjectName, semester);
+            return ResponseEntity.ok(new MessageResponse("Published " + published + " grades"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -208,10 +302,10 @@ public class GradeController {
 
     @GetMapping("/semester/{semester}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Grade>> getGradesBySemester(@PathVariable String semester) {
+    public ResponseEntity<List<GradeResponse>> getGradesBySemester(@PathVariable String semester, Pageable pageable) {
         try {
-            List<Grade> grades = gradeRepository.findBySemesterOrderByEvaluationDateDesc(semester);
-            return ResponseEntity.ok(grades);
+            Page<Grade> grades = gradeRepository.findBySemesterOrderByEvaluationDateDesc(semester, pageable);
+            return Pagination.ok(grades.map(GradeResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -219,10 +313,10 @@ public class GradeController {
 
     @GetMapping("/subject/{subjectName}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Grade>> getGradesBySubject(@PathVariable String subjectName) {
+    public ResponseEntity<List<GradeResponse>> getGradesBySubject(@PathVariable String subjectName, Pageable pageable) {
         try {
-            List<Grade> grades = gradeRepository.findBySubjectNameOrderByEvaluationDateDesc(subjectName);
-            return ResponseEntity.ok(grades);
+            Page<Grade> grades = gradeRepository.findBySubjectNameOrderByEvaluationDateDesc(subjectName, pageable);
+            return Pagination.ok(grades.map(GradeResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -230,10 +324,10 @@ public class GradeController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Grade>> searchGrades(@RequestParam String keyword) {
+    public ResponseEntity<List<GradeResponse>> searchGrades(@RequestParam String keyword, Pageable pageable) {
         try {
-            List<Grade> grades = gradeRepository.searchGrades(keyword);
-            return ResponseEntity.ok(grades);
+            Page<Grade> grades = gradeRepository.searchGrades(keyword, pageable);
+            return Pagination.ok(grades.map(GradeResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -2,9 +2,17 @@ package com.pfetrack.api.controller;
 
 import com.pfetrack.api.model.Project;
 import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.ProjectResponse;
+import com.pfetrack.api.repository.FilterSpecifications;
 import com.pfetrack.api.repository.ProjectRepository;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.service.SearchService;
+import com.pfetrack.api.util.KeysetCursor;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,12 +34,35 @@ public class ProjectController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SearchService searchService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Project>> getAllProjects() {
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String currentPhase,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable) {
         try {
-            List<Project> projects = projectRepository.findAll();
-            return ResponseEntity.ok(projects);
+            if (status != null || type != null || currentPhase != null) {
+                Page<Project> projects = projectRepository.findAll(
+                    FilterSpecifications.projects(null, status, type, currentPhase), pageable);
+                return Pagination.ok(projects.map(ProjectResponse::from));
+            }
+            
+            // Keyset mode is only available on the unfiltered listing
+            if (cursor != null) {
+                Window<Project> projects = projectRepository.findAllBy(
+                    KeysetCursor.decode(cursor, Project.class), Pagination.keysetSort(pageable, Project.class), Pagination.keysetLimit(pageable));
+                return Pagination.ok(projects.map(ProjectResponse::from));
+            }
+            
+            Page<Project> projects = projectRepository.findAll(pageable);
+            return Pagination.ok(projects.map(ProjectResponse::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -62,7 +93,12 @@ public class ProjectController {
 
     @GetMapping("/my-projects")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Project>> getMyProjects(Authentication authentication) {
+    public ResponseEntity<List<ProjectResponse>> getMyProjects(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String currentPhase,
+            Authentication authentication,
+            Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -71,8 +107,9 @@ public class ProjectController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Project> projects = projectRepository.findByStudent(userOpt.get());
-            return ResponseEntity.ok(projects);
+            Page<Project> projects = projectRepository.findAll(
+                FilterSpecifications.projects(userOpt.get(), status, type, currentPhase), pageable);
+            return Pagination.ok(projects.map(ProjectResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -223,10 +260,10 @@ public class ProjectController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Project>> getProjectsByStatus(@PathVariable String status) {
+    public ResponseEntity<List<ProjectResponse>> getProjectsByStatus(@PathVariable String status, Pageable pageable) {
         try {
-            List<Project> projects = projectRepository.findByStatus(status);
-            return ResponseEntity.ok(projects);
+            Page<Project> projects = projectRepository.findByStatus(status, pageable);
+            return Pagination.ok(projects.map(ProjectResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -234,10 +271,10 @@ public class ProjectController {
 
     @GetMapping("/department/{department}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Project>> getProjectsByDepartment(@PathVariable String department) {
+    public ResponseEntity<List<ProjectResponse>> getProjectsByDepartment(@PathVariable String department, Pageable pageable) {
         try {
-            List<Project> projects = projectRepository.findByDepartment(department);
-            return ResponseEntity.ok(projects);
+            Page<Project> projects = projectRepository.findByDepartment(department, pageable);
+            return Pagination.ok(projects.map(ProjectResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -245,10 +282,10 @@ public class ProjectController {
 
     @GetMapping("/supervisor/{supervisor}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Project>> getProjectsBySupervisor(@PathVariable String supervisor) {
+    public ResponseEntity<List<ProjectResponse>> getProjectsBySupervisor(@PathVariable String supervisor, Pageable pageable) {
         try {
-            List<Project> projects = projectRepository.findBySupervisor(supervisor);
-            return ResponseEntity.ok(projects);
+            Page<Project> projects = projectRepository.findBySupervisor(supervisor, pageable);
+            return Pagination.ok(projects.map(ProjectResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -256,10 +293,10 @@ public class ProjectController {
 
     @GetMapping("/overdue")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Project>> getOverdueProjects() {
+    public ResponseEntity<List<ProjectResponse>> getOverdueProjects(Pageable pageable) {
         try {
-            List<Project> projects = projectRepository.findOverdueProjects(LocalDate.now());
-            return ResponseEntity.ok(projects);
+            Page<Project> projects = projectRepository.findOverdueProjects(LocalDate.now(), pageable);
+            return Pagination.ok(projects.map(ProjectResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -267,12 +304,12 @@ public class ProjectController {
 
     @GetMapping("/due-soon")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Project>> getProjectsDueSoon() {
+    public ResponseEntity<List<ProjectResponse>> getProjectsDueSoon(Pageable pageable) {
         try {
             LocalDate now = LocalDate.now();
             LocalDate twoWeeksFromNow = now.plusWeeks(2);
-            List<Project> projects = projectRepository.findProjectsDueSoon(now, twoWeeksFromNow);
-            return ResponseEntity.ok(projects);
+            Page<Project> projects = projectRepository.findProjectsDueSoon(now, twoWeeksFromNow, pageable);
+            return Pagination.ok(projects.map(ProjectResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -280,10 +317,10 @@ public class ProjectController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<Project>> searchProjects(@RequestParam String keyword) {
+    public ResponseEntity<List<ProjectResponse>> searchProjects(@RequestParam String keyword, Pageable pageable) {
         try {
-            List<Project> projects = projectRepository.searchProjects(keyword);
-            return ResponseEntity.ok(projects);
+            Page<Project> projects = searchService.search(Project.class, keyword, pageable, projectRepository::findAllById);
+            return Pagination.ok(projects.map(ProjectResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -3,10 +3,17 @@ package com.pfetrack.api.controller;
 import com.pfetrack.api.model.Project;
 import com.pfetrack.api.model.ProjectMilestone;
 import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.ProjectMilestoneResponse;
 import com.pfetrack.api.repository.ProjectMilestoneRepository;
 import com.pfetrack.api.repository.ProjectRepository;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.service.SearchService;
+import com.pfetrack.api.util.KeysetCursor;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -31,12 +38,23 @@ public class ProjectMilestoneController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SearchService searchService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<ProjectMilestone>> getAllMilestones() {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getAllMilestones(@RequestParam(required = false) String cursor, Pageable pageable) {
         try {
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findAll();
-            return ResponseEntity.ok(milestones);
+            if (cursor != null) {
+                Window<ProjectMilestone> milestones = projectMilestoneRepository.findAllBy(
+                    KeysetCursor.decode(cursor, ProjectMilestone.class), Pagination.keysetSort(pageable, ProjectMilestone.class), Pagination.keysetLimit(pageable));
+                return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
+            }
+            
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findAll(pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -44,7 +62,7 @@ public class ProjectMilestoneController {
 
     @GetMapping("/my-milestones")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<ProjectMilestone>> getMyMilestones(Authentication authentication) {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getMyMilestones(Authentication authentication, Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -59,8 +77,8 @@ public class ProjectMilestoneController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findByProjectOrderByOrderIndexAsc(projectOpt.get());
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findByProjectOrderByOrderIndexAsc(projectOpt.get(), pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -68,7 +86,7 @@ public class ProjectMilestoneController {
 
     @GetMapping("/my-milestones/upcoming")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<ProjectMilestone>> getMyUpcomingMilestones(Authentication authentication) {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getMyUpcomingMilestones(Authentication authentication, Pageable pageable) {
         try {
             String username = authentication.getName();
             Optional<User> userOpt = userRepository.findByUsername(username);
@@ -77,8 +95,8 @@ public class ProjectMilestoneController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findUpcomingMilestonesByStudent(userOpt.get().getId());
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findUpcomingMilestonesByStudent(userOpt.get().getId(), pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -86,7 +104,7 @@ public class ProjectMilestoneController {
 
     @GetMapping("/project/{projectId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR') or (hasRole('STUDENT') and @projectMilestoneController.isProjectOwner(#projectId, authentication))")
-    public ResponseEntity<List<ProjectMilestone>> getMilestonesByProject(@PathVariable Long projectId, Authentication authentication) {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getMilestonesByProject(@PathVariable Long projectId, Authentication authentication, Pageable pageable) {
         try {
             Optional<Project> projectOpt = projectRepository.findById(projectId);
             
@@ -94,8 +112,8 @@ public class ProjectMilestoneController {
                 return ResponseEntity.notFound().build();
             }
             
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findByProjectOrderByOrderIndexAsc(projectOpt.get());
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findByProjectOrderByOrderIndexAsc(projectOpt.get(), pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -225,10 +243,10 @@ public class ProjectMilestoneController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<ProjectMilestone>> getMilestonesByStatus(@PathVariable String status) {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getMilestonesByStatus(@PathVariable String status, Pageable pageable) {
         try {
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findByStatus(status);
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findByStatus(status, pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -236,10 +254,10 @@ public class ProjectMilestoneController {
 
     @GetMapping("/priority/{priority}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<ProjectMilestone>> getMilestonesByPriority(@PathVariable String priority) {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getMilestonesByPriority(@PathVariable String priority, Pageable pageable) {
         try {
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findByPriority(priority);
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findByPriority(priority, pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -247,10 +265,10 @@ public class ProjectMilestoneController {
 
     @GetMapping("/overdue")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<ProjectMilestone>> getOverdueMilestones() {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getOverdueMilestones(Pageable pageable) {
         try {
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findOverdueMilestones(LocalDate.now());
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findOverdueMilestones(LocalDate.now(), pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -258,12 +276,12 @@ public class ProjectMilestoneController {
 
     @GetMapping("/due-soon")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<ProjectMilestone>> getMilestonesDueSoon() {
+    public ResponseEntity<List<ProjectMilestoneResponse>> getMilestonesDueSoon(Pageable pageable) {
         try {
             LocalDate now = LocalDate.now();
             LocalDate oneWeekFromNow = now.plusWeeks(1);
-            List<ProjectMilestone> milestones = projectMilestoneRepository.findMilestonesDueSoon(now, oneWeekFromNow);
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = projectMilestoneRepository.findMilestonesDueSoon(now, oneWeekFromNow, pageable);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -271,10 +289,10 @@ public class ProjectMilestoneController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<ProjectMilestone>> searchMilestones(@RequestParam String keyword) {
+    public ResponseEntity<List<ProjectMilestoneResponse>> searchMilestones(@RequestParam String keyword, Pageable pageable) {
         try {
-            List<ProjectMilestone> milestones = projectMilestoneRepository.searchMilestones(keyword);
-            return ResponseEntity.ok(milestones);
+            Page<ProjectMilestone> milestones = searchService.search(ProjectMilestone.class, keyword, pageable, projectMilestoneRepository::findAllById);
+            return Pagination.ok(milestones.map(ProjectMilestoneResponse::from));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
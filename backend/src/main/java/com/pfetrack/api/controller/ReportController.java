@@ -2,32 +2,36 @@ package com.pfetrack.api.controller;
 
 import com.pfetrack.api.model.Report;
 import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.ReportResponse;
+import com.pfetrack.api.repository.FilterSpecifications;
 import com.pfetrack.api.repository.ReportRepository;
 import com.pfetrack.api.repository.UserRepository;
 import com.pfetrack.api.security.services.UserDetailsImpl;
+import com.pfetrack.api.service.BlobStore;
+import com.pfetrack.api.service.FileDownloadService;
+import com.pfetrack.api.service.SearchService;
+import com.pfetrack.api.util.KeysetCursor;
+import com.pfetrack.api.util.Pagination;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174", "http://localhost:5175"}, maxAge = 3600)
 @RestController
@@ -40,16 +44,23 @@ public class ReportController {
     @Autowired
     private UserRepository userRepository;
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
+    @Autowired
+    private BlobStore blobStore;
 
     @GetMapping
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<Report>> getMyReports(
+    public ResponseEntity<List<ReportResponse>> getMyReports(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String status,
-            Authentication authentication) {
+            Authentication authentication,
+            Pageable pageable) {
         
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Optional<User> userOpt = userRepository.findById(userDetails.getId());
@@ -58,20 +69,48 @@ public class ReportController {
             return ResponseEntity.notFound().build();
         }
         
-        List<Report> reports = reportRepository.findReportsWithFilters(
-            userOpt.get(), keyword, type, status);
-        return ResponseEntity.ok(reports);
+        User student = userOpt.get();
+        Page<Report> reports;
+        if (StringUtils.hasText(keyword)) {
+            reports = searchService.search(Report.class, keyword, pageable,
+                FilterSpecifications.reports(student, type, status),
+                reportRepository::findAllById);
+        } else {
+            reports = reportRepository.findAll(FilterSpecifications.reports(student, type, status), pageable);
+        }
+        return Pagination.ok(reports.map(ReportResponse::from));
     }
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<Report>> getAllReports(
+    public ResponseEntity<List<ReportResponse>> getAllReports(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable) {
+        
+        if (StringUtils.hasText(keyword)) {
+            boolean filtered = type != null || status != null;
+            Page<Report> reports = searchService.search(Report.class, keyword, pageable,
+                filtered ? FilterSpecifications.reports(null, type, status) : null,
+                reportRepository::findAllById);
+            return Pagination.ok(reports.map(ReportResponse::from));
+        }
+        
+        // Keyset mode is only available on the unfiltered listing
+        if (cursor != null && type == null && status == null) {
+            try {
+                Window<Report> reports = reportRepository.findAllBy(
+                    KeysetCursor.decode(cursor, Report.class), Pagination.keysetSort(pageable, Report.class), Pagination.keysetLimit(pageable));
+                return Pagination.ok(reports.map(ReportResponse::from));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         
-        List<Report> reports = reportRepository.findAllReportsWithFilters(keyword, type, status);
-        return ResponseEntity.ok(reports);
+        Page<Report> reports = reportRepository.findAll(FilterSpecifications.reports(null, type, status), pageable);
+        return Pagination.ok(reports.map(ReportResponse::from));
     }
 
     @GetMapping("/{id}")
@@ -164,28 +203,13 @@ public class ReportController {
             report.setStudent(userOpt.get());
             report.setStatus("Draft");
             
-            // Create type-specific upload directory
-            Path typeDir = Paths.get(uploadDir, type.replaceAll("[^a-zA-Z0-9\\s]", ""));
-            if (!Files.exists(typeDir)) {
-                Files.createDirectories(typeDir);
-            }
-            
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String uniqueFilename = UUID.randomUUID().toString() + "_" + originalFilename;
-            
-            // Save file in type-specific directory
-            Path filePath = typeDir.resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Store content once per distinct file; identical uploads share the same blob
+            BlobStore.StoredBlob blob = blobStore.store(file.getInputStream());
             
             // Update report with file information
-            report.setFileName(originalFilename);
-            report.setFilePath(filePath.toString());
-            report.setFileSize(file.getSize());
+            report.setFileName(file.getOriginalFilename());
+            report.setFilePath(blob.path().toString());
+            report.setFileSize(blob.size());
             
             Report savedReport = reportRepository.save(report);
             
@@ -215,29 +239,13 @@ public class ReportController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
             
-            // Create type-specific upload directory
-            String reportType = report.getType() != null ? report.getType() : "General";
-            Path typeDir = Paths.get(uploadDir, reportType.replaceAll("[^a-zA-Z0-9\\s]", ""));
-            if (!Files.exists(typeDir)) {
-                Files.createDirectories(typeDir);
-            }
-            
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String uniqueFilename = UUID.randomUUID().toString() + "_" + originalFilename;
-            
-            // Save file in type-specific directory
-            Path filePath = typeDir.resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Store content once per distinct file; identical uploads share the same blob
+            BlobStore.StoredBlob blob = blobStore.store(file.getInputStream());
             
             // Update report with file information
-            report.setFileName(originalFilename);
-            report.setFilePath(filePath.toString());
-            report.setFileSize(file.getSize());
+            report.setFileName(file.getOriginalFilename());
+            report.setFilePath(blob.path().toString());
+            report.setFileSize(blob.size());
             
             reportRepository.save(report);
             
@@ -249,43 +257,29 @@ public class ReportController {
     }
 
     @GetMapping("/{id}/download")
-    public ResponseEntity<Resource> downloadReportFile(@PathVariable Long id, Authentication authentication) {
-        try {
-            Optional<Report> reportOpt = reportRepository.findById(id);
-            if (reportOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            Report report = reportOpt.get();
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            
-            // Students can only download their own reports
-            if (userDetails.getAuthorities().stream()
-                    .anyMatch(auth -> auth.getAuthority().equals("ROLE_STUDENT"))) {
-                if (!report.getStudent().getId().equals(userDetails.getId())) {
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-                }
-            }
-            
-            if (report.getFilePath() == null) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            Path filePath = Paths.get(report.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                           "attachment; filename=\"" + report.getFileName() + "\"")
-                    .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
+    public void downloadReportFile(@PathVariable Long id, Authentication authentication,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Report> reportOpt = reportRepository.findById(id);
+        if (reportOpt.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        
+        Report report = reportOpt.get();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        
+        // Students can only download their own reports
+        if (userDetails.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_STUDENT"))) {
+            if (!report.getStudent().getId().equals(userDetails.getId())) {
+                response.setStatus(HttpStatus.FORBIDDEN.value());
+                return;
             }
-            
-        } catch (MalformedURLException e) {
-            return ResponseEntity.internalServerError().build();
+        }
+        
+        if (report.getFilePath() == null
+                || !fileDownloadService.serve(Paths.get(report.getFilePath()), report.getFileName(), request, response)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
         }
     }
 
@@ -338,9 +332,10 @@ public class ReportController {
             return ResponseEntity.badRequest().body("Cannot delete submitted report");
         }
         
-        // Delete file if exists
-        if (report.getFilePath() != null) {
+        // Blobs may be shared with other reports; unreferenced ones are removed by the blob store's sweep
+        if (report.getFilePath() != null && !blobStore.isBlobPath(report.getFilePath())) {
             try {
+                fileDownloadService.evict(Paths.get(report.getFilePath()));
                 Files.deleteIfExists(Paths.get(report.getFilePath()));
             } catch (IOException e) {
                 // Log error but continue with report deletion
@@ -0,0 +1,165 @@
+package com.pfetrack.api.controller;
+
+import com.pfetrack.api.model.Report;
+import com.pfetrack.api.model.ReportUpload;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.request.UploadInitRequest;
+import com.pfetrack.api.payload.response.MessageResponse;
+import com.pfetrack.api.payload.response.UploadStatusResponse;
+import com.pfetrack.api.repository.ReportRepository;
+import com.pfetrack.api.repository.ReportUploadRepository;
+import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.security.services.UserDetailsImpl;
+import com.pfetrack.api.service.ReportUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Optional;
+
+// Chunked, resumable uploads: init, PUT raw chunks at the current offset (GET tells where to resume), then complete
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174", "http://localhost:5175"}, maxAge = 3600)
+@RestController
+@RequestMapping("/reports/uploads")
+@PreAuthorize("hasRole('STUDENT')")
+public class ReportUploadController {
+
+    @Autowired
+    private ReportUploadService reportUploadService;
+
+    @Autowired
+    private ReportUploadRepository reportUploadRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PostMapping
+    public ResponseEntity<?> initUpload(@Valid @RequestBody UploadInitRequest request, Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        Optional<User> userOpt = userRepository.findById(userDetails.getId());
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (request.getReportId() != null) {
+            Optional<Report> reportOpt = reportRepository.findById(request.getReportId());
+            if (reportOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            // Students can only upload to their own reports
+            if (!reportOpt.get().getStudent().getId().equals(userDetails.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+        } else if (request.getTitle() == null || request.getType() == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Title and type are required for a new report"));
+        }
+
+        try {
+            ReportUpload upload = reportUploadService.init(userOpt.get(), request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new UploadStatusResponse(upload.getId(), 0L, upload.getTotalSize()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new MessageResponse("Failed to start upload: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getUploadStatus(@PathVariable String uploadId, Authentication authentication) {
+        Optional<ReportUpload> uploadOpt = findOwnUpload(uploadId, authentication);
+        if (uploadOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ReportUpload upload = uploadOpt.get();
+        try {
+            return ResponseEntity.ok(status(upload, reportUploadService.currentOffset(upload)));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> appendChunk(@PathVariable String uploadId,
+                                         @RequestParam long offset,
+                                         HttpServletRequest request,
+                                         Authentication authentication) {
+        Optional<ReportUpload> uploadOpt = findOwnUpload(uploadId, authentication);
+        if (uploadOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ReportUpload upload = uploadOpt.get();
+        try {
+            long newOffset = reportUploadService.append(upload, offset, request.getInputStream());
+            return ResponseEntity.ok(status(upload, newOffset));
+        } catch (ReportUploadService.OffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status(upload, e.getCurrentOffset()));
+        } catch (ReportUploadService.UploadBusyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new MessageResponse("Failed to write chunk: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId, Authentication authentication) {
+        Optional<ReportUpload> uploadOpt = findOwnUpload(uploadId, authentication);
+        if (uploadOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ReportUpload upload = uploadOpt.get();
+        try {
+            Report report = reportUploadService.complete(upload);
+            return ResponseEntity.ok(report);
+        } catch (ReportUploadService.OffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status(upload, e.getCurrentOffset()));
+        } catch (ReportUploadService.UploadBusyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new MessageResponse("Failed to complete upload: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId, Authentication authentication) {
+        Optional<ReportUpload> uploadOpt = findOwnUpload(uploadId, authentication);
+        if (uploadOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            reportUploadService.discard(uploadOpt.get());
+            return ResponseEntity.ok(new MessageResponse("Upload cancelled"));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // Other students' uploads are reported as missing rather than forbidden so ids can't be probed
+    private Optional<ReportUpload> findOwnUpload(String uploadId, Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return reportUploadRepository.findById(uploadId)
+            .filter(upload -> upload.getStudent().getId().equals(userDetails.getId()));
+    }
+
+    private static UploadStatusResponse status(ReportUpload upload, long offset) {
+        return new UploadStatusResponse(upload.getId(), offset, upload.getTotalSize());
+    }
+}
@@ -0,0 +1,24 @@
+package com.pfetrack.api.controller;
+
+import com.pfetrack.api.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildIndex() {
+        return ResponseEntity.ok(searchService.rebuild());
+    }
+}
@@ -4,7 +4,12 @@ import com.pfetrack.api.model.StudentProfile;
 import com.pfetrack.api.model.User;
 import com.pfetrack.api.repository.StudentProfileRepository;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.util.KeysetCursor;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,10 +32,18 @@ public class StudentProfileController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<StudentProfile>> getAllProfiles() {
+    public ResponseEntity<List<StudentProfile>> getAllProfiles(@RequestParam(required = false) String cursor, Pageable pageable) {
         try {
-            List<StudentProfile> profiles = studentProfileRepository.findAll();
-            return ResponseEntity.ok(profiles);
+            if (cursor != null) {
+                Window<StudentProfile> profiles = studentProfileRepository.findAllBy(
+                    KeysetCursor.decode(cursor, StudentProfile.class), Pagination.keysetSort(pageable, StudentProfile.class), Pagination.keysetLimit(pageable));
+                return Pagination.ok(profiles);
+            }
+            
+            Page<StudentProfile> profiles = studentProfileRepository.findAll(pageable);
+            return Pagination.ok(profiles);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -161,10 +174,10 @@ public class StudentProfileController {
 
     @GetMapping("/department/{department}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<StudentProfile>> getProfilesByDepartment(@PathVariable String department) {
+    public ResponseEntity<List<StudentProfile>> getProfilesByDepartment(@PathVariable String department, Pageable pageable) {
         try {
-            List<StudentProfile> profiles = studentProfileRepository.findByDepartment(department);
-            return ResponseEntity.ok(profiles);
+            Page<StudentProfile> profiles = studentProfileRepository.findByDepartment(department, pageable);
+            return Pagination.ok(profiles);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -172,10 +185,10 @@ public class StudentProfileController {
 
     @GetMapping("/academic-year/{year}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<StudentProfile>> getProfilesByAcademicYear(@PathVariable String year) {
+    public ResponseEntity<List<StudentProfile>> getProfilesByAcademicYear(@PathVariable String year, Pageable pageable) {
         try {
-            List<StudentProfile> profiles = studentProfileRepository.findByAcademicYear(year);
-            return ResponseEntity.ok(profiles);
+            Page<StudentProfile> profiles = studentProfileRepository.findByAcademicYear(year, pageable);
+            return Pagination.ok(profiles);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -183,10 +196,10 @@ public class StudentProfileController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSOR')")
-    public ResponseEntity<List<StudentProfile>> searchProfiles(@RequestParam String keyword) {
+    public ResponseEntity<List<StudentProfile>> searchProfiles(@RequestParam String keyword, Pageable pageable) {
         try {
-            List<StudentProfile> profiles = studentProfileRepository.searchProfiles(keyword);
-            return ResponseEntity.ok(profiles);
+            Page<StudentProfile> profiles = studentProfileRepository.searchProfiles(keyword, pageable);
+            return Pagination.ok(profiles);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -4,7 +4,10 @@ import com.pfetrack.api.model.StudentSettings;
 import com.pfetrack.api.model.User;
 import com.pfetrack.api.repository.StudentSettingsRepository;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,10 +30,10 @@ public class StudentSettingsController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<StudentSettings>> getAllSettings() {
+    public ResponseEntity<List<StudentSettings>> getAllSettings(Pageable pageable) {
         try {
-            List<StudentSettings> settings = studentSettingsRepository.findAll();
-            return ResponseEntity.ok(settings);
+            Page<StudentSettings> settings = studentSettingsRepository.findAll(pageable);
+            return Pagination.ok(settings);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -208,10 +211,10 @@ public class StudentSettingsController {
 
     @GetMapping("/theme/{theme}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<StudentSettings>> getSettingsByTheme(@PathVariable String theme) {
+    public ResponseEntity<List<StudentSettings>> getSettingsByTheme(@PathVariable String theme, Pageable pageable) {
         try {
-            List<StudentSettings> settings = studentSettingsRepository.findByTheme(theme);
-            return ResponseEntity.ok(settings);
+            Page<StudentSettings> settings = studentSettingsRepository.findByTheme(theme, pageable);
+            return Pagination.ok(settings);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -219,10 +222,10 @@ public class StudentSettingsController {
 
     @GetMapping("/language/{language}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<StudentSettings>> getSettingsByLanguage(@PathVariable String language) {
+    public ResponseEntity<List<StudentSettings>> getSettingsByLanguage(@PathVariable String language, Pageable pageable) {
         try {
-            List<StudentSettings> settings = studentSettingsRepository.findByLanguage(language);
-            return ResponseEntity.ok(settings);
+            Page<StudentSettings> settings = studentSettingsRepository.findByLanguage(language, pageable);
+            return Pagination.ok(settings);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
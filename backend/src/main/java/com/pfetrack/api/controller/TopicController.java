@@ -3,14 +3,30 @@ package com.pfetrack.api.controller;
 import com.pfetrack.api.model.Topic;
 import com.pfetrack.api.model.TopicApplication;
 import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.MessageResponse;
+import com.pfetrack.api.payload.response.TopicApplicationResponse;
+import com.pfetrack.api.payload.response.TopicResponse;
+import com.pfetrack.api.repository.FilterSpecifications;
 import com.pfetrack.api.repository.TopicRepository;
 import com.pfetrack.api.repository.TopicApplicationRepository;
 import com.pfetrack.api.repository.UserRepository;
 import com.pfetrack.api.security.services.UserDetailsImpl;
+import com.pfetrack.api.service.SearchService;
+import com.pfetrack.api.service.TopicAllocationService;
+import com.pfetrack.api.service.TopicApplicationService;
+import com.pfetrack.api.util.KeysetCursor;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -30,26 +46,50 @@ public class TopicController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TopicApplicationService topicApplicationService;
+
+    @Autowired
+    private TopicAllocationService topicAllocationService;
+
     @GetMapping
-    public ResponseEntity<List<Topic>> getAllTopics(
+    public ResponseEntity<List<TopicResponse>> getAllTopics(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String department,
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable) {
         
-        List<Topic> topics;
-        if (keyword != null || department != null || type != null || status != null) {
-            topics = topicRepository.findTopicsWithFilters(keyword, department, type, status);
+        Page<Topic> topics;
+        if (StringUtils.hasText(keyword)) {
+            boolean filtered = department != null || type != null || status != null;
+            topics = searchService.search(Topic.class, keyword, pageable,
+                filtered ? FilterSpecifications.topics(department, type, status) : null,
+                topicRepository::findAllById);
+        } else if (department != null || type != null || status != null) {
+            topics = topicRepository.findAll(FilterSpecifications.topics(department, type, status), pageable);
+        } else if (cursor != null) {
+            try {
+                Window<Topic> window = topicRepository.findAllBy(
+                    KeysetCursor.decode(cursor, Topic.class), Pagination.keysetSort(pageable, Topic.class), Pagination.keysetLimit(pageable));
+                return Pagination.ok(window.map(TopicResponse::from));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
         } else {
-            topics = topicRepository.findAll();
+            topics = topicRepository.findAll(pageable);
         }
-        return ResponseEntity.ok(topics);
+        return Pagination.ok(topics.map(TopicResponse::from));
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<Topic>> getAvailableTopics() {
-        List<Topic> topics = topicRepository.findAvailableTopics();
-        return ResponseEntity.ok(topics);
+    public ResponseEntity<List<TopicResponse>> getAvailableTopics(Pageable pageable) {
+        Page<Topic> topics = topicRepository.findAvailableTopics(pageable);
+        return Pagination.ok(topics.map(TopicResponse::from));
     }
 
     @GetMapping("/{id}")
@@ -80,8 +120,13 @@ public class TopicController {
             topic.setStatus(topicDetails.getStatus());
             topic.setMaxStudents(topicDetails.getMaxStudents());
             
-            Topic updatedTopic = topicRepository.save(topic);
-            return ResponseEntity.ok(updatedTopic);
+            try {
+                Topic updatedTopic = topicRepository.save(topic);
+                return ResponseEntity.ok(updatedTopic);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // A seat was claimed or allocated since the topic was read; saving would reset its seat count
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
         }
         return ResponseEntity.notFound().build();
     }
@@ -100,40 +145,82 @@ public class TopicController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<?> applyToTopic(@PathVariable Long id, 
                                          @RequestBody(required = false) String motivation,
+                                         @RequestParam(required = false) Integer rank,
                                          Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        Optional<User> userOpt = userRepository.findById(userDetails.getId());
-        Optional<Topic> topicOpt = topicRepository.findById(id);
-        
-        if (userOpt.isEmpty() || topicOpt.isEmpty()) {
+        if (!topicRepository.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
-        
-        User user = userOpt.get();
-        Topic topic = topicOpt.get();
-        
-        // Check if already applied
-        if (applicationRepository.existsByStudentAndTopic(user, topic)) {
-            return ResponseEntity.badRequest().body("Already applied to this topic");
+        if (rank != null && rank < 1) {
+            return ResponseEntity.badRequest().body("Preference rank starts at 1");
         }
         
-        // Check if topic is available
-        if (!topic.isAvailable()) {
-            return ResponseEntity.badRequest().body("Topic is not available");
+        switch (topicApplicationService.apply(userDetails.getId(), id, motivation, rank)) {
+            case SUBMITTED:
+                return ResponseEntity.ok().body("Application submitted successfully");
+            case ALREADY_APPLIED:
+                return ResponseEntity.badRequest().body("Already applied to this topic");
+            case UNAVAILABLE:
+                return ResponseEntity.badRequest().body("Topic is not available");
+            case PENDING_LIMIT:
+                return ResponseEntity.badRequest().body("Too many applications are still pending a decision");
+            default:
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Too many applications in progress, please retry");
+        }
+    }
+
+    @PostMapping("/applications/{applicationId}/approve")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<?> approveApplication(@PathVariable Long applicationId) {
+        return changed(topicApplicationService.approve(applicationId), "Application approved");
+    }
+
+    @PostMapping("/applications/{applicationId}/reject")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<?> rejectApplication(@PathVariable Long applicationId) {
+        return changed(topicApplicationService.reject(applicationId), "Application rejected");
+    }
+
+    @DeleteMapping("/applications/{applicationId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> withdrawApplication(@PathVariable Long applicationId, Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return changed(topicApplicationService.withdraw(userDetails.getId(), applicationId), "Application withdrawn");
+    }
+
+    private ResponseEntity<?> changed(TopicApplicationService.Change change, String message) {
+        switch (change) {
+            case DONE:
+                return ResponseEntity.ok().body(message);
+            case NOT_FOUND:
+                return ResponseEntity.notFound().build();
+            case NOT_PENDING:
+                return ResponseEntity.badRequest().body("Application has already been decided");
+            case UNAVAILABLE:
+                return ResponseEntity.badRequest().body("Topic is not available");
+            default:
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Too many applications in progress, please retry");
+        }
+    }
+
+    // Decides every pending application at once with a stable matching of student preferences to topic seats
+    @PostMapping("/allocations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> allocateTopics(@RequestParam(defaultValue = "false") boolean gradePriority) {
+        try {
+            return ResponseEntity.ok(topicAllocationService.allocate(gradePriority));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
         }
-        
-        TopicApplication application = new TopicApplication();
-        application.setStudent(user);
-        application.setTopic(topic);
-        application.setMotivation(motivation);
-        
-        applicationRepository.save(application);
-        return ResponseEntity.ok().body("Application submitted successfully");
     }
 
     @GetMapping("/my-applications")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<List<TopicApplication>> getMyApplications(Authentication authentication) {
+    public ResponseEntity<List<TopicApplicationResponse>> getMyApplications(Authentication authentication, Pageable pageable) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         Optional<User> userOpt = userRepository.findById(userDetails.getId());
         
@@ -141,7 +228,7 @@ public class TopicController {
             return ResponseEntity.notFound().build();
         }
         
-        List<TopicApplication> applications = applicationRepository.findByStudent(userOpt.get());
-        return ResponseEntity.ok(applications);
+        Page<TopicApplication> applications = applicationRepository.findByStudent(userOpt.get(), pageable);
+        return Pagination.ok(applications.map(TopicApplicationResponse::from));
     }
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package com.pfetrack.api.controller;
 import com.pfetrack.api.model.User;
 import com.pfetrack.api.payload.response.MessageResponse;
 import com.pfetrack.api.service.UserService;
+import com.pfetrack.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -20,8 +22,8 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<List<User>> getAllUsers(Pageable pageable) {
+        return Pagination.ok(userService.getAllUsers(pageable));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,71 @@
+package com.pfetrack.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Running totals over a student's published grades, one row per semester plus one overall row.
+// Kept as sums so grade changes can be applied as deltas; the GPA is derived from them on read.
+@Entity
+@Table(name = "academic_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_academic_summary_student_semester", columnNames = {"student_id", "semester"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AcademicSummary {
+    // Semester key of the row that aggregates every semester
+    public static final String OVERALL = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "academic_summaries_seq")
+    @SequenceGenerator(name = "academic_summaries_seq", sequenceName = "academic_summaries_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(length = 20, nullable = false)
+    private String semester;
+
+    // Sum of gradeValue * credits, over grades that have credits
+    @Column(name = "weighted_grade_sum", nullable = false)
+    private double weightedGradeSum;
+
+    @Column(name = "weighted_credits", nullable = false)
+    private long weightedCredits;
+
+    @Column(name = "grade_sum", nullable = false)
+    private double gradeSum;
+
+    @Column(name = "grade_count", nullable = false)
+    private long gradeCount;
+
+    @Column(name = "credits_earned", nullable = false)
+    private long creditsEarned;
+
+    @Column(name = "passed_count", nullable = false)
+    private long passedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Credit-weighted average; falls back to the plain average when none of the grades carry credits
+    public double getGpa() {
+        if (weightedCredits > 0) {
+            return weightedGradeSum / weightedCredits;
+        }
+        return gradeCount > 0 ? gradeSum / gradeCount : 0.0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.pfetrack.api.model;
 
+import com.pfetrack.api.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -11,13 +12,21 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "achievements")
+@NamedEntityGraph(name = "Achievement.list", attributeNodes = {@NamedAttributeNode("student")})
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "achievements",
+       indexes = {
+           @Index(name = "idx_achievements_student_status_date", columnList = "student_id, status, achievement_date"),
+           @Index(name = "idx_achievements_public_status_date", columnList = "is_public, status, achievement_date"),
+           @Index(name = "idx_achievements_date", columnList = "achievement_date")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Achievement {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "achievements_seq")
+    @SequenceGenerator(name = "achievements_seq", sequenceName = "achievements_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
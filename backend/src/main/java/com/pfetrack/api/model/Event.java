@@ -12,13 +12,20 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "events")
+@NamedEntityGraph(name = "Event.list", attributeNodes = {@NamedAttributeNode("student"), @NamedAttributeNode("topic")})
+@Table(name = "events",
+       indexes = {
+           @Index(name = "idx_events_student_date", columnList = "student_id, event_date"),
+           @Index(name = "idx_events_date_reminder", columnList = "event_date, reminder_sent"),
+           @Index(name = "idx_events_public_date", columnList = "is_public, event_date")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
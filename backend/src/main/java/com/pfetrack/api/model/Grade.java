@@ -11,13 +11,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "grades")
+@NamedEntityGraph(name = "Grade.list", attributeNodes = {@NamedAttributeNode("student")})
+@Table(name = "grades",
+       indexes = {
+           @Index(name = "idx_grades_student_published_semester", columnList = "student_id, is_published, semester"),
+           @Index(name = "idx_grades_student_evaluation_date", columnList = "student_id, evaluation_date")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Grade {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_seq")
+    @SequenceGenerator(name = "grades_seq", sequenceName = "grades_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
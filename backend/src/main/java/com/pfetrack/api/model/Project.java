@@ -1,5 +1,6 @@
 package com.pfetrack.api.model;
 
+import com.pfetrack.api.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -13,13 +14,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@NamedEntityGraph(name = "Project.list", attributeNodes = {@NamedAttributeNode("student"), @NamedAttributeNode("topic")})
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "projects",
+       indexes = {
+           @Index(name = "idx_projects_status_expected_completion", columnList = "status, expected_completion_date"),
+           @Index(name = "idx_projects_student_status", columnList = "student_id, status"),
+           @Index(name = "idx_projects_department_status", columnList = "department, status")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Project {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
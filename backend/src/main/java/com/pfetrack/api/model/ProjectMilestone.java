@@ -1,5 +1,6 @@
 package com.pfetrack.api.model;
 
+import com.pfetrack.api.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -11,13 +12,20 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "project_milestones")
+@NamedEntityGraph(name = "ProjectMilestone.list", attributeNodes = {@NamedAttributeNode("project")})
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "project_milestones",
+       indexes = {
+           @Index(name = "idx_milestones_project_status_due", columnList = "project_id, status, due_date"),
+           @Index(name = "idx_milestones_due_status", columnList = "due_date, status")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProjectMilestone {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_milestones_seq")
+    @SequenceGenerator(name = "project_milestones_seq", sequenceName = "project_milestones_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,6 +60,9 @@ public class ProjectMilestone {
     @Column(name = "order_index")
     private Integer orderIndex;
 
+    @Column(name = "reminder_sent")
+    private Boolean reminderSent = false;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -61,6 +72,9 @@ public class ProjectMilestone {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (reminderSent == null) {
+            reminderSent = false;
+        }
         if (updatedAt == null) {
             updatedAt = LocalDateTime.now();
         }
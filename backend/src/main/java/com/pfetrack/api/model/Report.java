@@ -1,5 +1,6 @@
 package com.pfetrack.api.model;
 
+import com.pfetrack.api.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -10,13 +11,21 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reports")
+@NamedEntityGraph(name = "Report.list", attributeNodes = {@NamedAttributeNode("student"), @NamedAttributeNode("topic")})
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "reports",
+       indexes = {
+           @Index(name = "idx_reports_student_type_status", columnList = "student_id, type, status"),
+           @Index(name = "idx_reports_status_type", columnList = "status, type"),
+           @Index(name = "idx_reports_file_path", columnList = "file_path")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Report {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reports_seq")
+    @SequenceGenerator(name = "reports_seq", sequenceName = "reports_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
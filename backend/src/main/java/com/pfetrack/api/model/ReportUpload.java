@@ -0,0 +1,71 @@
+package com.pfetrack.api.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// An in-progress chunked upload; the bytes received so far live in the part file, the Report row is only
+// written once the upload completes
+@Entity
+@Table(name = "report_uploads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportUpload {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private User student;
+
+    // Set when the upload replaces the file of an existing report
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Size(max = 200)
+    private String title;
+
+    @Size(max = 50)
+    private String type;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @NotBlank
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Size(max = 64)
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "part_path", nullable = false)
+    private String partPath;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
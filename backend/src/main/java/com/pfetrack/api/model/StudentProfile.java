@@ -11,13 +11,18 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "student_profiles")
+@NamedEntityGraph(name = "StudentProfile.list", attributeNodes = @NamedAttributeNode("user"))
+@Table(name = "student_profiles",
+       indexes = {
+           @Index(name = "idx_student_profiles_department", columnList = "department")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class StudentProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_profiles_seq")
+    @SequenceGenerator(name = "student_profiles_seq", sequenceName = "student_profiles_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -8,13 +8,15 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = "StudentSettings.list", attributeNodes = @NamedAttributeNode("user"))
 @Table(name = "student_settings")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class StudentSettings {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_settings_seq")
+    @SequenceGenerator(name = "student_settings_seq", sequenceName = "student_settings_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -1,24 +1,34 @@
 package com.pfetrack.api.model;
 
+import com.pfetrack.api.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "topics")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "topics")
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "topics",
+       indexes = {
+           @Index(name = "idx_topics_status_department", columnList = "status, department")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Topic {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_seq")
+    @SequenceGenerator(name = "topics_seq", sequenceName = "topics_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -53,6 +63,11 @@ public class Topic {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Seat claims and allocations change current_students behind an edit that may have started from a stale
+    // (or cached) copy; the version turns that lost update into an optimistic locking failure
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "topic", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TopicApplication> applications = new ArrayList<>();
 
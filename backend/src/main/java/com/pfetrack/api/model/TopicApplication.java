@@ -9,13 +9,22 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "topic_applications")
+@NamedEntityGraph(name = "TopicApplication.list", attributeNodes = {@NamedAttributeNode("student"), @NamedAttributeNode("topic")})
+@Table(name = "topic_applications",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_topic_applications_user_topic", columnNames = {"user_id", "topic_id"})
+       },
+       indexes = {
+           @Index(name = "idx_topic_applications_student_status", columnList = "user_id, status"),
+           @Index(name = "idx_topic_applications_topic_status", columnList = "topic_id, status")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TopicApplication {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topic_applications_seq")
+    @SequenceGenerator(name = "topic_applications_seq", sequenceName = "topic_applications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -29,6 +38,14 @@ public class TopicApplication {
     @Column(columnDefinition = "TEXT")
     private String motivation;
 
+    // The student's ranking of this topic among their applications, 1 = first choice
+    @Column(name = "preference_rank")
+    private Integer preferenceRank;
+
+    // Whether this application claimed one of the topic's current_students seats when it was submitted
+    @Column(name = "seat_reserved")
+    private Boolean seatReserved = false;
+
     @Size(max = 20)
     private String status; // "Pending", "Approved", "Rejected"
 
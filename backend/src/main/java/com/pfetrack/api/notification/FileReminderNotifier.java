@@ -0,0 +1,48 @@
+package com.pfetrack.api.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends reminders as JSON lines to a local file, one line per reminder; for tests and local runs
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "file")
+public class FileReminderNotifier implements ReminderNotifier {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.reminders.file:reminders.ndjson}")
+    private String file;
+
+    @Override
+    public synchronized void send(List<Reminder> reminders) {
+        Path path = Paths.get(file).toAbsolutePath();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Reminder reminder : reminders) {
+                    writer.write(objectMapper.writeValueAsString(reminder));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reminders to " + path, e);
+        }
+    }
+}
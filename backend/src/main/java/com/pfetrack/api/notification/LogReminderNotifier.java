@@ -0,0 +1,23 @@
+package com.pfetrack.api.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default notifier: writes each reminder to the application log
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LogReminderNotifier implements ReminderNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(LogReminderNotifier.class);
+
+    @Override
+    public void send(List<Reminder> reminders) {
+        for (Reminder reminder : reminders) {
+            logger.info("Reminder for student {}: {} '{}' due {}{}", reminder.studentId(), reminder.type(),
+                    reminder.title(), reminder.dueDate(), reminder.dueTime() != null ? " " + reminder.dueTime() : "");
+        }
+    }
+}
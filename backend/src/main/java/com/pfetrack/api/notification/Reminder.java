@@ -0,0 +1,14 @@
+package com.pfetrack.api.notification;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// A reminder due for one student: source is "event" or "milestone", sourceId the row it came from
+public record Reminder(String source, Long sourceId, Long studentId, String title, String type,
+                       LocalDate dueDate, LocalTime dueTime) {
+
+    // Milestones have a due date but no time of day
+    public Reminder(String source, Long sourceId, Long studentId, String title, String type, LocalDate dueDate) {
+        this(source, sourceId, studentId, title, type, dueDate, null);
+    }
+}
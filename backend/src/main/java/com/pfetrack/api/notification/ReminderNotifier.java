@@ -0,0 +1,11 @@
+package com.pfetrack.api.notification;
+
+import java.util.List;
+
+// Delivery channel for reminders. Called once per batch; a reminder counts as sent once this returns, so an
+// implementation should throw rather than drop reminders it could not deliver.
+// The implementation is chosen with app.reminders.notifier.
+public interface ReminderNotifier {
+
+    void send(List<Reminder> reminders);
+}
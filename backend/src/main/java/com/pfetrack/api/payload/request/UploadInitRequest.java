@@ -0,0 +1,33 @@
+package com.pfetrack.api.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UploadInitRequest {
+    // Existing report whose file is being replaced; leave empty to create a new report on completion
+    private Long reportId;
+
+    @Size(max = 200)
+    private String title;
+
+    @Size(max = 50)
+    private String type;
+
+    private String description;
+
+    @NotBlank
+    private String fileName;
+
+    @NotNull
+    @Positive
+    private Long totalSize;
+
+    @NotBlank
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$")
+    private String sha256;
+}
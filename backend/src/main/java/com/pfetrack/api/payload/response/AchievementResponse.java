@@ -0,0 +1,56 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Achievement;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class AchievementResponse {
+    private Long id;
+    private UserSummary student;
+    private String title;
+    private String description;
+    private String type;
+    private String issuingOrganization;
+    private LocalDate achievementDate;
+    private String certificateUrl;
+    private String verificationUrl;
+    private String status;
+    private Integer pointsAwarded;
+    private String category;
+    private Boolean isPublic;
+    private LocalDate expiryDate;
+    private String additionalDetails;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean expired;
+    private boolean recent;
+
+    public static AchievementResponse from(Achievement achievement) {
+        AchievementResponse response = new AchievementResponse();
+        response.setId(achievement.getId());
+        response.setStudent(achievement.getStudent() != null ? UserSummary.from(achievement.getStudent()) : null);
+        response.setTitle(achievement.getTitle());
+        response.setDescription(achievement.getDescription());
+        response.setType(achievement.getType());
+        response.setIssuingOrganization(achievement.getIssuingOrganization());
+        response.setAchievementDate(achievement.getAchievementDate());
+        response.setCertificateUrl(achievement.getCertificateUrl());
+        response.setVerificationUrl(achievement.getVerificationUrl());
+        response.setStatus(achievement.getStatus());
+        response.setPointsAwarded(achievement.getPointsAwarded());
+        response.setCategory(achievement.getCategory());
+        response.setIsPublic(achievement.getIsPublic());
+        response.setExpiryDate(achievement.getExpiryDate());
+        response.setAdditionalDetails(achievement.getAdditionalDetails());
+        response.setCreatedAt(achievement.getCreatedAt());
+        response.setUpdatedAt(achievement.getUpdatedAt());
+        response.setExpired(achievement.isExpired());
+        response.setRecent(achievement.isRecent());
+        return response;
+    }
+}
@@ -0,0 +1,21 @@
+package com.pfetrack.api.payload.response;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private String region;
+    private long size;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+
+    public static CacheStatsResponse from(String region, long size, CacheStats stats) {
+        return new CacheStatsResponse(region, size, stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+}
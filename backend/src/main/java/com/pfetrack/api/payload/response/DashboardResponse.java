@@ -0,0 +1,35 @@
+package com.pfetrack.api.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class DashboardResponse {
+    private double gpa;
+    private long achievementPoints;
+    private EventStatistics events;
+    private List<ProjectProgress> projects;
+
+    @Data
+    @AllArgsConstructor
+    public static class EventStatistics {
+        private long totalEvents;
+        private long upcomingExams;
+        private long upcomingPfeEvents;
+        private long upcomingMeetings;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ProjectProgress {
+        private Long projectId;
+        private String title;
+        private double progress;
+        private double completionRate;
+        private long totalMilestones;
+        private long completedMilestones;
+    }
+}
@@ -0,0 +1,55 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Event;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+public class EventResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDate eventDate;
+    private LocalTime eventTime;
+    private String type;
+    private String location;
+    private String status;
+    private UserSummary student;
+    private TopicSummary topic;
+    private Boolean isPublic;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Boolean reminderSent;
+    private boolean upcoming;
+    private boolean today;
+    private long daysUntil;
+
+    public static EventResponse from(Event event) {
+        EventResponse response = new EventResponse();
+        response.setId(event.getId());
+        response.setTitle(event.getTitle());
+        response.setDescription(event.getDescription());
+        response.setEventDate(event.getEventDate());
+        response.setEventTime(event.getEventTime());
+        response.setType(event.getType());
+        response.setLocation(event.getLocation());
+        response.setStatus(event.getStatus());
+        response.setStudent(event.getStudent() != null ? UserSummary.from(event.getStudent()) : null);
+        response.setTopic(event.getTopic() != null ? TopicSummary.from(event.getTopic()) : null);
+        response.setIsPublic(event.getIsPublic());
+        response.setCreatedBy(event.getCreatedBy());
+        response.setCreatedAt(event.getCreatedAt());
+        response.setUpdatedAt(event.getUpdatedAt());
+        response.setReminderSent(event.getReminderSent());
+        response.setUpcoming(event.isUpcoming());
+        response.setToday(event.isToday());
+        response.setDaysUntil(event.getDaysUntil());
+        return response;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pfetrack.api.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class GradeImportResponse {
+    private long received;
+    private long imported;
+    private long rejected;
+    // Capped at app.grades.import.max-reported-errors; rejected keeps the full count
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
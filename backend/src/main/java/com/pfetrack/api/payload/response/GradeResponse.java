@@ -0,0 +1,60 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Grade;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class GradeResponse {
+    private Long id;
+    private UserSummary student;
+    private String subjectName;
+    private String subjectCode;
+    private Double gradeValue;
+    private String letterGrade;
+    private Integer credits;
+    private String semester;
+    private String academicYear;
+    private String evaluationType;
+    private LocalDate evaluationDate;
+    private Double maxScore;
+    private Double obtainedScore;
+    private String professor;
+    private String comments;
+    private String status;
+    private Boolean isPublished;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private double percentage;
+    private boolean passing;
+
+    public static GradeResponse from(Grade grade) {
+        GradeResponse response = new GradeResponse();
+        response.setId(grade.getId());
+        response.setStudent(grade.getStudent() != null ? UserSummary.from(grade.getStudent()) : null);
+        response.setSubjectName(grade.getSubjectName());
+        response.setSubjectCode(grade.getSubjectCode());
+        response.setGradeValue(grade.getGradeValue());
+        response.setLetterGrade(grade.getLetterGrade());
+        response.setCredits(grade.getCredits());
+        response.setSemester(grade.getSemester());
+        response.setAcademicYear(grade.getAcademicYear());
+        response.setEvaluationType(grade.getEvaluationType());
+        response.setEvaluationDate(grade.getEvaluationDate());
+        response.setMaxScore(grade.getMaxScore());
+        response.setObtainedScore(grade.getObtainedScore());
+        response.setProfessor(grade.getProfessor());
+        response.setComments(grade.getComments());
+        response.setStatus(grade.getStatus());
+        response.setIsPublished(grade.getIsPublished());
+        response.setCreatedAt(grade.getCreatedAt());
+        response.setUpdatedAt(grade.getUpdatedAt());
+        response.setPercentage(grade.getPercentage());
+        response.setPassing(grade.isPassing());
+        return response;
+    }
+}
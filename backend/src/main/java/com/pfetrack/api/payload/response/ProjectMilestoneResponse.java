@@ -0,0 +1,50 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.ProjectMilestone;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class ProjectMilestoneResponse {
+    private Long id;
+    private ProjectSummary project;
+    private String title;
+    private String description;
+    private LocalDate dueDate;
+    private LocalDate completionDate;
+    private String status;
+    private String priority;
+    private Double progressPercentage;
+    private String notes;
+    private Integer orderIndex;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean completed;
+    private boolean overdue;
+    private long daysUntilDue;
+
+    public static ProjectMilestoneResponse from(ProjectMilestone projectMilestone) {
+        ProjectMilestoneResponse response = new ProjectMilestoneResponse();
+        response.setId(projectMilestone.getId());
+        response.setProject(projectMilestone.getProject() != null ? ProjectSummary.from(projectMilestone.getProject()) : null);
+        response.setTitle(projectMilestone.getTitle());
+        response.setDescription(projectMilestone.getDescription());
+        response.setDueDate(projectMilestone.getDueDate());
+        response.setCompletionDate(projectMilestone.getCompletionDate());
+        response.setStatus(projectMilestone.getStatus());
+        response.setPriority(projectMilestone.getPriority());
+        response.setProgressPercentage(projectMilestone.getProgressPercentage());
+        response.setNotes(projectMilestone.getNotes());
+        response.setOrderIndex(projectMilestone.getOrderIndex());
+        response.setCreatedAt(projectMilestone.getCreatedAt());
+        response.setUpdatedAt(projectMilestone.getUpdatedAt());
+        response.setCompleted(projectMilestone.isCompleted());
+        response.setOverdue(projectMilestone.isOverdue());
+        response.setDaysUntilDue(projectMilestone.getDaysUntilDue());
+        return response;
+    }
+}
@@ -0,0 +1,79 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Project;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projects are listed without their milestones collection
+@Data
+@NoArgsConstructor
+public class ProjectResponse {
+    private Long id;
+    private UserSummary student;
+    private TopicSummary topic;
+    private String title;
+    private String description;
+    private String supervisor;
+    private String coSupervisor;
+    private String department;
+    private String type;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate expectedCompletionDate;
+    private Double progressPercentage;
+    private String currentPhase;
+    private String objectives;
+    private String methodology;
+    private String expectedOutcomes;
+    private String currentChallenges;
+    private String nextSteps;
+    private Double finalGrade;
+    private String supervisorFeedback;
+    private LocalDate presentationDate;
+    private String repositoryUrl;
+    private String documentationUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean active;
+    private boolean overdue;
+    private long daysRemaining;
+
+    public static ProjectResponse from(Project project) {
+        ProjectResponse response = new ProjectResponse();
+        response.setId(project.getId());
+        response.setStudent(project.getStudent() != null ? UserSummary.from(project.getStudent()) : null);
+        response.setTopic(project.getTopic() != null ? TopicSummary.from(project.getTopic()) : null);
+        response.setTitle(project.getTitle());
+        response.setDescription(project.getDescription());
+        response.setSupervisor(project.getSupervisor());
+        response.setCoSupervisor(project.getCoSupervisor());
+        response.setDepartment(project.getDepartment());
+        response.setType(project.getType());
+        response.setStatus(project.getStatus());
+        response.setStartDate(project.getStartDate());
+        response.setEndDate(project.getEndDate());
+        response.setExpectedCompletionDate(project.getExpectedCompletionDate());
+        response.setProgressPercentage(project.getProgressPercentage());
+        response.setCurrentPhase(project.getCurrentPhase());
+        response.setObjectives(project.getObjectives());
+        response.setMethodology(project.getMethodology());
+        response.setExpectedOutcomes(project.getExpectedOutcomes());
+        response.setCurrentChallenges(project.getCurrentChallenges());
+        response.setNextSteps(project.getNextSteps());
+        response.setFinalGrade(project.getFinalGrade());
+        response.setSupervisorFeedback(project.getSupervisorFeedback());
+        response.setPresentationDate(project.getPresentationDate());
+        response.setRepositoryUrl(project.getRepositoryUrl());
+        response.setDocumentationUrl(project.getDocumentationUrl());
+        response.setCreatedAt(project.getCreatedAt());
+        response.setUpdatedAt(project.getUpdatedAt());
+        response.setActive(project.isActive());
+        response.setOverdue(project.isOverdue());
+        response.setDaysRemaining(project.getDaysRemaining());
+        return response;
+    }
+}
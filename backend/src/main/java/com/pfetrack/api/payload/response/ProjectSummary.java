@@ -0,0 +1,21 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Project;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ProjectSummary {
+    private Long id;
+    private String title;
+    private String status;
+
+    public static ProjectSummary from(Project project) {
+        ProjectSummary response = new ProjectSummary();
+        response.setId(project.getId());
+        response.setTitle(project.getTitle());
+        response.setStatus(project.getStatus());
+        return response;
+    }
+}
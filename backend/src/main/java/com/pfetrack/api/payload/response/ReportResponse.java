@@ -0,0 +1,49 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Report;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class ReportResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private String type;
+    private String status;
+    private String filePath;
+    private String fileName;
+    private Long fileSize;
+    private UserSummary student;
+    private TopicSummary topic;
+    private LocalDateTime submittedAt;
+    private LocalDateTime reviewedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String reviewerComments;
+    private Double grade;
+
+    public static ReportResponse from(Report report) {
+        ReportResponse response = new ReportResponse();
+        response.setId(report.getId());
+        response.setTitle(report.getTitle());
+        response.setDescription(report.getDescription());
+        response.setType(report.getType());
+        response.setStatus(report.getStatus());
+        response.setFilePath(report.getFilePath());
+        response.setFileName(report.getFileName());
+        response.setFileSize(report.getFileSize());
+        response.setStudent(report.getStudent() != null ? UserSummary.from(report.getStudent()) : null);
+        response.setTopic(report.getTopic() != null ? TopicSummary.from(report.getTopic()) : null);
+        response.setSubmittedAt(report.getSubmittedAt());
+        response.setReviewedAt(report.getReviewedAt());
+        response.setCreatedAt(report.getCreatedAt());
+        response.setUpdatedAt(report.getUpdatedAt());
+        response.setReviewerComments(report.getReviewerComments());
+        response.setGrade(report.getGrade());
+        return response;
+    }
+}
@@ -0,0 +1,15 @@
+package com.pfetrack.api.payload.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TopicAllocationResponse {
+    private int pendingApplications;
+    private int students;
+    private int topics;
+    private int approved;
+    private int rejected;
+    private double matchingMillis;
+}
@@ -0,0 +1,35 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.TopicApplication;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class TopicApplicationResponse {
+    private Long id;
+    private UserSummary student;
+    private TopicSummary topic;
+    private String motivation;
+    private Integer preferenceRank;
+    private String status;
+    private LocalDateTime appliedAt;
+    private LocalDateTime reviewedAt;
+    private String reviewerComments;
+
+    public static TopicApplicationResponse from(TopicApplication topicApplication) {
+        TopicApplicationResponse response = new TopicApplicationResponse();
+        response.setId(topicApplication.getId());
+        response.setStudent(topicApplication.getStudent() != null ? UserSummary.from(topicApplication.getStudent()) : null);
+        response.setTopic(topicApplication.getTopic() != null ? TopicSummary.from(topicApplication.getTopic()) : null);
+        response.setMotivation(topicApplication.getMotivation());
+        response.setPreferenceRank(topicApplication.getPreferenceRank());
+        response.setStatus(topicApplication.getStatus());
+        response.setAppliedAt(topicApplication.getAppliedAt());
+        response.setReviewedAt(topicApplication.getReviewedAt());
+        response.setReviewerComments(topicApplication.getReviewerComments());
+        return response;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Topic;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Topics are listed without their applications collection
+@Data
+@NoArgsConstructor
+public class TopicResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private String supervisor;
+    private String department;
+    private String type;
+    private String status;
+    private Integer maxStudents;
+    private Integer currentStudents;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean available;
+
+    public static TopicResponse from(Topic topic) {
+        TopicResponse response = new TopicResponse();
+        response.setId(topic.getId());
+        response.setTitle(topic.getTitle());
+        response.setDescription(topic.getDescription());
+        response.setSupervisor(topic.getSupervisor());
+        response.setDepartment(topic.getDepartment());
+        response.setType(topic.getType());
+        response.setStatus(topic.getStatus());
+        response.setMaxStudents(topic.getMaxStudents());
+        response.setCurrentStudents(topic.getCurrentStudents());
+        response.setCreatedAt(topic.getCreatedAt());
+        response.setUpdatedAt(topic.getUpdatedAt());
+        response.setAvailable(topic.isAvailable());
+        return response;
+    }
+}
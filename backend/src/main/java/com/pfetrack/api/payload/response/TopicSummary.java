@@ -0,0 +1,27 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.Topic;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TopicSummary {
+    private Long id;
+    private String title;
+    private String supervisor;
+    private String department;
+    private String type;
+    private String status;
+
+    public static TopicSummary from(Topic topic) {
+        TopicSummary response = new TopicSummary();
+        response.setId(topic.getId());
+        response.setTitle(topic.getTitle());
+        response.setSupervisor(topic.getSupervisor());
+        response.setDepartment(topic.getDepartment());
+        response.setType(topic.getType());
+        response.setStatus(topic.getStatus());
+        return response;
+    }
+}
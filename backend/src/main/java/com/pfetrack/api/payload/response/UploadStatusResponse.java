@@ -0,0 +1,12 @@
+package com.pfetrack.api.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UploadStatusResponse {
+    private String uploadId;
+    private long offset;
+    private long totalSize;
+}
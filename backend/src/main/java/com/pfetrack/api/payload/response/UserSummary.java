@@ -0,0 +1,26 @@
+package com.pfetrack.api.payload.response;
+
+import com.pfetrack.api.model.User;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Nested user in list responses: no password hash, and no roles so listing never touches user_roles
+@Data
+@NoArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String username;
+    private String email;
+
+    public static UserSummary from(User user) {
+        UserSummary response = new UserSummary();
+        response.setId(user.getId());
+        response.setFirstName(user.getFirstName());
+        response.setLastName(user.getLastName());
+        response.setUsername(user.getUsername());
+        response.setEmail(user.getEmail());
+        return response;
+    }
+}
@@ -0,0 +1,59 @@
+package com.pfetrack.api.repository;
+
+import com.pfetrack.api.model.AcademicSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AcademicSummaryRepository extends JpaRepository<AcademicSummary, Long> {
+    
+    Optional<AcademicSummary> findByStudentIdAndSemester(Long studentId, String semester);
+    
+    List<AcademicSummary> findByStudentIdOrderBySemester(Long studentId);
+    
+    Window<AcademicSummary> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    interface StudentGpa {
+        Long getStudentId();
+        Double getGpa();
+    }
+    
+    // Same formula as AcademicSummary.getGpa, for every student at once
+    @Query("SELECT s.studentId AS studentId, CASE WHEN s.weightedCredits > 0 THEN s.weightedGradeSum / s.weightedCredits " +
+           "WHEN s.gradeCount > 0 THEN s.gradeSum / s.gradeCount ELSE 0.0 END AS gpa " +
+           "FROM AcademicSummary s WHERE s.semester = '*'")
+    List<StudentGpa> findOverallGpas();
+    
+    // Applied in the database so concurrent grade changes for the same student can't lose updates.
+    // The explicit casts keep Hibernate from rendering an unsized float cast that H2 rejects.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AcademicSummary s SET " +
+           "s.weightedGradeSum = s.weightedGradeSum + CAST(:weightedGradeSum AS double), " +
+           "s.weightedCredits = s.weightedCredits + :weightedCredits, " +
+           "s.gradeSum = s.gradeSum + CAST(:gradeSum AS double), " +
+           "s.gradeCount = s.gradeCount + :gradeCount, " +
+           "s.creditsEarned = s.creditsEarned + :creditsEarned, " +
+           "s.passedCount = s.passedCount + :passedCount, " +
+           "s.failedCount = s.failedCount + :failedCount, " +
+           "s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.studentId = :studentId AND s.semester = :semester")
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("semester") String semester,
+                   @Param("weightedGradeSum") double weightedGradeSum,
+                   @Param("weightedCredits") long weightedCredits,
+                   @Param("gradeSum") double gradeSum,
+                   @Param("gradeCount") long gradeCount,
+                   @Param("creditsEarned") long creditsEarned,
+                   @Param("passedCount") long passedCount,
+                   @Param("failedCount") long failedCount);
+}
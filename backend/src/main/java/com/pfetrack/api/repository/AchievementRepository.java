@@ -2,62 +2,93 @@ package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.Achievement;
 import com.pfetrack.api.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AchievementRepository extends JpaRepository<Achievement, Long> {
+public interface AchievementRepository extends JpaRepository<Achievement, Long>, JpaSpecificationExecutor<Achievement> {
     
-    List<Achievement> findByStudent(User student);
+    // Inherited lookups used by list and search endpoints, with the same fetch plan
+    @Override
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findAll(Pageable pageable);
     
-    List<Achievement> findByStudentId(Long studentId);
+    @Override
+    @EntityGraph("Achievement.list")
+    List<Achievement> findAllById(Iterable<Long> ids);
     
-    List<Achievement> findByType(String type);
+    @Override
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findAll(Specification<Achievement> spec, Pageable pageable);
     
-    List<Achievement> findByCategory(String category);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudent(User student, Pageable pageable);
     
-    List<Achievement> findByStatus(String status);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudentId(Long studentId, Pageable pageable);
     
-    List<Achievement> findByStudentAndType(User student, String type);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByType(String type, Pageable pageable);
     
-    List<Achievement> findByStudentAndStatus(User student, String status);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByCategory(String category, Pageable pageable);
     
-    List<Achievement> findByStudentAndIsPublic(User student, Boolean isPublic);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStatus(String status, Pageable pageable);
     
-    List<Achievement> findByStudentOrderByAchievementDateDesc(User student);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudentAndType(User student, String type, Pageable pageable);
     
-    List<Achievement> findByStudentAndTypeOrderByAchievementDateDesc(User student, String type);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudentAndStatus(User student, String status, Pageable pageable);
     
-    List<Achievement> findByStudentAndCategoryOrderByAchievementDateDesc(User student, String category);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudentAndIsPublic(User student, Boolean isPublic, Pageable pageable);
     
-    List<Achievement> findByTypeOrderByAchievementDateDesc(String type);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudentOrderByAchievementDateDesc(User student, Pageable pageable);
     
-    List<Achievement> findByCategoryOrderByAchievementDateDesc(String category);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudentAndTypeOrderByAchievementDateDesc(User student, String type, Pageable pageable);
     
-    @Query("SELECT a FROM Achievement a WHERE a.student = :student AND " +
-           "(:type IS NULL OR a.type = :type) AND " +
-           "(:status IS NULL OR a.status = :status) AND " +
-           "(:category IS NULL OR a.category = :category) AND " +
-           "(:isPublic IS NULL OR a.isPublic = :isPublic)")
-    List<Achievement> findAchievementsWithFilters(@Param("student") User student,
-                                                 @Param("type") String type,
-                                                 @Param("status") String status,
-                                                 @Param("category") String category,
-                                                 @Param("isPublic") Boolean isPublic);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByStudentAndCategoryOrderByAchievementDateDesc(User student, String category, Pageable pageable);
+    
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByTypeOrderByAchievementDateDesc(String type, Pageable pageable);
+    
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByCategoryOrderByAchievementDateDesc(String category, Pageable pageable);
     
     @Query("SELECT a FROM Achievement a WHERE a.student = :student AND a.achievementDate >= :startDate ORDER BY a.achievementDate DESC")
-    List<Achievement> findRecentAchievements(@Param("student") User student, @Param("startDate") LocalDate startDate);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findRecentAchievements(@Param("student") User student, @Param("startDate") LocalDate startDate, Pageable pageable);
     
     @Query("SELECT a FROM Achievement a WHERE a.student = :student ORDER BY a.achievementDate DESC")
-    List<Achievement> findRecentAchievementsByStudent(@Param("student") User student);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findRecentAchievementsByStudent(@Param("student") User student, Pageable pageable);
     
     @Query("SELECT a FROM Achievement a WHERE a.student = :student AND a.status = 'Verified' ORDER BY a.achievementDate DESC")
-    List<Achievement> findVerifiedAchievementsByStudent(@Param("student") User student);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findVerifiedAchievementsByStudent(@Param("student") User student, Pageable pageable);
     
     @Query("SELECT SUM(a.pointsAwarded) FROM Achievement a WHERE a.student = :student AND a.status = 'Verified'")
     Integer getTotalPointsByStudent(@Param("student") User student);
@@ -66,24 +97,40 @@ public interface AchievementRepository extends JpaRepository<Achievement, Long>
     Long countByStudentAndType(@Param("student") User student, @Param("type") String type);
     
     @Query("SELECT a FROM Achievement a WHERE a.achievementDate BETWEEN :startDate AND :endDate")
-    List<Achievement> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
     
     @Query("SELECT a FROM Achievement a WHERE a.expiryDate IS NOT NULL AND a.expiryDate < :currentDate")
-    List<Achievement> findExpiredAchievements(@Param("currentDate") LocalDate currentDate);
-    
-    @Query("SELECT a FROM Achievement a WHERE " +
-           "a.title LIKE %:keyword% OR " +
-           "a.description LIKE %:keyword% OR " +
-           "a.issuingOrganization LIKE %:keyword% OR " +
-           "a.category LIKE %:keyword%")
-    List<Achievement> searchAchievements(@Param("keyword") String keyword);
-    
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findExpiredAchievements(@Param("currentDate") LocalDate currentDate, Pageable pageable);
+    
+    // Served from the query cache until the table changes
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+    })
     @Query("SELECT DISTINCT a.type FROM Achievement a ORDER BY a.type")
     List<String> findAllTypes();
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+    })
     @Query("SELECT DISTINCT a.category FROM Achievement a ORDER BY a.category")
     List<String> findAllCategories();
     
     @Query("SELECT a FROM Achievement a WHERE a.isPublic = true AND a.status = 'Verified' ORDER BY a.achievementDate DESC")
-    List<Achievement> findPublicAchievements();
-}
\ No newline at end of file
+    @EntityGraph("Achievement.list")
+    Page<Achievement> findPublicAchievements(Pageable pageable);
+    
+    @EntityGraph("Achievement.list")
+    Window<Achievement> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    // Export cursor: rows are fetched in batches of 500 and never snapshotted for dirty checking
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Achievement a ORDER BY a.id")
+    Stream<Achievement> streamAllForExport();
+}
@@ -3,66 +3,122 @@ package com.pfetrack.api.repository;
 import com.pfetrack.api.model.Event;
 import com.pfetrack.api.model.User;
 import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.notification.Reminder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
+import java.time.LocalDate;
+
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+    
+    // Inherited lookups used by list and search endpoints, with the same fetch plan
+    @Override
+    @EntityGraph("Event.list")
+    Page<Event> findAll(Pageable pageable);
     
-    List<Event> findByStudent(User student);
+    @Override
+    @EntityGraph("Event.list")
+    List<Event> findAllById(Iterable<Long> ids);
     
-    List<Event> findByTopic(Topic topic);
+    @Override
+    @EntityGraph("Event.list")
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
     
-    List<Event> findByType(String type);
+    @EntityGraph("Event.list")
+    Page<Event> findByStudent(User student, Pageable pageable);
     
-    List<Event> findByStatus(String status);
+    long countByStudent(User student);
     
-    List<Event> findByEventDate(LocalDate eventDate);
+    @EntityGraph("Event.list")
+    Page<Event> findByTopic(Topic topic, Pageable pageable);
     
-    List<Event> findByStudentAndType(User student, String type);
+    @EntityGraph("Event.list")
+    Page<Event> findByType(String type, Pageable pageable);
     
-    List<Event> findByStudentAndStatus(User student, String status);
+    @EntityGraph("Event.list")
+    Page<Event> findByStatus(String status, Pageable pageable);
     
-    List<Event> findByStudentAndEventDate(User student, LocalDate eventDate);
+    @EntityGraph("Event.list")
+    Page<Event> findByEventDate(LocalDate eventDate, Pageable pageable);
+    
+    @EntityGraph("Event.list")
+    Page<Event> findByStudentAndType(User student, String type, Pageable pageable);
+    
+    @EntityGraph("Event.list")
+    Page<Event> findByStudentAndStatus(User student, String status, Pageable pageable);
+    
+    @EntityGraph("Event.list")
+    Page<Event> findByStudentAndEventDate(User student, LocalDate eventDate, Pageable pageable);
     
     @Query("SELECT e FROM Event e WHERE e.student = :student AND e.eventDate >= :startDate AND e.eventDate <= :endDate")
-    List<Event> findByStudentAndDateRange(@Param("student") User student, 
+    @EntityGraph("Event.list")
+    Page<Event> findByStudentAndDateRange(@Param("student") User student, 
                                          @Param("startDate") LocalDate startDate, 
-                                         @Param("endDate") LocalDate endDate);
+                                         @Param("endDate") LocalDate endDate,
+                                         Pageable pageable);
     
     @Query("SELECT e FROM Event e WHERE (e.student = :student OR e.isPublic = true) AND e.eventDate >= :startDate AND e.eventDate <= :endDate")
-    List<Event> findByStudentOrPublicAndDateRange(@Param("student") User student, 
+    @EntityGraph("Event.list")
+    Page<Event> findByStudentOrPublicAndDateRange(@Param("student") User student, 
                                                  @Param("startDate") LocalDate startDate, 
-                                                 @Param("endDate") LocalDate endDate);
+                                                 @Param("endDate") LocalDate endDate,
+                                                 Pageable pageable);
     
     @Query("SELECT e FROM Event e WHERE (e.student = :student OR e.isPublic = true) AND e.eventDate >= CURRENT_DATE ORDER BY e.eventDate ASC, e.eventTime ASC")
-    List<Event> findUpcomingEventsByStudentOrPublic(@Param("student") User student);
+    @EntityGraph("Event.list")
+    Page<Event> findUpcomingEventsByStudentOrPublic(@Param("student") User student, Pageable pageable);
     
     @Query("SELECT e FROM Event e WHERE e.student = :student AND e.eventDate >= CURRENT_DATE ORDER BY e.eventDate ASC, e.eventTime ASC")
-    List<Event> findUpcomingEventsByStudent(@Param("student") User student);
-    
-    @Query("SELECT e FROM Event e WHERE (e.student = :student OR e.isPublic = true) AND " +
-           "(:type IS NULL OR e.type = :type) AND " +
-           "(:status IS NULL OR e.status = :status) AND " +
-           "e.eventDate >= :startDate AND e.eventDate <= :endDate " +
-           "ORDER BY e.eventDate ASC, e.eventTime ASC")
-    List<Event> findEventsWithFilters(@Param("student") User student,
-                                     @Param("type") String type,
-                                     @Param("status") String status,
-                                     @Param("startDate") LocalDate startDate,
-                                     @Param("endDate") LocalDate endDate);
+    @EntityGraph("Event.list")
+    Page<Event> findUpcomingEventsByStudent(@Param("student") User student, Pageable pageable);
     
     @Query("SELECT e FROM Event e WHERE e.isPublic = true AND e.eventDate >= CURRENT_DATE ORDER BY e.eventDate ASC, e.eventTime ASC")
-    List<Event> findPublicUpcomingEvents();
+    @EntityGraph("Event.list")
+    Page<Event> findPublicUpcomingEvents(Pageable pageable);
     
     @Query("SELECT e FROM Event e WHERE e.eventDate = CURRENT_DATE AND e.reminderSent = false")
-    List<Event> findTodayEventsWithoutReminder();
+    @EntityGraph("Event.list")
+    Page<Event> findTodayEventsWithoutReminder(Pageable pageable);
     
     @Query("SELECT COUNT(e) FROM Event e WHERE e.student = :student AND e.type = :type AND e.eventDate >= CURRENT_DATE")
     long countUpcomingEventsByStudentAndType(@Param("student") User student, @Param("type") String type);
-}
\ No newline at end of file
+    
+    interface EventStatistics {
+        long getTotalEvents();
+        long getUpcomingExams();
+        long getUpcomingPfeEvents();
+        long getUpcomingMeetings();
+    }
+    
+    // All per-student counters in one pass over the student's events
+    @Query("SELECT COUNT(e) AS totalEvents, " +
+           "COALESCE(SUM(CASE WHEN e.type = 'exam' AND e.eventDate >= CURRENT_DATE THEN 1 ELSE 0 END), 0) AS upcomingExams, " +
+           "COALESCE(SUM(CASE WHEN e.type = 'pfe' AND e.eventDate >= CURRENT_DATE THEN 1 ELSE 0 END), 0) AS upcomingPfeEvents, " +
+           "COALESCE(SUM(CASE WHEN e.type = 'meeting' AND e.eventDate >= CURRENT_DATE THEN 1 ELSE 0 END), 0) AS upcomingMeetings " +
+           "FROM Event e WHERE e.student.id = :studentId")
+    EventStatistics getStatisticsByStudentId(@Param("studentId") Long studentId);
+    
+    // Events on one day still owing their student a reminder, in id order after afterId (keyset batches over
+    // idx_events_date_reminder); public events without a student and cancelled events are left out
+    @Query("SELECT new com.pfetrack.api.notification.Reminder('event', e.id, e.student.id, e.title, e.type, e.eventDate, e.eventTime) " +
+           "FROM Event e WHERE e.eventDate = :date AND e.reminderSent = false AND e.student IS NOT NULL " +
+           "AND (e.status IS NULL OR e.status <> 'cancelled') AND e.id > :afterId ORDER BY e.id")
+    List<Reminder> findReminderBatch(@Param("date") LocalDate date, @Param("afterId") long afterId, Pageable pageable);
+    
+    // Only flips rows still unsent, so the count tells how many reminders this call actually recorded
+    @Modifying
+    @Query("UPDATE Event e SET e.reminderSent = true WHERE e.id IN :ids AND e.reminderSent = false")
+    int markRemindersSent(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,87 @@
+package com.pfetrack.api.repository;
+
+import com.pfetrack.api.model.Achievement;
+import com.pfetrack.api.model.Event;
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.model.Project;
+import com.pfetrack.api.model.Report;
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Optional-filter queries for the list endpoints. Only the filters the caller actually supplied become predicates,
+// so every combination gets its own SQL and an index-friendly plan, unlike the old (:x IS NULL OR col = :x) queries
+// where one plan had to serve every combination.
+public final class FilterSpecifications {
+
+    private FilterSpecifications() {
+    }
+
+    public static Specification<Report> reports(User student, String type, String status) {
+        return Specification.<Report>where(equal("student", student))
+                .and(equal("type", type))
+                .and(equal("status", status));
+    }
+
+    public static Specification<Topic> topics(String department, String type, String status) {
+        return Specification.<Topic>where(equal("department", department))
+                .and(equal("type", type))
+                .and(equal("status", status));
+    }
+
+    // The student's own events plus public ones, always within the date range
+    public static Specification<Event> events(User student, String type, String status,
+                                              LocalDate startDate, LocalDate endDate) {
+        Specification<Event> visible = (root, query, cb) ->
+                cb.or(cb.equal(root.get("student"), student), cb.isTrue(root.get("isPublic")));
+        return Specification.where(visible)
+                .and(between("eventDate", startDate, endDate))
+                .and(equal("type", type))
+                .and(equal("status", status));
+    }
+
+    public static Specification<Grade> grades(User student, String semester, String academicYear,
+                                              String evaluationType, Boolean isPublished) {
+        return Specification.<Grade>where(equal("student", student))
+                .and(equal("isPublished", isPublished))
+                .and(equal("semester", semester))
+                .and(equal("academicYear", academicYear))
+                .and(equal("evaluationType", evaluationType));
+    }
+
+    public static Specification<Project> projects(User student, String status, String type, String currentPhase) {
+        return Specification.<Project>where(equal("student", student))
+                .and(equal("status", status))
+                .and(equal("type", type))
+                .and(equal("currentPhase", currentPhase));
+    }
+
+    public static Specification<Achievement> achievements(User student, String type, String status,
+                                                          String category, Boolean isPublic) {
+        return Specification.<Achievement>where(equal("student", student))
+                .and(equal("status", status))
+                .and(equal("type", type))
+                .and(equal("category", category))
+                .and(equal("isPublic", isPublic));
+    }
+
+    // Restricts any of the above to a set of ids, for filtering search hits
+    public static <T> Specification<T> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Null means "no filter": Specification.and() skips null specifications
+    private static <T> Specification<T> equal(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static <T> Specification<T> between(String attribute, LocalDate from, LocalDate to) {
+        return (root, query, cb) -> cb.between(root.get(attribute), from, to);
+    }
+}
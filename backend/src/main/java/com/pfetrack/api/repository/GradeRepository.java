@@ -2,78 +2,97 @@ package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.Grade;
 import com.pfetrack.api.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface GradeRepository extends JpaRepository<Grade, Long> {
+public interface GradeRepository extends JpaRepository<Grade, Long>, JpaSpecificationExecutor<Grade> {
     
-    List<Grade> findByStudent(User student);
+    // Inherited lookups used by list and search endpoints, with the same fetch plan
+    @Override
+    @EntityGraph("Grade.list")
+    Page<Grade> findAll(Pageable pageable);
     
-    List<Grade> findByStudentId(Long studentId);
+    @Override
+    @EntityGraph("Grade.list")
+    List<Grade> findAllById(Iterable<Long> ids);
     
-    List<Grade> findByStudentAndSemester(User student, String semester);
+    @Override
+    @EntityGraph("Grade.list")
+    Page<Grade> findAll(Specification<Grade> spec, Pageable pageable);
     
-    List<Grade> findByStudentAndAcademicYear(User student, String academicYear);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudent(User student, Pageable pageable);
     
-    List<Grade> findByStudentAndEvaluationType(User student, String evaluationType);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentId(Long studentId, Pageable pageable);
     
-    List<Grade> findByStudentAndIsPublished(User student, Boolean isPublished);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndSemester(User student, String semester, Pageable pageable);
     
-    List<Grade> findByStudentAndIsPublishedOrderByEvaluationDateDesc(User student, Boolean isPublished);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndAcademicYear(User student, String academicYear, Pageable pageable);
     
-    List<Grade> findByStudentAndSemesterAndIsPublishedOrderByEvaluationDateDesc(User student, String semester, Boolean isPublished);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndEvaluationType(User student, String evaluationType, Pageable pageable);
     
-    List<Grade> findByStudentAndAcademicYearAndIsPublishedOrderByEvaluationDateDesc(User student, String academicYear, Boolean isPublished);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndIsPublished(User student, Boolean isPublished, Pageable pageable);
     
-    List<Grade> findByStudentOrderByEvaluationDateDesc(User student);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndIsPublishedOrderByEvaluationDateDesc(User student, Boolean isPublished, Pageable pageable);
     
-    List<Grade> findBySemesterOrderByEvaluationDateDesc(String semester);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndSemesterAndIsPublishedOrderByEvaluationDateDesc(User student, String semester, Boolean isPublished, Pageable pageable);
     
-    List<Grade> findBySubjectNameOrderByEvaluationDateDesc(String subjectName);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndAcademicYearAndIsPublishedOrderByEvaluationDateDesc(User student, String academicYear, Boolean isPublished, Pageable pageable);
     
-    List<Grade> findBySubjectCode(String subjectCode);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentOrderByEvaluationDateDesc(User student, Pageable pageable);
     
-    List<Grade> findByProfessor(String professor);
+    @EntityGraph("Grade.list")
+    Page<Grade> findBySemesterOrderByEvaluationDateDesc(String semester, Pageable pageable);
     
-    @Query("SELECT g FROM Grade g WHERE g.student = :student AND " +
-           "(:semester IS NULL OR g.semester = :semester) AND " +
-           "(:academicYear IS NULL OR g.academicYear = :academicYear) AND " +
-           "(:evaluationType IS NULL OR g.evaluationType = :evaluationType) AND " +
-           "(:isPublished IS NULL OR g.isPublished = :isPublished)")
-    List<Grade> findGradesWithFilters(@Param("student") User student,
-                                     @Param("semester") String semester,
-                                     @Param("academicYear") String academicYear,
-                                     @Param("evaluationType") String evaluationType,
-                                     @Param("isPublished") Boolean isPublished);
+    @EntityGraph("Grade.list")
+    Page<Grade> findBySubjectNameOrderByEvaluationDateDesc(String subjectName, Pageable pageable);
     
-    @Query("SELECT AVG(g.gradeValue) FROM Grade g WHERE g.student = :student AND g.isPublished = true")
-    Double getAverageGradeByStudent(@Param("student") User student);
+    @EntityGraph("Grade.list")
+    Page<Grade> findBySubjectCode(String subjectCode, Pageable pageable);
     
-    @Query("SELECT AVG(g.gradeValue) FROM Grade g WHERE g.student = :student AND g.semester = :semester AND g.isPublished = true")
-    Double getAverageGradeBySemester(@Param("student") User student, @Param("semester") String semester);
-    
-    @Query("SELECT SUM(g.credits) FROM Grade g WHERE g.student = :student AND g.gradeValue >= 10.0 AND g.isPublished = true")
-    Integer getTotalCreditsEarned(@Param("student") User student);
-    
-    @Query("SELECT COUNT(g) FROM Grade g WHERE g.student = :student AND g.gradeValue >= 10.0 AND g.isPublished = true")
-    Long getPassedSubjectsCount(@Param("student") User student);
-    
-    @Query("SELECT COUNT(g) FROM Grade g WHERE g.student = :student AND g.gradeValue < 10.0 AND g.isPublished = true")
-    Long getFailedSubjectsCount(@Param("student") User student);
+    @EntityGraph("Grade.list")
+    Page<Grade> findByProfessor(String professor, Pageable pageable);
     
     @Query("SELECT g FROM Grade g WHERE g.student = :student AND g.evaluationDate BETWEEN :startDate AND :endDate")
-    List<Grade> findByStudentAndDateRange(@Param("student") User student,
+    @EntityGraph("Grade.list")
+    Page<Grade> findByStudentAndDateRange(@Param("student") User student,
                                          @Param("startDate") LocalDate startDate,
-                                         @Param("endDate") LocalDate endDate);
+                                         @Param("endDate") LocalDate endDate,
+                                         Pageable pageable);
     
     @Query("SELECT g FROM Grade g WHERE g.student = :student AND g.isPublished = true ORDER BY g.evaluationDate DESC")
-    List<Grade> findRecentGradesByStudent(@Param("student") User student);
+    @EntityGraph("Grade.list")
+    Page<Grade> findRecentGradesByStudent(@Param("student") User student, Pageable pageable);
     
     @Query("SELECT DISTINCT g.semester FROM Grade g WHERE g.student = :student ORDER BY g.semester")
     List<String> findSemestersByStudent(@Param("student") User student);
@@ -85,8 +104,63 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
            "g.subjectName LIKE %:keyword% OR " +
            "g.subjectCode LIKE %:keyword% OR " +
            "g.professor LIKE %:keyword%")
-    List<Grade> searchGrades(@Param("keyword") String keyword);
-    
-    @Query("SELECT AVG(g.gradeValue) FROM Grade g WHERE g.student = :student AND g.isPublished = true")
-    Double calculateGPAByStudent(@Param("student") User student);
-}
\ No newline at end of file
+    @EntityGraph("Grade.list")
+    Page<Grade> searchGrades(@Param("keyword") String keyword, Pageable pageable);
+    
+    @EntityGraph("Grade.list")
+    Window<Grade> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    // Export cursor: rows are fetched in batches of 500 and never snapshotted for dirty checking
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g FROM Grade g ORDER BY g.id")
+    Stream<Grade> streamAllForExport();
+    
+    interface SemesterTotals {
+        Long getStudentId();
+        String getSemester();
+        Double getWeightedGradeSum();
+        Long getWeightedCredits();
+        Double getGradeSum();
+        Long getGradeCount();
+        Long getCreditsEarned();
+        Long getPassedCount();
+        Long getFailedCount();
+    }
+    
+    // Recomputes academic_summaries from scratch; must agree with AcademicSummaryService.Contribution.of
+    @Query("SELECT g.student.id AS studentId, COALESCE(g.semester, '') AS semester, " +
+           "SUM(CASE WHEN g.credits > 0 THEN g.gradeValue * g.credits ELSE 0 END) AS weightedGradeSum, " +
+           "SUM(CASE WHEN g.credits > 0 THEN g.credits ELSE 0 END) AS weightedCredits, " +
+           "SUM(g.gradeValue) AS gradeSum, COUNT(g) AS gradeCount, " +
+           "SUM(CASE WHEN g.gradeValue >= 10.0 AND g.credits > 0 THEN g.credits ELSE 0 END) AS creditsEarned, " +
+           "SUM(CASE WHEN g.gradeValue >= 10.0 THEN 1 ELSE 0 END) AS passedCount, " +
+           "SUM(CASE WHEN g.gradeValue < 10.0 THEN 1 ELSE 0 END) AS failedCount " +
+           "FROM Grade g WHERE g.isPublished = true AND g.gradeValue IS NOT NULL " +
+           "GROUP BY g.student.id, COALESCE(g.semester, '')")
+    List<SemesterTotals> computeSemesterTotals();
+    
+    // What publishing a subject's grades for a semester adds to each student's summary, computed before the UPDATE
+    @Query("SELECT g.student.id AS studentId, COALESCE(g.semester, '') AS semester, " +
+           "SUM(CASE WHEN g.credits > 0 THEN g.gradeValue * g.credits ELSE 0 END) AS weightedGradeSum, " +
+           "SUM(CASE WHEN g.credits > 0 THEN g.credits ELSE 0 END) AS weightedCredits, " +
+           "SUM(g.gradeValue) AS gradeSum, COUNT(g) AS gradeCount, " +
+           "SUM(CASE WHEN g.gradeValue >= 10.0 AND g.credits > 0 THEN g.credits ELSE 0 END) AS creditsEarned, " +
+           "SUM(CASE WHEN g.gradeValue >= 10.0 THEN 1 ELSE 0 END) AS passedCount, " +
+           "SUM(CASE WHEN g.gradeValue < 10.0 THEN 1 ELSE 0 END) AS failedCount " +
+           "FROM Grade g WHERE g.subjectName = :subjectName AND g.semester = :semester " +
+           "AND (g.isPublished = false OR g.isPublished IS NULL) AND g.gradeValue IS NOT NULL " +
+           "GROUP BY g.student.id, COALESCE(g.semester, '')")
+    List<SemesterTotals> computeUnpublishedTotals(@Param("subjectName") String subjectName,
+                                                  @Param("semester") String semester);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Grade g SET g.isPublished = true, g.updatedAt = :now " +
+           "WHERE g.subjectName = :subjectName AND g.semester = :semester " +
+           "AND (g.isPublished = false OR g.isPublished IS NULL)")
+    int publishBySubjectAndSemester(@Param("subjectName") String subjectName,
+                                    @Param("semester") String semester,
+                                    @Param("now") LocalDateTime now);
+}
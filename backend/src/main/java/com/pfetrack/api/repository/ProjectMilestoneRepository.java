@@ -2,48 +2,83 @@ package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.Project;
 import com.pfetrack.api.model.ProjectMilestone;
+import com.pfetrack.api.notification.Reminder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProjectMilestoneRepository extends JpaRepository<ProjectMilestone, Long> {
     
-    List<ProjectMilestone> findByProject(Project project);
+    // Inherited lookups used by list and search endpoints, with the same fetch plan
+    @Override
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findAll(Pageable pageable);
     
-    List<ProjectMilestone> findByProjectId(Long projectId);
+    @Override
+    @EntityGraph("ProjectMilestone.list")
+    List<ProjectMilestone> findAllById(Iterable<Long> ids);
     
-    List<ProjectMilestone> findByStatus(String status);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByProject(Project project, Pageable pageable);
     
-    List<ProjectMilestone> findByPriority(String priority);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByProjectId(Long projectId, Pageable pageable);
     
-    List<ProjectMilestone> findByProjectAndStatus(Project project, String status);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByStatus(String status, Pageable pageable);
     
-    List<ProjectMilestone> findByProjectOrderByOrderIndexAsc(Project project);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByPriority(String priority, Pageable pageable);
     
-    List<ProjectMilestone> findByProjectOrderByDueDateAsc(Project project);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByProjectAndStatus(Project project, String status, Pageable pageable);
+    
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByProjectOrderByOrderIndexAsc(Project project, Pageable pageable);
+    
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByProjectOrderByDueDateAsc(Project project, Pageable pageable);
     
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.project = :project AND " +
            "(:status IS NULL OR pm.status = :status) AND " +
            "(:priority IS NULL OR pm.priority = :priority)")
-    List<ProjectMilestone> findMilestonesWithFilters(@Param("project") Project project,
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findMilestonesWithFilters(@Param("project") Project project,
                                                     @Param("status") String status,
-                                                    @Param("priority") String priority);
+                                                    @Param("priority") String priority,
+                                                    Pageable pageable);
     
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.dueDate < :currentDate AND pm.status != 'Completed'")
-    List<ProjectMilestone> findOverdueMilestones(@Param("currentDate") LocalDate currentDate);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findOverdueMilestones(@Param("currentDate") LocalDate currentDate, Pageable pageable);
     
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.dueDate BETWEEN :startDate AND :endDate")
-    List<ProjectMilestone> findMilestonesDueSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findMilestonesDueSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
     
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.project.student.id = :studentId AND pm.dueDate BETWEEN :startDate AND :endDate")
-    List<ProjectMilestone> findByStudentAndDateRange(@Param("studentId") Long studentId,
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findByStudentAndDateRange(@Param("studentId") Long studentId,
                                                     @Param("startDate") LocalDate startDate,
-                                                    @Param("endDate") LocalDate endDate);
+                                                    @Param("endDate") LocalDate endDate,
+                                                    Pageable pageable);
     
     @Query("SELECT AVG(pm.progressPercentage) FROM ProjectMilestone pm WHERE pm.project = :project")
     Double getAverageProgressByProject(@Param("project") Project project);
@@ -55,22 +90,58 @@ public interface ProjectMilestoneRepository extends JpaRepository<ProjectMilesto
     Long countTotalMilestonesByProject(@Param("project") Project project);
     
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.project = :project AND pm.status = 'In Progress'")
-    List<ProjectMilestone> findInProgressMilestonesByProject(@Param("project") Project project);
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findInProgressMilestonesByProject(@Param("project") Project project, Pageable pageable);
     
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.project = :project AND pm.status = 'Pending' ORDER BY pm.dueDate ASC")
-    List<ProjectMilestone> findUpcomingMilestonesByProject(@Param("project") Project project);
-    
-    @Query("SELECT pm FROM ProjectMilestone pm WHERE " +
-           "pm.title LIKE %:keyword% OR " +
-           "pm.description LIKE %:keyword%")
-    List<ProjectMilestone> searchMilestones(@Param("keyword") String keyword);
-    
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findUpcomingMilestonesByProject(@Param("project") Project project, Pageable pageable);
+    
+    // Served from the query cache until the table changes
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+    })
     @Query("SELECT DISTINCT pm.status FROM ProjectMilestone pm ORDER BY pm.status")
     List<String> findAllStatuses();
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+    })
     @Query("SELECT DISTINCT pm.priority FROM ProjectMilestone pm ORDER BY pm.priority")
     List<String> findAllPriorities();
     
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.project.student.id = :studentId AND pm.status != 'Completed' ORDER BY pm.dueDate ASC")
-    List<ProjectMilestone> findUpcomingMilestonesByStudent(@Param("studentId") Long studentId);
-}
\ No newline at end of file
+    @EntityGraph("ProjectMilestone.list")
+    Page<ProjectMilestone> findUpcomingMilestonesByStudent(@Param("studentId") Long studentId, Pageable pageable);
+    
+    @EntityGraph("ProjectMilestone.list")
+    Window<ProjectMilestone> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    interface ProjectProgress {
+        Long getProjectId();
+        String getProjectTitle();
+        long getTotalMilestones();
+        long getCompletedMilestones();
+        Double getAverageProgress();
+    }
+    
+    // Progress and completion of every project of a student, grouped in one query; projects without milestones are included
+    @Query("SELECT p.id AS projectId, p.title AS projectTitle, COUNT(pm) AS totalMilestones, " +
+           "COALESCE(SUM(CASE WHEN pm.status = 'Completed' THEN 1 ELSE 0 END), 0) AS completedMilestones, " +
+           "AVG(pm.progressPercentage) AS averageProgress " +
+           "FROM Project p LEFT JOIN ProjectMilestone pm ON pm.project = p " +
+           "WHERE p.student.id = :studentId GROUP BY p.id, p.title ORDER BY p.id")
+    List<ProjectProgress> getProgressByStudentId(@Param("studentId") Long studentId);
+    
+    // Open milestones due on one day still owing their project's student a reminder, in id order after afterId
+    @Query("SELECT new com.pfetrack.api.notification.Reminder('milestone', m.id, m.project.student.id, m.title, 'milestone', m.dueDate) " +
+           "FROM ProjectMilestone m WHERE m.dueDate = :date AND m.reminderSent = false " +
+           "AND (m.status IS NULL OR m.status <> 'Completed') AND m.id > :afterId ORDER BY m.id")
+    List<Reminder> findReminderBatch(@Param("date") LocalDate date, @Param("afterId") long afterId, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE ProjectMilestone m SET m.reminderSent = true WHERE m.id IN :ids AND m.reminderSent = false")
+    int markRemindersSent(@Param("ids") Collection<Long> ids);
+}
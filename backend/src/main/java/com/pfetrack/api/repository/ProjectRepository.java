@@ -2,46 +2,71 @@ package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.Project;
 import com.pfetrack.api.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
     
-    List<Project> findByStudent(User student);
+    // Inherited lookups used by list and search endpoints, with the same fetch plan
+    @Override
+    @EntityGraph("Project.list")
+    Page<Project> findAll(Pageable pageable);
     
-    Optional<Project> findByStudentAndStatus(User student, String status);
+    @Override
+    @EntityGraph("Project.list")
+    List<Project> findAllById(Iterable<Long> ids);
+    
+    @Override
+    @EntityGraph("Project.list")
+    Page<Project> findAll(Specification<Project> spec, Pageable pageable);
+    
+    @EntityGraph("Project.list")
+    Page<Project> findByStudent(User student, Pageable pageable);
     
-    List<Project> findByStatus(String status);
+    Optional<Project> findByStudentAndStatus(User student, String status);
     
-    List<Project> findByType(String type);
+    @EntityGraph("Project.list")
+    Page<Project> findByStatus(String status, Pageable pageable);
     
-    List<Project> findByDepartment(String department);
+    @EntityGraph("Project.list")
+    Page<Project> findByType(String type, Pageable pageable);
     
-    List<Project> findBySupervisor(String supervisor);
+    @EntityGraph("Project.list")
+    Page<Project> findByDepartment(String department, Pageable pageable);
     
-    List<Project> findByCurrentPhase(String currentPhase);
+    @EntityGraph("Project.list")
+    Page<Project> findBySupervisor(String supervisor, Pageable pageable);
     
-    @Query("SELECT p FROM Project p WHERE p.student = :student AND " +
-           "(:status IS NULL OR p.status = :status) AND " +
-           "(:type IS NULL OR p.type = :type) AND " +
-           "(:currentPhase IS NULL OR p.currentPhase = :currentPhase)")
-    List<Project> findProjectsWithFilters(@Param("student") User student,
-                                         @Param("status") String status,
-                                         @Param("type") String type,
-                                         @Param("currentPhase") String currentPhase);
+    @EntityGraph("Project.list")
+    Page<Project> findByCurrentPhase(String currentPhase, Pageable pageable);
     
     @Query("SELECT p FROM Project p WHERE p.status = 'Active' AND p.expectedCompletionDate < :currentDate")
-    List<Project> findOverdueProjects(@Param("currentDate") LocalDate currentDate);
+    @EntityGraph("Project.list")
+    Page<Project> findOverdueProjects(@Param("currentDate") LocalDate currentDate, Pageable pageable);
     
     @Query("SELECT p FROM Project p WHERE p.status = 'Active' AND p.expectedCompletionDate BETWEEN :startDate AND :endDate")
-    List<Project> findProjectsDueSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @EntityGraph("Project.list")
+    Page<Project> findProjectsDueSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
     
     @Query("SELECT AVG(p.progressPercentage) FROM Project p WHERE p.status = 'Active'")
     Double getAverageProgressPercentage();
@@ -56,21 +81,25 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Long countByDepartment(@Param("department") String department);
     
     @Query("SELECT p FROM Project p WHERE p.startDate BETWEEN :startDate AND :endDate")
-    List<Project> findByStartDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @EntityGraph("Project.list")
+    Page<Project> findByStartDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
     
     @Query("SELECT p FROM Project p WHERE p.endDate BETWEEN :startDate AND :endDate")
-    List<Project> findByEndDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-    
-    @Query("SELECT p FROM Project p WHERE " +
-           "p.title LIKE %:keyword% OR " +
-           "p.description LIKE %:keyword% OR " +
-           "p.supervisor LIKE %:keyword% OR " +
-           "p.department LIKE %:keyword%")
-    List<Project> searchProjects(@Param("keyword") String keyword);
-    
+    @EntityGraph("Project.list")
+    Page<Project> findByEndDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
+    
+    // Served from the query cache until the table changes
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+    })
     @Query("SELECT DISTINCT p.currentPhase FROM Project p WHERE p.status = 'Active' ORDER BY p.currentPhase")
     List<String> findAllActivePhases();
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+    })
     @Query("SELECT DISTINCT p.department FROM Project p ORDER BY p.department")
     List<String> findAllDepartments();
     
@@ -78,8 +107,21 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Optional<Project> findActiveProjectByStudent(@Param("student") User student);
     
     @Query("SELECT p FROM Project p WHERE p.presentationDate = :date")
-    List<Project> findByPresentationDate(@Param("date") LocalDate date);
+    @EntityGraph("Project.list")
+    Page<Project> findByPresentationDate(@Param("date") LocalDate date, Pageable pageable);
     
     @Query("SELECT p FROM Project p WHERE p.finalGrade IS NOT NULL ORDER BY p.finalGrade DESC")
-    List<Project> findCompletedProjectsOrderByGrade();
-}
\ No newline at end of file
+    @EntityGraph("Project.list")
+    Page<Project> findCompletedProjectsOrderByGrade(Pageable pageable);
+    
+    @EntityGraph("Project.list")
+    Window<Project> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    // Export cursor: rows are fetched in batches of 500 and never snapshotted for dirty checking
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Project p ORDER BY p.id")
+    Stream<Project> streamAllForExport();
+}
@@ -3,42 +3,79 @@ package com.pfetrack.api.repository;
 import com.pfetrack.api.model.Report;
 import com.pfetrack.api.model.User;
 import com.pfetrack.api.model.Topic;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReportRepository extends JpaRepository<Report, Long> {
+public interface ReportRepository extends JpaRepository<Report, Long>, JpaSpecificationExecutor<Report> {
     
-    List<Report> findByStudent(User student);
+    // Inherited lookups used by list and search endpoints, with the same fetch plan
+    @Override
+    @EntityGraph("Report.list")
+    Page<Report> findAll(Pageable pageable);
     
-    List<Report> findByTopic(Topic topic);
+    @Override
+    @EntityGraph("Report.list")
+    List<Report> findAllById(Iterable<Long> ids);
     
-    List<Report> findByStatus(String status);
+    @Override
+    @EntityGraph("Report.list")
+    Page<Report> findAll(Specification<Report> spec, Pageable pageable);
     
-    List<Report> findByType(String type);
+    @EntityGraph("Report.list")
+    Page<Report> findByStudent(User student, Pageable pageable);
     
-    List<Report> findByStudentAndStatus(User student, String status);
+    @EntityGraph("Report.list")
+    Page<Report> findByTopic(Topic topic, Pageable pageable);
     
-    List<Report> findByStudentAndType(User student, String type);
+    @EntityGraph("Report.list")
+    Page<Report> findByStatus(String status, Pageable pageable);
     
-    @Query("SELECT r FROM Report r WHERE r.student = :student AND " +
-           "(:keyword IS NULL OR r.title LIKE %:keyword% OR r.description LIKE %:keyword%) AND " +
-           "(:type IS NULL OR r.type = :type) AND " +
-           "(:status IS NULL OR r.status = :status)")
-    List<Report> findReportsWithFilters(@Param("student") User student,
-                                       @Param("keyword") String keyword,
-                                       @Param("type") String type,
-                                       @Param("status") String status);
+    @EntityGraph("Report.list")
+    Page<Report> findByType(String type, Pageable pageable);
     
-    @Query("SELECT r FROM Report r WHERE " +
-           "(:keyword IS NULL OR r.title LIKE %:keyword% OR r.description LIKE %:keyword%) AND " +
-           "(:type IS NULL OR r.type = :type) AND " +
-           "(:status IS NULL OR r.status = :status)")
-    List<Report> findAllReportsWithFilters(@Param("keyword") String keyword,
-                                          @Param("type") String type,
-                                          @Param("status") String status);
-}
\ No newline at end of file
+    @EntityGraph("Report.list")
+    Page<Report> findByStudentAndStatus(User student, String status, Pageable pageable);
+    
+    @EntityGraph("Report.list")
+    Page<Report> findByStudentAndType(User student, String type, Pageable pageable);
+    
+    @EntityGraph("Report.list")
+    Window<Report> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    // Export cursor: rows are fetched in batches of 500 and never snapshotted for dirty checking
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Report r ORDER BY r.id")
+    Stream<Report> streamAllForExport();
+    
+    long countByFilePath(String filePath);
+    
+    // Blob references end with the blob's sha256, whatever the upload directory was called when they were written
+    long countByFilePathEndingWith(String suffix);
+    
+    @Query("SELECT DISTINCT r.filePath FROM Report r WHERE r.filePath IS NOT NULL")
+    List<String> findDistinctFilePaths();
+    
+    @Query("SELECT r.id FROM Report r WHERE r.filePath IS NOT NULL AND r.filePath NOT LIKE CONCAT(:prefix, '%') ORDER BY r.id")
+    List<Long> findIdsWithFilePathNotStartingWith(@Param("prefix") String prefix);
+}
@@ -0,0 +1,14 @@
+package com.pfetrack.api.repository;
+
+import com.pfetrack.api.model.ReportUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReportUploadRepository extends JpaRepository<ReportUpload, String> {
+
+    List<ReportUpload> findByCreatedAtBefore(LocalDateTime cutoff);
+}
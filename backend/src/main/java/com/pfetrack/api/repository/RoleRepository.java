@@ -2,12 +2,20 @@ package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.ERole;
 import com.pfetrack.api.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Looked up on every sign-up; roles never change after startup
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role-lookups")
+    })
     Optional<Role> findByName(ERole name);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.pfetrack.api.repository;
+
+import com.pfetrack.api.model.SchedulerLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Takes the lease if it is free or expired, or extends it if already held; 1 when the caller now owns it
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.expiresAt = :until " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int claim(@Param("name") String name, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // The lease row, locked, while the caller still holds an unexpired lease; claims by other nodes wait on the lock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM SchedulerLease l WHERE l.name = :name AND l.owner = :owner AND l.expiresAt > :now")
+    Optional<SchedulerLease> lockIfHeld(@Param("name") String name, @Param("owner") String owner,
+                                        @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = NULL, l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
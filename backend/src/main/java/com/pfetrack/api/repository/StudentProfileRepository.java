@@ -2,40 +2,59 @@ package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.StudentProfile;
 import com.pfetrack.api.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentProfileRepository extends JpaRepository<StudentProfile, Long> {
     
+    @Override
+    @EntityGraph("StudentProfile.list")
+    Page<StudentProfile> findAll(Pageable pageable);
+    
     Optional<StudentProfile> findByUser(User user);
     
     Optional<StudentProfile> findByUserId(Long userId);
     
     Optional<StudentProfile> findByStudentId(String studentId);
     
-    List<StudentProfile> findByDepartment(String department);
+    @EntityGraph("StudentProfile.list")
+    Page<StudentProfile> findByDepartment(String department, Pageable pageable);
     
-    List<StudentProfile> findByAcademicYear(String academicYear);
+    @EntityGraph("StudentProfile.list")
+    Page<StudentProfile> findByAcademicYear(String academicYear, Pageable pageable);
     
     @Query("SELECT sp FROM StudentProfile sp WHERE sp.gpa >= :minGpa")
-    List<StudentProfile> findByGpaGreaterThanEqual(@Param("minGpa") Double minGpa);
+    @EntityGraph("StudentProfile.list")
+    Page<StudentProfile> findByGpaGreaterThanEqual(@Param("minGpa") Double minGpa, Pageable pageable);
     
     @Query("SELECT sp FROM StudentProfile sp WHERE sp.creditsCompleted >= :minCredits")
-    List<StudentProfile> findByCreditsCompletedGreaterThanEqual(@Param("minCredits") Integer minCredits);
+    @EntityGraph("StudentProfile.list")
+    Page<StudentProfile> findByCreditsCompletedGreaterThanEqual(@Param("minCredits") Integer minCredits, Pageable pageable);
     
     @Query("SELECT sp FROM StudentProfile sp WHERE " +
            "(:department IS NULL OR sp.department = :department) AND " +
            "(:academicYear IS NULL OR sp.academicYear = :academicYear) AND " +
            "(:minGpa IS NULL OR sp.gpa >= :minGpa)")
-    List<StudentProfile> findProfilesWithFilters(@Param("department") String department,
+    @EntityGraph("StudentProfile.list")
+    Page<StudentProfile> findProfilesWithFilters(@Param("department") String department,
                                                 @Param("academicYear") String academicYear,
-                                                @Param("minGpa") Double minGpa);
+                                                @Param("minGpa") Double minGpa,
+                                                Pageable pageable);
     
     @Query("SELECT AVG(sp.gpa) FROM StudentProfile sp WHERE sp.department = :department")
     Double getAverageGpaByDepartment(@Param("department") String department);
@@ -48,5 +67,42 @@ public interface StudentProfileRepository extends JpaRepository<StudentProfile,
            "sp.user.lastName LIKE %:keyword% OR " +
            "sp.studentId LIKE %:keyword% OR " +
            "sp.department LIKE %:keyword%")
-    List<StudentProfile> searchProfiles(@Param("keyword") String keyword);
-}
\ No newline at end of file
+    @EntityGraph("StudentProfile.list")
+    Page<StudentProfile> searchProfiles(@Param("keyword") String keyword, Pageable pageable);
+    
+    @EntityGraph("StudentProfile.list")
+    Window<StudentProfile> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    // Copies GPA and earned credits from the overall academic summary; profiles of students without published grades keep their values
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StudentProfile sp SET " +
+           "sp.gpa = (SELECT CASE WHEN s.weightedCredits > 0 THEN s.weightedGradeSum / s.weightedCredits " +
+           "WHEN s.gradeCount > 0 THEN s.gradeSum / s.gradeCount ELSE 0.0 END " +
+           "FROM AcademicSummary s WHERE s.studentId = sp.user.id AND s.semester = '*'), " +
+           "sp.creditsCompleted = (SELECT CAST(s.creditsEarned AS Integer) FROM AcademicSummary s " +
+           "WHERE s.studentId = sp.user.id AND s.semester = '*') " +
+           "WHERE (:userId IS NULL OR sp.user.id = :userId) AND EXISTS " +
+           "(SELECT 1 FROM AcademicSummary s WHERE s.studentId = sp.user.id AND s.semester = '*')")
+    int syncAcademicTotals(@Param("userId") Long userId);
+    
+    // Set-based variant for bulk grade writes: one statement for every student a batch touched
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StudentProfile sp SET " +
+           "sp.gpa = (SELECT CASE WHEN s.weightedCredits > 0 THEN s.weightedGradeSum / s.weightedCredits " +
+           "WHEN s.gradeCount > 0 THEN s.gradeSum / s.gradeCount ELSE 0.0 END " +
+           "FROM AcademicSummary s WHERE s.studentId = sp.user.id AND s.semester = '*'), " +
+           "sp.creditsCompleted = (SELECT CAST(s.creditsEarned AS Integer) FROM AcademicSummary s " +
+           "WHERE s.studentId = sp.user.id AND s.semester = '*') " +
+           "WHERE sp.user.id IN :userIds AND EXISTS " +
+           "(SELECT 1 FROM AcademicSummary s WHERE s.studentId = sp.user.id AND s.semester = '*')")
+    int syncAcademicTotalsFor(@Param("userIds") Collection<Long> userIds);
+    
+    interface StudentNumber {
+        String getStudentNumber();
+        Long getUserId();
+    }
+    
+    // Student number -> user id for every profile, for resolving the rows of a grade import in memory
+    @Query("SELECT sp.studentId AS studentNumber, sp.user.id AS userId FROM StudentProfile sp WHERE sp.studentId IS NOT NULL")
+    List<StudentNumber> findAllStudentNumbers();
+}
@@ -2,36 +2,52 @@ package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.StudentSettings;
 import com.pfetrack.api.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentSettingsRepository extends JpaRepository<StudentSettings, Long> {
     
+    @Override
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findAll(Pageable pageable);
+    
     Optional<StudentSettings> findByUser(User user);
     
     Optional<StudentSettings> findByUserId(Long userId);
     
-    List<StudentSettings> findByTheme(String theme);
+    List<StudentSettings> findByUserIdIn(Collection<Long> userIds);
+    
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findByTheme(String theme, Pageable pageable);
     
-    List<StudentSettings> findByLanguage(String language);
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findByLanguage(String language, Pageable pageable);
     
     @Query("SELECT ss FROM StudentSettings ss WHERE ss.emailNotifications = true")
-    List<StudentSettings> findUsersWithEmailNotificationsEnabled();
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findUsersWithEmailNotificationsEnabled(Pageable pageable);
     
     @Query("SELECT ss FROM StudentSettings ss WHERE ss.pushNotifications = true")
-    List<StudentSettings> findUsersWithPushNotificationsEnabled();
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findUsersWithPushNotificationsEnabled(Pageable pageable);
     
     @Query("SELECT ss FROM StudentSettings ss WHERE ss.gradeNotifications = true")
-    List<StudentSettings> findUsersWithGradeNotificationsEnabled();
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findUsersWithGradeNotificationsEnabled(Pageable pageable);
     
     @Query("SELECT ss FROM StudentSettings ss WHERE ss.deadlineReminders = true")
-    List<StudentSettings> findUsersWithDeadlineRemindersEnabled();
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findUsersWithDeadlineRemindersEnabled(Pageable pageable);
     
     @Query("SELECT COUNT(ss) FROM StudentSettings ss WHERE ss.theme = :theme")
     Long countByTheme(@Param("theme") String theme);
@@ -43,7 +59,9 @@ public interface StudentSettingsRepository extends JpaRepository<StudentSettings
            "(:theme IS NULL OR ss.theme = :theme) AND " +
            "(:language IS NULL OR ss.language = :language) AND " +
            "(:emailNotifications IS NULL OR ss.emailNotifications = :emailNotifications)")
-    List<StudentSettings> findSettingsWithFilters(@Param("theme") String theme,
+    @EntityGraph("StudentSettings.list")
+    Page<StudentSettings> findSettingsWithFilters(@Param("theme") String theme,
                                                  @Param("language") String language,
-                                                 @Param("emailNotifications") Boolean emailNotifications);
+                                                 @Param("emailNotifications") Boolean emailNotifications,
+                                                 Pageable pageable);
 }
\ No newline at end of file
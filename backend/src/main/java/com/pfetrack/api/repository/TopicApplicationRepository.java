@@ -3,28 +3,93 @@ package com.pfetrack.api.repository;
 import com.pfetrack.api.model.TopicApplication;
 import com.pfetrack.api.model.User;
 import com.pfetrack.api.model.Topic;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TopicApplicationRepository extends JpaRepository<TopicApplication, Long> {
     
-    List<TopicApplication> findByStudent(User student);
+    // Inherited lookups used by list and search endpoints, with the same fetch plan
+    @Override
+    @EntityGraph("TopicApplication.list")
+    Page<TopicApplication> findAll(Pageable pageable);
     
-    List<TopicApplication> findByTopic(Topic topic);
+    @Override
+    @EntityGraph("TopicApplication.list")
+    List<TopicApplication> findAllById(Iterable<Long> ids);
     
-    List<TopicApplication> findByStatus(String status);
+    @EntityGraph("TopicApplication.list")
+    Page<TopicApplication> findByStudent(User student, Pageable pageable);
     
-    List<TopicApplication> findByStudentAndStatus(User student, String status);
+    @EntityGraph("TopicApplication.list")
+    Page<TopicApplication> findByTopic(Topic topic, Pageable pageable);
     
-    List<TopicApplication> findByTopicAndStatus(Topic topic, String status);
+    @EntityGraph("TopicApplication.list")
+    Page<TopicApplication> findByStatus(String status, Pageable pageable);
+    
+    @EntityGraph("TopicApplication.list")
+    Page<TopicApplication> findByStudentAndStatus(User student, String status, Pageable pageable);
+    
+    @EntityGraph("TopicApplication.list")
+    Page<TopicApplication> findByTopicAndStatus(Topic topic, String status, Pageable pageable);
     
     Optional<TopicApplication> findByStudentAndTopic(User student, Topic topic);
     
     boolean existsByStudentAndTopic(User student, Topic topic);
     
     long countByTopicAndStatus(Topic topic, String status);
+    
+    long countByStudentAndStatusAndSeatReservedTrue(User student, String status);
+    
+    interface PendingApplication {
+        Long getId();
+        Long getStudentId();
+        Long getTopicId();
+        Integer getPreferenceRank();
+        LocalDateTime getAppliedAt();
+        Boolean getSeatReserved();
+    }
+    
+    // Input of the batch allocation: ids only, no entities
+    @Query("SELECT a.id AS id, a.student.id AS studentId, a.topic.id AS topicId, " +
+           "a.preferenceRank AS preferenceRank, a.appliedAt AS appliedAt, a.seatReserved AS seatReserved " +
+           "FROM TopicApplication a WHERE a.status = 'Pending'")
+    List<PendingApplication> findAllPending();
+    
+    @Modifying
+    @Query("UPDATE TopicApplication a SET a.status = :status, a.reviewedAt = :reviewedAt " +
+           "WHERE a.id IN :ids AND a.status = 'Pending'")
+    int decidePending(@Param("ids") Collection<Long> ids,
+                      @Param("status") String status,
+                      @Param("reviewedAt") LocalDateTime reviewedAt);
+    
+    // Decides an application only while it still holds its seat
+    @Modifying
+    @Query("UPDATE TopicApplication a SET a.status = :status, a.reviewedAt = :reviewedAt " +
+           "WHERE a.id = :id AND a.status = 'Pending' AND a.seatReserved = true")
+    int decideReserved(@Param("id") Long id,
+                       @Param("status") String status,
+                       @Param("reviewedAt") LocalDateTime reviewedAt);
+    
+    // 1 when the application was pending and held a seat, which is now the caller's to give back to the topic
+    @Modifying
+    @Query("UPDATE TopicApplication a SET a.seatReserved = false " +
+           "WHERE a.id = :id AND a.status = 'Pending' AND a.seatReserved = true")
+    int releaseReservation(@Param("id") Long id);
+    
+    @Query("SELECT a.id AS id, a.student.id AS studentId, a.topic.id AS topicId, " +
+           "a.preferenceRank AS preferenceRank, a.appliedAt AS appliedAt, a.seatReserved AS seatReserved " +
+           "FROM TopicApplication a WHERE a.status = 'Pending' AND a.seatReserved = true AND a.appliedAt < :before")
+    List<PendingApplication> findReservationsAppliedBefore(@Param("before") LocalDateTime before);
 }
\ No newline at end of file
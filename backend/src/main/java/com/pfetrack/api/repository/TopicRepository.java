@@ -1,37 +1,54 @@
 package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.Topic;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface TopicRepository extends JpaRepository<Topic, Long> {
+public interface TopicRepository extends JpaRepository<Topic, Long>, JpaSpecificationExecutor<Topic> {
     
-    List<Topic> findByStatus(String status);
+    Page<Topic> findByStatus(String status, Pageable pageable);
     
-    List<Topic> findByDepartment(String department);
+    Page<Topic> findByDepartment(String department, Pageable pageable);
     
-    List<Topic> findByType(String type);
+    Page<Topic> findByType(String type, Pageable pageable);
     
-    List<Topic> findBySupervisor(String supervisor);
-    
-    @Query("SELECT t FROM Topic t WHERE t.title LIKE %:keyword% OR t.description LIKE %:keyword% OR t.supervisor LIKE %:keyword%")
-    List<Topic> findByKeyword(@Param("keyword") String keyword);
+    Page<Topic> findBySupervisor(String supervisor, Pageable pageable);
     
+    // Cached ids; the topics themselves come from the topics entity region
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "available-topics")
+    })
     @Query("SELECT t FROM Topic t WHERE t.status = 'Available' AND t.currentStudents < t.maxStudents")
-    List<Topic> findAvailableTopics();
-    
-    @Query("SELECT t FROM Topic t WHERE " +
-           "(:keyword IS NULL OR t.title LIKE %:keyword% OR t.description LIKE %:keyword% OR t.supervisor LIKE %:keyword%) AND " +
-           "(:department IS NULL OR t.department = :department) AND " +
-           "(:type IS NULL OR t.type = :type) AND " +
-           "(:status IS NULL OR t.status = :status)")
-    List<Topic> findTopicsWithFilters(@Param("keyword") String keyword,
-                                     @Param("department") String department,
-                                     @Param("type") String type,
-                                     @Param("status") String status);
+    Page<Topic> findAvailableTopics(Pageable pageable);
+    
+    @Query("SELECT COUNT(t) > 0 FROM Topic t " +
+           "WHERE t.id = :id AND t.status = 'Available' AND t.currentStudents < t.maxStudents")
+    boolean isOpen(@Param("id") Long id);
+    
+    // Every topic with pending applications, row-locked in id order: seat claims on them wait until a batch
+    // allocation commits, so its view of the seats cannot go stale while it runs
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Topic t WHERE t.id IN " +
+           "(SELECT a.topic.id FROM TopicApplication a WHERE a.status = 'Pending') ORDER BY t.id")
+    List<Topic> lockTopicsWithPendingApplications();
+    
+    Window<Topic> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
\ No newline at end of file
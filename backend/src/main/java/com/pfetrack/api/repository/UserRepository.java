@@ -1,7 +1,11 @@
 package com.pfetrack.api.repository;
 
 import com.pfetrack.api.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +17,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+    
+    // Serializes work done on behalf of one user, such as a student's topic applications
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
+    
+    interface StudentTotals {
+        Double getGpa();
+        Long getAchievementPoints();
+    }
+    
+    // GPA as derived by AcademicSummary.getGpa; points as in AchievementRepository.getTotalPointsByStudent
+    @Query("SELECT " +
+           "(SELECT CASE WHEN s.weightedCredits > 0 THEN s.weightedGradeSum / s.weightedCredits " +
+           "WHEN s.gradeCount > 0 THEN s.gradeSum / s.gradeCount ELSE 0.0 END " +
+           "FROM AcademicSummary s WHERE s.studentId = u.id AND s.semester = '*') AS gpa, " +
+           "(SELECT SUM(a.pointsAwarded) FROM Achievement a WHERE a.student = u AND a.status = 'Verified') AS achievementPoints " +
+           "FROM User u WHERE u.id = :studentId")
+    Optional<StudentTotals> getStudentTotals(@Param("studentId") Long studentId);
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.pfetrack.api.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Term -> (document id -> weighted term frequency). Terms are kept sorted so prefix lookups are a range scan.
+public class InvertedIndex {
+
+    // BM25-style saturation so a term repeated many times in a description doesn't dominate the title
+    private static final float SATURATION = 1.2f;
+
+    // Matching a longer term through its prefix counts for less than matching the term itself
+    private static final float PREFIX_PENALTY = 0.5f;
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long id, Map<String, Float> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (termWeights.isEmpty()) {
+                return;
+            }
+            documents.put(id, termWeights);
+            termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Map<String, Float> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every query term must match a document term exactly or as a prefix; results are ordered by score
+    public List<Long> search(List<String> queryTerms) {
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            Map<Long, Float> scores = null;
+
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                    Map<Long, Float> docs = entry.getValue();
+                    float idf = (float) Math.log(1.0 + (double) documentCount / docs.size());
+                    float boost = entry.getKey().length() == queryTerm.length() ? 1.0f : PREFIX_PENALTY;
+                    for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+                        float weight = doc.getValue();
+                        float score = idf * boost * weight * (SATURATION + 1) / (weight + SATURATION);
+                        termScores.merge(doc.getKey(), score, Math::max);
+                    }
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Float> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Float> doc : termScores.entrySet()) {
+                        Float score = previous.get(doc.getKey());
+                        if (score != null) {
+                            scores.put(doc.getKey(), score + doc.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Float> entry : ranked) {
+                ids.add(entry.getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
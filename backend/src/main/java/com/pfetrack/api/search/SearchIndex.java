@@ -0,0 +1,196 @@
+package com.pfetrack.api.search;
+
+import com.pfetrack.api.model.Achievement;
+import com.pfetrack.api.model.Project;
+import com.pfetrack.api.model.ProjectMilestone;
+import com.pfetrack.api.model.Report;
+import com.pfetrack.api.model.Topic;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Component
+public class SearchIndex {
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float NAME_WEIGHT = 1.5f;
+    private static final float BODY_WEIGHT = 1.0f;
+
+    private final Map<Class<?>, Function<Object, Map<String, Float>>> extractors = new LinkedHashMap<>();
+    private final Map<Class<?>, Function<Object, Long>> idExtractors = new HashMap<>();
+    private final Map<Class<?>, InvertedIndex> indexes = new ConcurrentHashMap<>();
+
+    // Rebuild in progress per type. Listener updates are applied to the live index and also queued on the builder;
+    // publish() replays them last, so nothing committed during a rebuild is lost at the swap
+    private final Map<Class<?>, IndexBuilder> rebuilding = new HashMap<>();
+
+    public SearchIndex() {
+        register(Topic.class, Topic::getId, (topic, doc) -> doc
+                .add(topic.getTitle(), TITLE_WEIGHT)
+                .add(topic.getSupervisor(), NAME_WEIGHT)
+                .add(topic.getDepartment(), NAME_WEIGHT)
+                .add(topic.getDescription(), BODY_WEIGHT));
+        register(Project.class, Project::getId, (project, doc) -> doc
+                .add(project.getTitle(), TITLE_WEIGHT)
+                .add(project.getSupervisor(), NAME_WEIGHT)
+                .add(project.getDepartment(), NAME_WEIGHT)
+                .add(project.getDescription(), BODY_WEIGHT));
+        register(Report.class, Report::getId, (report, doc) -> doc
+                .add(report.getTitle(), TITLE_WEIGHT)
+                .add(report.getDescription(), BODY_WEIGHT));
+        register(ProjectMilestone.class, ProjectMilestone::getId, (milestone, doc) -> doc
+                .add(milestone.getTitle(), TITLE_WEIGHT)
+                .add(milestone.getDescription(), BODY_WEIGHT));
+        register(Achievement.class, Achievement::getId, (achievement, doc) -> doc
+                .add(achievement.getTitle(), TITLE_WEIGHT)
+                .add(achievement.getIssuingOrganization(), NAME_WEIGHT)
+                .add(achievement.getCategory(), NAME_WEIGHT)
+                .add(achievement.getDescription(), BODY_WEIGHT));
+    }
+
+    private <T> void register(Class<T> type, Function<T, Long> id, DocumentMapper<T> mapper) {
+        extractors.put(type, entity -> {
+            Document document = new Document();
+            mapper.map(type.cast(entity), document);
+            return document.terms;
+        });
+        idExtractors.put(type, entity -> id.apply(type.cast(entity)));
+        indexes.put(type, new InvertedIndex());
+    }
+
+    public boolean supports(Class<?> type) {
+        return extractors.containsKey(type);
+    }
+
+    public Set<Class<?>> indexedTypes() {
+        return Collections.unmodifiableSet(extractors.keySet());
+    }
+
+    public void index(Object entity) {
+        entity = Hibernate.unproxy(entity);
+        Class<?> type = entity.getClass();
+        if (!supports(type)) {
+            return;
+        }
+        Long id = idExtractors.get(type).apply(entity);
+        if (id == null) {
+            return;
+        }
+        Map<String, Float> terms = extractors.get(type).apply(entity);
+        synchronized (rebuilding) {
+            indexes.get(type).put(id, terms);
+            IndexBuilder builder = rebuilding.get(type);
+            if (builder != null) {
+                builder.pending.add(index -> index.put(id, terms));
+            }
+        }
+    }
+
+    public void remove(Object entity) {
+        Class<?> type = Hibernate.getClass(entity);
+        if (!supports(type)) {
+            return;
+        }
+        Long id = idExtractors.get(type).apply(entity);
+        if (id == null) {
+            return;
+        }
+        synchronized (rebuilding) {
+            indexes.get(type).remove(id);
+            IndexBuilder builder = rebuilding.get(type);
+            if (builder != null) {
+                builder.pending.add(index -> index.remove(id));
+            }
+        }
+    }
+
+    public List<Long> search(Class<?> type, String query) {
+        InvertedIndex index = indexes.get(type);
+        if (index == null) {
+            throw new IllegalArgumentException("Type is not indexed: " + type.getSimpleName());
+        }
+        return index.search(SearchTokenizer.tokenize(query));
+    }
+
+    public Long idOf(Object entity) {
+        return idExtractors.get(Hibernate.getClass(entity)).apply(entity);
+    }
+
+    public int size(Class<?> type) {
+        InvertedIndex index = indexes.get(type);
+        return index != null ? index.size() : 0;
+    }
+
+    // Builds a fresh index off to the side, then swaps it in so searches never see a half-built index.
+    // One rebuild per type at a time; the builder must end with publish() or discard()
+    public IndexBuilder rebuild(Class<?> type) {
+        if (!supports(type)) {
+            throw new IllegalArgumentException("Type is not indexed: " + type.getSimpleName());
+        }
+        IndexBuilder builder = new IndexBuilder(type);
+        synchronized (rebuilding) {
+            if (rebuilding.putIfAbsent(type, builder) != null) {
+                throw new IllegalStateException("Index is already being rebuilt: " + type.getSimpleName());
+            }
+        }
+        return builder;
+    }
+
+    public final class IndexBuilder {
+        private final Class<?> type;
+        private final InvertedIndex index = new InvertedIndex();
+        private final List<Consumer<InvertedIndex>> pending = new ArrayList<>();
+
+        private IndexBuilder(Class<?> type) {
+            this.type = type;
+        }
+
+        public void add(Object entity) {
+            Long id = idExtractors.get(type).apply(entity);
+            if (id != null) {
+                index.put(id, extractors.get(type).apply(entity));
+            }
+        }
+
+        public int publish() {
+            synchronized (rebuilding) {
+                pending.forEach(update -> update.accept(index));
+                indexes.put(type, index);
+                rebuilding.remove(type, this);
+            }
+            return index.size();
+        }
+
+        public void discard() {
+            synchronized (rebuilding) {
+                rebuilding.remove(type, this);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentMapper<T> {
+        void map(T entity, Document document);
+    }
+
+    private static final class Document {
+        private final Map<String, Float> terms = new HashMap<>();
+
+        Document add(String text, float weight) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                terms.merge(token, weight, Float::sum);
+            }
+            return this;
+        }
+    }
+}
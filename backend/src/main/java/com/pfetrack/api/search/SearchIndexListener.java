@@ -0,0 +1,39 @@
+package com.pfetrack.api.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Keeps the search index in step with the database; changes are applied only once the transaction commits
+public class SearchIndexListener {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        afterCommit(() -> searchIndex.index(entity));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        afterCommit(() -> searchIndex.remove(entity));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.pfetrack.api.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Lower-cases, folds accents ("Échéance" -> "echeance") and splits on anything that isn't a letter or digit
+public final class SearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            // English
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "with",
+            // French
+            "au", "aux", "ce", "ces", "dans", "de", "des", "du", "en", "est", "et", "la", "le", "les", "ou",
+            "par", "pour", "sur", "un", "une");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (isIndexable(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT)
+                .replace("œ", "oe")
+                .replace("æ", "ae")
+                .replace("ß", "ss");
+        return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static boolean isIndexable(String token) {
+        if (token.isEmpty() || STOP_WORDS.contains(token)) {
+            return false;
+        }
+        // Single letters are mostly French elisions (l', d', s'); single digits still carry meaning
+        return token.length() > 1 || Character.isDigit(token.charAt(0));
+    }
+}
@@ -1,6 +1,10 @@
 package com.pfetrack.api.security.jwt;
 
+import com.pfetrack.api.config.RequestProfile;
+import com.pfetrack.api.security.services.UserDetailsImpl;
 import com.pfetrack.api.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,30 +28,57 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long started = System.nanoTime();
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetailsImpl userDetails = jwt != null ? resolvePrincipal(jwt) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (UsernameNotFoundException e) {
+            // Validly signed token for an account deleted since; the request simply goes on unauthenticated
+            logger.debug("Token user no longer exists: {}", e.getMessage());
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
         }
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.recordAuthentication(System.nanoTime() - started);
+        }
 
         filterChain.doFilter(request, response);
     }
 
+    private UserDetailsImpl resolvePrincipal(String jwt) {
+        UserDetailsImpl cached = principalCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+
+        Jws<Claims> jws = jwtUtils.parseJwtToken(jwt);
+        if (jws == null) {
+            return null;
+        }
+
+        Claims claims = jws.getBody();
+        long generation = principalCache.generation(claims.getSubject());
+        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+        principalCache.put(jwt, userDetails, claims.getExpiration(), jws.getHeader().getKeyId(), generation);
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,167 @@
+package com.pfetrack.api.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pfetrack.api.security.services.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class JwtPrincipalCache {
+
+    private final Cache<String, CachedPrincipal> cache;
+
+    // Cache keys per user id, so evictUser does not have to scan the whole cache
+    private final ConcurrentMap<Long, Set<String>> keysByUser = new ConcurrentHashMap<>();
+
+    // Bumped by every eviction of a username; a principal loaded under an older generation is not cached
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+
+    private final JwtUtils jwtUtils;
+
+    public JwtPrincipalCache(@Value("${jwt.cache.max-size:10000}") long maxSize, JwtUtils jwtUtils) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .evictionListener((String key, CachedPrincipal value, RemovalCause cause) -> unindex(key, value))
+                .recordStats()
+                .build();
+    }
+
+    public CacheStats getStatistics() {
+        return cache.stats();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    public UserDetailsImpl get(String token) {
+        String key = digest(token);
+        CachedPrincipal cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        // Entries never outlive the token itself, nor the key that signed it
+        if (cached.expiresAtMillis <= System.currentTimeMillis() || !jwtUtils.isAcceptedKeyId(cached.keyId)) {
+            cache.invalidate(key);
+            unindex(key, cached);
+            return null;
+        }
+        return cached.userDetails;
+    }
+
+    // Read before loading the user whose principal will be passed to put
+    public long generation(String username) {
+        return generations.getOrDefault(username, 0L);
+    }
+
+    public void put(String token, UserDetailsImpl userDetails, Date expiration, String keyId, long generation) {
+        if (expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        String key = digest(token);
+        CachedPrincipal principal = new CachedPrincipal(userDetails, expiration.getTime(), keyId);
+        keysByUser.computeIfAbsent(userDetails.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+        cache.put(key, principal);
+        // Checked after the put: an eviction either sees the key or has already bumped the generation
+        if (generation(userDetails.getUsername()) != generation) {
+            cache.invalidate(key);
+            unindex(key, principal);
+        }
+    }
+
+    // Inside a transaction the entries go once it commits, so a concurrent request cannot cache the user as it
+    // was before the change after the eviction
+    public void evictUser(Long userId, String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId, username);
+                }
+            });
+        } else {
+            evictNow(userId, username);
+        }
+    }
+
+    private void evictNow(Long userId, String username) {
+        generations.merge(username, 1L, Long::sum);
+        Set<String> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        keysByUser.clear();
+    }
+
+    private void unindex(String key, CachedPrincipal value) {
+        if (value != null) {
+            keysByUser.computeIfPresent(value.userDetails.getId(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static long remainingNanos(CachedPrincipal value) {
+        long remainingMillis = value.expiresAtMillis - System.currentTimeMillis();
+        return Math.max(0L, remainingMillis) * 1_000_000L;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetailsImpl userDetails;
+        private final long expiresAtMillis;
+        private final String keyId;
+
+        private CachedPrincipal(UserDetailsImpl userDetails, long expiresAtMillis, String keyId) {
+            this.userDetails = userDetails;
+            this.expiresAtMillis = expiresAtMillis;
+            this.keyId = keyId;
+        }
+    }
+}
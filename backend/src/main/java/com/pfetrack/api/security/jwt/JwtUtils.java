@@ -4,59 +4,178 @@ import com.pfetrack.api.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public enum ValidationOutcome {
+        VALID,
+        EXPIRED,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID_SIGNATURE,
+        EMPTY
+    }
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${jwt.key-id:primary}")
+    private String jwtKeyId;
+
+    // Keys still accepted for verification during a rotation, as "kid:base64Secret" pairs
+    @Value("${jwt.previous-secrets:}")
+    private String[] previousSecrets;
+
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    private Key signingKey;
+
+    private Map<String, Key> verificationKeys;
+
+    private JwtParser parser;
+
+    private final Map<ValidationOutcome, LongAdder> outcomeCounters = new EnumMap<>(ValidationOutcome.class);
+
+    public JwtUtils() {
+        for (ValidationOutcome outcome : ValidationOutcome.values()) {
+            outcomeCounters.put(outcome, new LongAdder());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        Map<String, Key> keys = new HashMap<>();
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        keys.put(jwtKeyId, signingKey);
+
+        if (previousSecrets != null) {
+            for (String entry : previousSecrets) {
+                if (!StringUtils.hasText(entry)) {
+                    continue;
+                }
+                int separator = entry.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalStateException("jwt.previous-secrets entries must be formatted as kid:secret");
+                }
+                String kid = entry.substring(0, separator).trim();
+                String secret = entry.substring(separator + 1).trim();
+                keys.putIfAbsent(kid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)));
+            }
+        }
+        verificationKeys = Collections.unmodifiableMap(keys);
+
+        // JwtParser is immutable and thread-safe, so a single instance serves every request
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    // The adapter declares a raw JwsHeader, and an override has to match it
+                    @Override
+                    @SuppressWarnings("rawtypes")
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    // Whether tokens signed under this key id still verify; kid is null for tokens issued before key ids
+    public boolean isAcceptedKeyId(String kid) {
+        return kid == null || verificationKeys.containsKey(kid);
+    }
+
+    private Key resolveKey(String kid) {
+        // Tokens issued before key ids were introduced carry no kid header
+        if (kid == null) {
+            return signingKey;
+        }
+        Key key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + kid);
+        }
+        return key;
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
+        Date now = new Date();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeyId)
                 .setSubject((userPrincipal.getUsername()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return getClaimsFromJwtToken(authToken) != null;
+    }
+
+    public Claims getClaimsFromJwtToken(String authToken) {
+        Jws<Claims> jws = parseJwtToken(authToken);
+        return jws != null ? jws.getBody() : null;
+    }
+
+    // Verified header and claims, or null when the token is rejected
+    public Jws<Claims> parseJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            Jws<Claims> jws = parser.parseClaimsJws(authToken);
+            record(ValidationOutcome.VALID);
+            return jws;
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            record(ValidationOutcome.EXPIRED);
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            record(ValidationOutcome.UNSUPPORTED);
+            logger.debug("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            record(ValidationOutcome.INVALID_SIGNATURE);
+            logger.debug("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            record(ValidationOutcome.EMPTY);
+            logger.debug("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            record(ValidationOutcome.MALFORMED);
+            logger.debug("Invalid JWT token: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private void record(ValidationOutcome outcome) {
+        outcomeCounters.get(outcome).increment();
+    }
+
+    public long getValidationCount(ValidationOutcome outcome) {
+        return outcomeCounters.get(outcome).sum();
+    }
+
+    public Map<ValidationOutcome, Long> getValidationCounts() {
+        Map<ValidationOutcome, Long> counts = new EnumMap<>(ValidationOutcome.class);
+        outcomeCounters.forEach((outcome, counter) -> counts.put(outcome, counter.sum()));
+        return counts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,292 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.AcademicSummary;
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.repository.AcademicSummaryRepository;
+import com.pfetrack.api.repository.GradeRepository;
+import com.pfetrack.api.repository.StudentProfileRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Maintains academic_summaries: grade writes apply their delta in the same transaction, and a periodic
+// reconciliation recomputes everything from the grades table to repair any drift
+@Service
+public class AcademicSummaryService {
+    private static final Logger logger = LoggerFactory.getLogger(AcademicSummaryService.class);
+
+    private static final double TOLERANCE = 1e-9;
+    private static final int RECONCILE_BATCH_SIZE = 500;
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
+    // What one grade adds to its student's totals; null for grades that don't count (unpublished or ungraded)
+    public record Contribution(Long studentId, String semester, double weightedGradeSum, long weightedCredits,
+                               double gradeSum, long gradeCount, long creditsEarned, long passedCount, long failedCount) {
+
+        public static Contribution of(Grade grade) {
+            if (!Boolean.TRUE.equals(grade.getIsPublished()) || grade.getGradeValue() == null || grade.getStudent() == null) {
+                return null;
+            }
+            double value = grade.getGradeValue();
+            long credits = grade.getCredits() != null && grade.getCredits() > 0 ? grade.getCredits() : 0;
+            boolean passed = value >= 10.0;
+            return new Contribution(grade.getStudent().getId(), semesterKey(grade.getSemester()),
+                    value * credits, credits, value, 1, passed ? credits : 0, passed ? 1 : 0, passed ? 0 : 1);
+        }
+
+        public static Contribution of(GradeRepository.SemesterTotals totals) {
+            return new Contribution(totals.getStudentId(), totals.getSemester(), totals.getWeightedGradeSum(),
+                    totals.getWeightedCredits(), totals.getGradeSum(), totals.getGradeCount(),
+                    totals.getCreditsEarned(), totals.getPassedCount(), totals.getFailedCount());
+        }
+
+        private Contribution plus(Contribution other) {
+            return new Contribution(studentId, semester, weightedGradeSum + other.weightedGradeSum,
+                    weightedCredits + other.weightedCredits, gradeSum + other.gradeSum, gradeCount + other.gradeCount,
+                    creditsEarned + other.creditsEarned, passedCount + other.passedCount, failedCount + other.failedCount);
+        }
+
+        private Contribution negate() {
+            return new Contribution(studentId, semester, -weightedGradeSum, -weightedCredits,
+                    -gradeSum, -gradeCount, -creditsEarned, -passedCount, -failedCount);
+        }
+    }
+
+    @Autowired
+    private AcademicSummaryRepository academicSummaryRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Creates missing summary rows in their own short transaction, see addTo
+    private final TransactionTemplate rowTemplate;
+
+    public AcademicSummaryService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowTemplate = new TransactionTemplate(transactionManager);
+        this.rowTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static String semesterKey(String semester) {
+        return semester != null ? semester : "";
+    }
+
+    public Optional<AcademicSummary> getOverall(Long studentId) {
+        return academicSummaryRepository.findByStudentIdAndSemester(studentId, AcademicSummary.OVERALL);
+    }
+
+    public Optional<AcademicSummary> getSemester(Long studentId, String semester) {
+        return academicSummaryRepository.findByStudentIdAndSemester(studentId, semesterKey(semester));
+    }
+
+    public List<AcademicSummary> getAll(Long studentId) {
+        return academicSummaryRepository.findByStudentIdOrderBySemester(studentId);
+    }
+
+    // Called with the grade's contribution before and after the change, inside the transaction that changes it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Contribution before, Contribution after) {
+        if (before == null && after == null || before != null && before.equals(after)) {
+            return;
+        }
+        if (before != null) {
+            add(before.negate());
+        }
+        if (after != null) {
+            add(after);
+        }
+        if (before != null) {
+            studentProfileRepository.syncAcademicTotals(before.studentId());
+        }
+        if (after != null && (before == null || !after.studentId().equals(before.studentId()))) {
+            studentProfileRepository.syncAcademicTotals(after.studentId());
+        }
+    }
+
+    // Bulk form of apply(null, c) for imports and bulk publishing: contributions are merged per student and
+    // semester first, so each summary row is updated once and the profiles are synced in a single statement
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(Collection<Contribution> added) {
+        Map<String, Contribution> merged = new LinkedHashMap<>();
+        for (Contribution contribution : added) {
+            if (contribution != null) {
+                merged.merge(key(contribution.studentId(), contribution.semester()), contribution, Contribution::plus);
+            }
+        }
+        if (merged.isEmpty()) {
+            return;
+        }
+        Set<Long> students = new HashSet<>();
+        for (Contribution contribution : merged.values()) {
+            add(contribution);
+            students.add(contribution.studentId());
+        }
+        studentProfileRepository.syncAcademicTotalsFor(students);
+    }
+
+    private void add(Contribution delta) {
+        addTo(delta.semester(), delta);
+        addTo(AcademicSummary.OVERALL, delta);
+    }
+
+    // The delta is always an UPDATE. A missing row is first created empty in a separate transaction that commits
+    // at once; when two first grades race, one insert hits the unique key and that writer just retries its UPDATE
+    // against the other's row, instead of failing the grade write
+    private void addTo(String semester, Contribution delta) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            int updated = academicSummaryRepository.applyDelta(delta.studentId(), semester,
+                    delta.weightedGradeSum(), delta.weightedCredits(), delta.gradeSum(), delta.gradeCount(),
+                    delta.creditsEarned(), delta.passedCount(), delta.failedCount());
+            if (updated > 0) {
+                return;
+            }
+            createEmptyRow(delta.studentId(), semester);
+        }
+        throw new IllegalStateException("Could not create academic summary for student " + delta.studentId()
+                + ", semester " + semester);
+    }
+
+    private void createEmptyRow(Long studentId, String semester) {
+        try {
+            rowTemplate.executeWithoutResult(status -> {
+                AcademicSummary summary = new AcademicSummary();
+                summary.setStudentId(studentId);
+                summary.setSemester(semester);
+                academicSummaryRepository.saveAndFlush(summary);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently; the retried UPDATE applies to that row
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${app.academic-summary.reconcile-cron:0 30 3 * * *}")
+    public void reconcileScheduled() {
+        reconcile();
+    }
+
+    public int reconcile() {
+        Integer corrected = transactionTemplate.execute(status -> reconcileAll());
+        if (corrected != null && corrected > 0) {
+            logger.info("Academic summary reconciliation corrected {} rows", corrected);
+        }
+        return corrected != null ? corrected : 0;
+    }
+
+    private int reconcileAll() {
+        Map<String, AcademicSummary> expected = new HashMap<>();
+        for (GradeRepository.SemesterTotals totals : gradeRepository.computeSemesterTotals()) {
+            accumulate(expected, totals.getStudentId(), totals.getSemester(), totals);
+            accumulate(expected, totals.getStudentId(), AcademicSummary.OVERALL, totals);
+        }
+
+        // Existing rows are walked in id order, one batch in the persistence context at a time
+        int corrected = 0;
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<AcademicSummary> window;
+        do {
+            window = academicSummaryRepository.findAllBy(position, BY_ID, Limit.of(RECONCILE_BATCH_SIZE));
+            if (window.isEmpty()) {
+                break;
+            }
+            for (AcademicSummary current : window) {
+                AcademicSummary target = expected.remove(key(current.getStudentId(), current.getSemester()));
+                if (target == null) {
+                    academicSummaryRepository.delete(current);
+                    corrected++;
+                } else if (!matches(current, target)) {
+                    copy(target.getWeightedGradeSum(), target.getWeightedCredits(), target.getGradeSum(), target.getGradeCount(),
+                            target.getCreditsEarned(), target.getPassedCount(), target.getFailedCount(), current);
+                    corrected++;
+                }
+            }
+            position = window.positionAt(window.size() - 1);
+            entityManager.flush();
+            entityManager.clear();
+        } while (window.hasNext());
+        academicSummaryRepository.saveAll(expected.values());
+        corrected += expected.size();
+
+        studentProfileRepository.syncAcademicTotals(null);
+        return corrected;
+    }
+
+    private static void accumulate(Map<String, AcademicSummary> expected, Long studentId, String semester,
+                                   GradeRepository.SemesterTotals totals) {
+        AcademicSummary summary = expected.computeIfAbsent(key(studentId, semester), k -> {
+            AcademicSummary created = new AcademicSummary();
+            created.setStudentId(studentId);
+            created.setSemester(semester);
+            return created;
+        });
+        copy(summary.getWeightedGradeSum() + totals.getWeightedGradeSum(),
+                summary.getWeightedCredits() + totals.getWeightedCredits(),
+                summary.getGradeSum() + totals.getGradeSum(),
+                summary.getGradeCount() + totals.getGradeCount(),
+                summary.getCreditsEarned() + totals.getCreditsEarned(),
+                summary.getPassedCount() + totals.getPassedCount(),
+                summary.getFailedCount() + totals.getFailedCount(), summary);
+    }
+
+    private static String key(Long studentId, String semester) {
+        return studentId + "|" + semester;
+    }
+
+    private static boolean matches(AcademicSummary a, AcademicSummary b) {
+        return Math.abs(a.getWeightedGradeSum() - b.getWeightedGradeSum()) < TOLERANCE
+                && a.getWeightedCredits() == b.getWeightedCredits()
+                && Math.abs(a.getGradeSum() - b.getGradeSum()) < TOLERANCE
+                && a.getGradeCount() == b.getGradeCount()
+                && a.getCreditsEarned() == b.getCreditsEarned()
+                && a.getPassedCount() == b.getPassedCount()
+                && a.getFailedCount() == b.getFailedCount();
+    }
+
+    private static void copy(double weightedGradeSum, long weightedCredits, double gradeSum, long gradeCount,
+                             long creditsEarned, long passedCount, long failedCount, AcademicSummary target) {
+        target.setWeightedGradeSum(weightedGradeSum);
+        target.setWeightedCredits(weightedCredits);
+        target.setGradeSum(gradeSum);
+        target.setGradeCount(gradeCount);
+        target.setCreditsEarned(creditsEarned);
+        target.setPassedCount(passedCount);
+        target.setFailedCount(failedCount);
+    }
+}
@@ -0,0 +1,86 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.Report;
+import com.pfetrack.api.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// One-off migration of files saved under uploads/<type>/UUID_name into the blob store.
+// Run once with --app.blobs.migrate=true; reports already pointing at blobs are left alone, so re-running is safe.
+@Component
+@ConditionalOnProperty(name = "app.blobs.migrate", havingValue = "true")
+public class BlobMigrationRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BlobMigrationRunner.class);
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int migrated = 0;
+        int missing = 0;
+        int failed = 0;
+        long reclaimedBytes = 0;
+
+        for (Long id : reportRepository.findIdsWithFilePathNotStartingWith(blobStore.root().toString())) {
+            Report report = reportRepository.findById(id).orElse(null);
+            if (report == null) {
+                continue;
+            }
+            // Already a blob, stored under another spelling of the upload directory; migrating it again would
+            // delete the blob as if it were the legacy copy
+            if (blobStore.isBlobPath(report.getFilePath())) {
+                continue;
+            }
+            Path legacyFile = Paths.get(report.getFilePath());
+            if (!Files.isRegularFile(legacyFile)) {
+                logger.warn("Report {} points at missing file {}", id, legacyFile);
+                missing++;
+                continue;
+            }
+
+            try {
+                BlobStore.StoredBlob blob;
+                try (InputStream in = Files.newInputStream(legacyFile)) {
+                    blob = blobStore.store(in);
+                }
+                report.setFilePath(blob.path().toString());
+                report.setFileSize(blob.size());
+                reportRepository.save(report);
+                migrated++;
+
+                // Legacy names are unique per upload, but check anyway before removing the original
+                if (reportRepository.countByFilePath(legacyFile.toString()) == 0) {
+                    fileDownloadService.evict(legacyFile);
+                    if (blobStore.referenceCount(blob.sha256()) > 1) {
+                        reclaimedBytes += blob.size();
+                    }
+                    Files.deleteIfExists(legacyFile);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not migrate file of report {}: {}", id, e.getMessage());
+                failed++;
+            }
+        }
+
+        logger.info("Blob migration finished: {} migrated, {} missing, {} failed, {} bytes reclaimed by deduplication",
+                migrated, missing, failed, reclaimedBytes);
+    }
+}
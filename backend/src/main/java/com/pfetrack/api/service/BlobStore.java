@@ -0,0 +1,247 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.repository.ReportRepository;
+import com.pfetrack.api.util.TransferCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Content-addressed file storage: every distinct file is stored once under blobs/ab/cd/<sha256>.
+// Reports reference blobs through Report.filePath; blobs nobody references are removed by the sweep.
+// References are matched on the hash in the file name, never on the whole path, so a Report.filePath written
+// under another spelling of app.upload.dir (relative, absolute, through a symlink) still counts.
+@Service
+public class BlobStore {
+    private static final Logger logger = LoggerFactory.getLogger(BlobStore.class);
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public record StoredBlob(String sha256, Path path, long size) {
+    }
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.blobs.gc-grace-minutes:60}")
+    private long gcGraceMinutes;
+
+    // Streamed stores: multipart report uploads, and legacy files when app.blobs.migrate is on
+    private final TransferCounter streamed = new TransferCounter();
+
+    // Held while a blob is created or reused, and by the sweep from its last check to the delete, so a blob
+    // handed out by commit() cannot be removed by a sweep that looked at it just before
+    private final Object storeLock = new Object();
+
+    public Path root() {
+        return Paths.get(uploadDir, "blobs");
+    }
+
+    // Recognised by layout (blobs/ab/cd/<sha256>) rather than by the configured root
+    public boolean isBlobPath(String filePath) {
+        return filePath != null && hashOf(filePath) != null;
+    }
+
+    // The sha256 a Report.filePath points at, or null if it is not a blob path
+    public static String hashOf(String filePath) {
+        Path path = Paths.get(filePath).normalize();
+        if (path.getNameCount() < 4) {
+            return null;
+        }
+        String sha256 = path.getFileName().toString();
+        int count = path.getNameCount();
+        if (!SHA256_HEX.matcher(sha256).matches()
+                || !path.getName(count - 2).toString().equals(sha256.substring(2, 4))
+                || !path.getName(count - 3).toString().equals(sha256.substring(0, 2))
+                || !path.getName(count - 4).toString().equals("blobs")) {
+            return null;
+        }
+        return sha256;
+    }
+
+    public Path pathFor(String sha256) {
+        return root().resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    // Hashes while copying into a temp file, then either keeps it as a new blob or drops it as a duplicate
+    public StoredBlob store(InputStream content) throws IOException {
+        long started = System.nanoTime();
+        Path temp = tempFile();
+        MessageDigest digest = sha256Digest();
+        long size = 0;
+        try {
+            try (FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(content);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            StoredBlob blob = commit(temp, HexFormat.of().formatHex(digest.digest()), size);
+            streamed.record(size, System.nanoTime() - started);
+            return blob;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // For files whose hash is already known (a verified chunked upload, a migrated legacy file); the file is consumed
+    public StoredBlob adopt(Path file, String sha256) throws IOException {
+        try {
+            return commit(file, sha256.toLowerCase(), Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Like adopt, but the file stays where it is: the blob is a hard link to it, or a copy where links are not
+    // supported. For callers that may still need the file if their transaction rolls back
+    public StoredBlob link(Path file, String sha256) throws IOException {
+        Path temp = root().resolve(".tmp").resolve(UUID.randomUUID().toString());
+        Files.createDirectories(temp.getParent());
+        try {
+            try {
+                Files.createLink(temp, file);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(file, temp);
+            }
+            return commit(temp, sha256.toLowerCase(), Files.size(temp));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private StoredBlob commit(Path file, String sha256, long size) throws IOException {
+        Path blob = pathFor(sha256);
+        synchronized (storeLock) {
+            if (Files.exists(blob)) {
+                // Refresh the mtime so the sweep keeps the blob for another grace period
+                Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+                return new StoredBlob(sha256, blob, size);
+            }
+
+            Files.createDirectories(blob.getParent());
+            try {
+                Files.move(file, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content stored concurrently; either copy is fine
+            }
+            return new StoredBlob(sha256, blob, size);
+        }
+    }
+
+    public TransferCounter getStreamedTransfers() {
+        return streamed;
+    }
+
+    public long referenceCount(String sha256) {
+        return reportRepository.countByFilePathEndingWith(sha256);
+    }
+
+    // Blobs younger than the grace period are skipped: they may belong to an upload whose Report isn't committed yet.
+    // Candidates are checked again under the store lock, against their mtime and the database, right before deletion
+    @Scheduled(initialDelayString = "${app.blobs.gc-interval-ms:3600000}", fixedDelayString = "${app.blobs.gc-interval-ms:3600000}")
+    public int collectGarbage() {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+
+        FileTime cutoff = FileTime.fromMillis(System.currentTimeMillis() - Duration.ofMinutes(gcGraceMinutes).toMillis());
+        Set<String> referenced = new HashSet<>();
+        for (String filePath : reportRepository.findDistinctFilePaths()) {
+            String sha256 = hashOf(filePath);
+            if (sha256 != null) {
+                referenced.add(sha256);
+            }
+        }
+        int removed = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path blob : (Iterable<Path>) files::iterator) {
+                String sha256 = blob.getFileName().toString();
+                if (!Files.isRegularFile(blob) || !SHA256_HEX.matcher(sha256).matches() || referenced.contains(sha256)
+                        || Files.getLastModifiedTime(blob).compareTo(cutoff) > 0) {
+                    continue;
+                }
+                synchronized (storeLock) {
+                    if (Files.getLastModifiedTime(blob).compareTo(cutoff) > 0 || referenceCount(sha256) > 0) {
+                        continue;
+                    }
+                    fileDownloadService.evict(blob);
+                    Files.deleteIfExists(blob);
+                }
+                removed++;
+            }
+        } catch (IOException e) {
+            logger.warn("Blob garbage collection stopped early: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            logger.info("Blob garbage collection removed {} unreferenced blobs", removed);
+        }
+        return removed;
+    }
+
+    private Path tempFile() throws IOException {
+        Path dir = root().resolve(".tmp");
+        Files.createDirectories(dir);
+        return Files.createFile(dir.resolve(UUID.randomUUID().toString()));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256Digest();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,78 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.payload.response.DashboardResponse;
+import com.pfetrack.api.repository.EventRepository;
+import com.pfetrack.api.repository.ProjectMilestoneRepository;
+import com.pfetrack.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Everything the student dashboard shows, from three grouped aggregate queries that run concurrently
+@Service
+public class DashboardService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ProjectMilestoneRepository projectMilestoneRepository;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    // Empty when the student doesn't exist
+    public Optional<DashboardResponse> getStudentDashboard(Long studentId) {
+        CompletableFuture<Optional<UserRepository.StudentTotals>> totals =
+            CompletableFuture.supplyAsync(() -> userRepository.getStudentTotals(studentId), executor);
+        CompletableFuture<EventRepository.EventStatistics> events =
+            CompletableFuture.supplyAsync(() -> eventRepository.getStatisticsByStudentId(studentId), executor);
+        CompletableFuture<List<ProjectMilestoneRepository.ProjectProgress>> projects =
+            CompletableFuture.supplyAsync(() -> projectMilestoneRepository.getProgressByStudentId(studentId), executor);
+
+        try {
+            CompletableFuture.allOf(totals, events, projects).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        return totals.join().map(studentTotals -> new DashboardResponse(
+            studentTotals.getGpa() != null ? studentTotals.getGpa() : 0.0,
+            studentTotals.getAchievementPoints() != null ? studentTotals.getAchievementPoints() : 0L,
+            toEventStatistics(events.join()),
+            projects.join().stream().map(DashboardService::toProjectProgress).toList()));
+    }
+
+    private static DashboardResponse.EventStatistics toEventStatistics(EventRepository.EventStatistics statistics) {
+        return new DashboardResponse.EventStatistics(
+            statistics.getTotalEvents(),
+            statistics.getUpcomingExams(),
+            statistics.getUpcomingPfeEvents(),
+            statistics.getUpcomingMeetings());
+    }
+
+    private static DashboardResponse.ProjectProgress toProjectProgress(ProjectMilestoneRepository.ProjectProgress progress) {
+        long total = progress.getTotalMilestones();
+        long completed = progress.getCompletedMilestones();
+        return new DashboardResponse.ProjectProgress(
+            progress.getProjectId(),
+            progress.getProjectTitle(),
+            progress.getAverageProgress() != null ? progress.getAverageProgress() : 0.0,
+            total == 0 ? 0.0 : (double) completed / total * 100.0,
+            total,
+            completed);
+    }
+}
@@ -0,0 +1,170 @@
+package com.pfetrack.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+        CSV("csv", MediaType.parseMediaType("text/csv; charset=UTF-8"));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    public record Column<T>(String name, Function<T, ?> value) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.export.clear-interval:500}")
+    private int clearInterval;
+
+    public ExportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> StreamingResponseBody export(Supplier<Stream<T>> source, List<Column<T>> columns, Format format) {
+        // The body is written on an async thread, so the stream needs its own transaction there
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<T> rows = source.get()) {
+                if (format == Format.CSV) {
+                    writeCsv(rows.iterator(), columns, outputStream);
+                } else {
+                    writeNdjson(rows.iterator(), columns, outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> void writeNdjson(Iterator<T> rows, List<Column<T>> columns, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            generator.writeStartObject();
+            for (Column<T> column : columns) {
+                generator.writeFieldName(column.name());
+                generator.writeObject(column.value().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+
+            if (++count % clearInterval == 0) {
+                entityManager.clear();
+                generator.flush();
+            } else if (count == 1) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+    }
+
+    private <T> void writeCsv(Iterator<T> rows, List<Column<T>> columns, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(columns.get(i).name()));
+        }
+        writer.write("\r\n");
+        // Headers go out straight away so the client sees the first byte before the first fetch completes
+        writer.flush();
+
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value != null) {
+                    writer.write(escapeCsv(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+
+            if (++count % clearInterval == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static String escapeCsv(String value) {
+        boolean needsQuoting = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuoting = true;
+                break;
+            }
+        }
+        if (!needsQuoting) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,325 @@
+package com.pfetrack.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pfetrack.api.util.TransferCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Serves stored files with ETag/Last-Modified validation and single or multi-part byte ranges.
+// Full and single-range bodies go through Tomcat's sendfile when the connector supports it,
+// everything else through FileChannel.transferTo.
+@Service
+public class FileDownloadService {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Beyond this many ranges the request is almost certainly abusive; the whole file is sent instead
+    private static final int MAX_RANGES = 16;
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Cache<Path, FileMetadata> metadataCache;
+
+    // Bodies sent, by bytes and time spent in serve(); with sendfile the copy itself happens after serve() returns
+    private final TransferCounter downloads = new TransferCounter();
+
+    public FileDownloadService(@Value("${app.download.metadata-cache-size:10000}") long cacheSize,
+                               @Value("${app.download.metadata-ttl-seconds:300}") long ttlSeconds) {
+        this.metadataCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public TransferCounter getDownloads() {
+        return downloads;
+    }
+
+    public CacheStats getMetadataCacheStatistics() {
+        return metadataCache.stats();
+    }
+
+    public long getMetadataCacheSize() {
+        return metadataCache.estimatedSize();
+    }
+
+    public void evict(Path file) {
+        metadataCache.invalidate(file.toAbsolutePath().normalize());
+    }
+
+    // Returns false, without touching the response, when the file does not exist
+    public boolean serve(Path file, String downloadName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long started = System.nanoTime();
+        Path path = file.toAbsolutePath().normalize();
+        FileMetadata metadata = metadata(path);
+        if (metadata == null) {
+            return false;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, metadata.etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, metadata.lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, metadata)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return true;
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(downloadName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(downloadName, StandardCharsets.UTF_8).build().toString());
+
+        List<long[]> ranges = rangesToServe(request, metadata);
+        if (ranges == null) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + metadata.size);
+            return true;
+        }
+
+        boolean head = "HEAD".equals(request.getMethod());
+        long sent;
+        try {
+            if (ranges.isEmpty()) {
+                response.setStatus(HttpStatus.OK.value());
+                response.setContentType(contentType.toString());
+                response.setContentLengthLong(metadata.size);
+                sent = metadata.size;
+                if (!head) {
+                    sendRange(path, 0, metadata.size, request, response);
+                }
+            } else if (ranges.size() == 1) {
+                long start = ranges.get(0)[0];
+                long end = ranges.get(0)[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setContentType(contentType.toString());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + metadata.size);
+                response.setContentLengthLong(end - start + 1);
+                sent = end - start + 1;
+                if (!head) {
+                    sendRange(path, start, end - start + 1, request, response);
+                }
+            } else {
+                sent = sendMultipart(path, ranges, metadata.size, contentType, head, response);
+            }
+        } catch (NoSuchFileException e) {
+            // Removed behind the cache's back
+            evict(path);
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            return false;
+        }
+        if (!head) {
+            downloads.record(sent, System.nanoTime() - started);
+        }
+        return true;
+    }
+
+    private FileMetadata metadata(Path path) throws IOException {
+        FileMetadata cached = metadataCache.getIfPresent(path);
+        if (cached != null) {
+            return cached;
+        }
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        // Blob store files are named by their SHA-256, which makes a validator that survives mtime changes
+        String name = path.getFileName().toString();
+        String etag = CONTENT_HASH.matcher(name).matches() ? "\"" + name + "\""
+                : "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+        FileMetadata metadata = new FileMetadata(attributes.size(), attributes.lastModifiedTime().toMillis(), etag);
+        metadataCache.put(path, metadata);
+        return metadata;
+    }
+
+    private static boolean notModified(HttpServletRequest request, FileMetadata metadata) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ("*".equals(candidate) || metadata.etag.equals(candidate)) {
+                    return true;
+                }
+            }
+            // If-Modified-Since is ignored whenever If-None-Match is present
+            return false;
+        }
+
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && metadata.lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    // Empty list: send the whole file. Null: the Range header can't be satisfied.
+    private static List<long[]> rangesToServe(HttpServletRequest request, FileMetadata metadata) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !header.startsWith("bytes=")) {
+            return new ArrayList<>();
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean current = ifRange.startsWith("\"")
+                    ? metadata.etag.equals(ifRange.trim())
+                    : metadata.lastModified / 1000 <= dateHeader(request, HttpHeaders.IF_RANGE) / 1000;
+            if (!current) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        long requestedBytes = 0;
+        for (String spec : header.substring("bytes=".length()).split(",")) {
+            String range = spec.trim();
+            int dash = range.indexOf('-');
+            if (dash < 0) {
+                return new ArrayList<>();
+            }
+            long start;
+            long end;
+            try {
+                if (dash == 0) {
+                    long suffix = Long.parseLong(range.substring(1));
+                    start = Math.max(0, metadata.size - suffix);
+                    end = metadata.size - 1;
+                } else {
+                    start = Long.parseLong(range.substring(0, dash));
+                    end = dash == range.length() - 1 ? metadata.size - 1
+                            : Math.min(Long.parseLong(range.substring(dash + 1)), metadata.size - 1);
+                }
+            } catch (NumberFormatException e) {
+                // Syntactically invalid ranges are ignored rather than rejected
+                return new ArrayList<>();
+            }
+            if (start > end || start >= metadata.size) {
+                continue;
+            }
+            ranges.add(new long[]{start, end});
+            requestedBytes += end - start + 1;
+        }
+
+        if (ranges.isEmpty()) {
+            return null;
+        }
+        if (ranges.size() > MAX_RANGES || requestedBytes > metadata.size) {
+            return new ArrayList<>();
+        }
+        return ranges;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static void sendRange(Path path, long start, long count,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file straight from the page cache to the socket once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    // Returns the length of the multipart body
+    private static long sendMultipart(Path path, List<long[]> ranges, long size, MediaType contentType,
+                                      boolean head, HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + range[0] + "-" + range[1] + "/" + size + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range[1] - range[0] + 1;
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return contentLength;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                transfer(channel, ranges.get(i)[0], ranges.get(i)[1] - ranges.get(i)[0] + 1, target);
+            }
+        }
+        out.write(closing);
+        return contentLength;
+    }
+
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        long sent = 0;
+        while (sent < count) {
+            long transferred = channel.transferTo(position + sent, count - sent, target);
+            if (transferred <= 0) {
+                throw new IOException("File shrank while it was being sent");
+            }
+            sent += transferred;
+        }
+    }
+
+    private static final class FileMetadata {
+        private final long size;
+        private final long lastModified;
+        private final String etag;
+
+        private FileMetadata(long size, long lastModified, String etag) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.pfetrack.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.response.GradeImportResponse;
+import com.pfetrack.api.repository.GradeRepository;
+import com.pfetrack.api.repository.StudentProfileRepository;
+import com.pfetrack.api.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk grade ingestion. The sheet is streamed in chunks: each chunk is parsed and validated in parallel, students
+// are resolved by student number from a map loaded once, and the valid rows are written in one transaction per
+// chunk (JDBC batches, summaries updated once per student). Bad rows are reported by line instead of failing the sheet.
+@Service
+public class GradeImportService {
+    private static final Logger logger = LoggerFactory.getLogger(GradeImportService.class);
+
+    private static final double MAX_GRADE_VALUE = 20.0;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.grades.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.grades.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public GradeImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // One record of the sheet as read: CSV values with the header they belong to, or an NDJSON line
+    private record RawRow(long line, List<String> header, List<String> values, String json) {
+    }
+
+    // A record after parsing: a grade with its student's user id, or the reason it was rejected
+    private record ParsedRow(long line, Grade grade, Long studentUserId, String error) {
+
+        static ParsedRow rejected(long line, String error) {
+            return new ParsedRow(line, null, null, error);
+        }
+    }
+
+    public GradeImportResponse importGrades(InputStream body, ExportService.Format format) throws IOException {
+        Map<String, Long> students = new HashMap<>();
+        for (StudentProfileRepository.StudentNumber student : studentProfileRepository.findAllStudentNumbers()) {
+            students.put(student.getStudentNumber().trim(), student.getUserId());
+        }
+
+        GradeImportResponse result = new GradeImportResponse();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Iterator<RawRow> rows = format == ExportService.Format.CSV ? csvRows(reader) : ndjsonRows(reader);
+
+        List<RawRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, students, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, students, result);
+        }
+        logger.info("Grade import: {} rows received, {} imported, {} rejected",
+                result.getReceived(), result.getImported(), result.getRejected());
+        return result;
+    }
+
+    private void importChunk(List<RawRow> chunk, Map<String, Long> students, GradeImportResponse result) {
+        result.setReceived(result.getReceived() + chunk.size());
+
+        // Encounter order is kept, so errors come out in file order
+        List<ParsedRow> parsed = chunk.parallelStream().map(row -> parse(row, students)).toList();
+
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error() != null) {
+                reject(result, row.line(), row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Grade> grades = new ArrayList<>(valid.size());
+                for (ParsedRow row : valid) {
+                    row.grade().setStudent(entityManager.getReference(User.class, row.studentUserId()));
+                    grades.add(row.grade());
+                }
+                gradeRepository.saveAll(grades);
+                entityManager.flush();
+                academicSummaryService.applyAll(grades.stream().map(AcademicSummaryService.Contribution::of).toList());
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + valid.size());
+        } catch (RuntimeException e) {
+            // The chunk is written all-or-nothing, so every row of it is reported
+            logger.warn("Grade import: chunk starting on line {} rolled back: {}", valid.get(0).line(), e.getMessage());
+            String message = "Not saved, the rows around it failed to write: " + rootMessage(e);
+            for (ParsedRow row : valid) {
+                reject(result, row.line(), message);
+            }
+        }
+    }
+
+    private ParsedRow parse(RawRow row, Map<String, Long> students) {
+        try {
+            Map<String, String> fields = row.json() != null ? jsonFields(row.json()) : csvFields(row);
+
+            String studentNumber = text(fields, "studentNumber");
+            if (studentNumber == null) {
+                return ParsedRow.rejected(row.line(), "studentNumber is required");
+            }
+            Long userId = students.get(studentNumber);
+            if (userId == null) {
+                return ParsedRow.rejected(row.line(), "Unknown student number " + studentNumber);
+            }
+
+            Grade grade = new Grade();
+            grade.setSubjectName(text(fields, "subjectName"));
+            grade.setSubjectCode(text(fields, "subjectCode"));
+            grade.setGradeValue(decimal(fields, "gradeValue"));
+            grade.setLetterGrade(text(fields, "letterGrade"));
+            grade.setCredits(integer(fields, "credits"));
+            grade.setSemester(text(fields, "semester"));
+            grade.setAcademicYear(text(fields, "academicYear"));
+            grade.setEvaluationType(text(fields, "evaluationType"));
+            grade.setEvaluationDate(date(fields, "evaluationDate"));
+            grade.setMaxScore(decimal(fields, "maxScore"));
+            grade.setObtainedScore(decimal(fields, "obtainedScore"));
+            grade.setProfessor(text(fields, "professor"));
+            grade.setComments(text(fields, "comments"));
+            grade.setStatus(text(fields, "status"));
+            grade.setIsPublished(Boolean.TRUE.equals(bool(fields, "isPublished")));
+
+            if (grade.getGradeValue() != null && (grade.getGradeValue() < 0 || grade.getGradeValue() > MAX_GRADE_VALUE)) {
+                return ParsedRow.rejected(row.line(), "gradeValue must be between 0 and 20");
+            }
+            Set<ConstraintViolation<Grade>> violations = validator.validate(grade);
+            if (!violations.isEmpty()) {
+                return ParsedRow.rejected(row.line(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+            return new ParsedRow(row.line(), grade, userId, null);
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.rejected(row.line(), e.getMessage());
+        }
+    }
+
+    private void reject(GradeImportResponse result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new GradeImportResponse.RowError(line, message));
+        }
+    }
+
+    // CSV needs a header row; columns are matched by name as in the grade export, unknown ones are ignored
+    private Iterator<RawRow> csvRows(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> headerRecord = csv.next();
+        if (headerRecord == null) {
+            throw new IllegalArgumentException("The grade sheet is empty");
+        }
+        List<String> header = headerRecord.stream().map(name -> name.replace("\uFEFF", "").trim()).toList();
+        if (!header.contains("studentNumber")) {
+            throw new IllegalArgumentException("The header row has no studentNumber column");
+        }
+        return new RowIterator() {
+            @Override
+            RawRow read() throws IOException {
+                List<String> values;
+                do {
+                    values = csv.next();
+                } while (values != null && values.size() == 1 && values.get(0).isBlank());
+                return values == null ? null : new RawRow(csv.getRecordLine(), header, values, null);
+            }
+        };
+    }
+
+    private Iterator<RawRow> ndjsonRows(BufferedReader reader) {
+        return new RowIterator() {
+            private long line;
+
+            @Override
+            RawRow read() throws IOException {
+                String text;
+                do {
+                    text = reader.readLine();
+                    line++;
+                } while (text != null && text.isBlank());
+                return text == null ? null : new RawRow(line, null, null, text);
+            }
+        };
+    }
+
+    // Lets the chunk loop pull rows lazily; read failures surface as UncheckedIOException
+    private abstract static class RowIterator implements Iterator<RawRow> {
+        private RawRow next;
+
+        abstract RawRow read() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public RawRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RawRow row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    private Map<String, String> csvFields(RawRow row) {
+        if (row.values().size() != row.header().size()) {
+            throw new IllegalArgumentException("Expected " + row.header().size() + " columns, found " + row.values().size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < row.header().size(); i++) {
+            fields.put(row.header().get(i), row.values().get(i));
+        }
+        return fields;
+    }
+
+    private Map<String, String> jsonFields(String json) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(field ->
+                fields.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText()));
+        return fields;
+    }
+
+    // Blank values count as absent in both formats
+    private static String text(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Double decimal(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    private static Integer integer(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a whole number: " + value);
+        }
+    }
+
+    private static LocalDate date(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        try {
+            return value == null ? null : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " is not a yyyy-MM-dd date: " + value);
+        }
+    }
+
+    private static Boolean bool(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        if (value.equalsIgnoreCase("true") || value.equals("1")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false") || value.equals("0")) {
+            return false;
+        }
+        throw new IllegalArgumentException(name + " is not a boolean: " + value);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
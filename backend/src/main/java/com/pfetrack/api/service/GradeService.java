@@ -0,0 +1,88 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.Grade;
+import com.pfetrack.api.repository.GradeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Grade writes go through here so the academic summaries change in the same transaction as the grade
+@Service
+public class GradeService {
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private AcademicSummaryService academicSummaryService;
+
+    @Transactional
+    public Grade create(Grade grade) {
+        Grade savedGrade = gradeRepository.save(grade);
+        academicSummaryService.apply(null, AcademicSummaryService.Contribution.of(savedGrade));
+        return savedGrade;
+    }
+
+    @Transactional
+    public Optional<Grade> update(Long id, Grade gradeDetails) {
+        return gradeRepository.findById(id).map(grade -> {
+            AcademicSummaryService.Contribution before = AcademicSummaryService.Contribution.of(grade);
+
+            if (gradeDetails.getSubjectName() != null) grade.setSubjectName(gradeDetails.getSubjectName());
+            if (gradeDetails.getGradeValue() != null) grade.setGradeValue(gradeDetails.getGradeValue());
+            if (gradeDetails.getLetterGrade() != null) grade.setLetterGrade(gradeDetails.getLetterGrade());
+            if (gradeDetails.getCredits() != null) grade.setCredits(gradeDetails.getCredits());
+            if (gradeDetails.getSemester() != null) grade.setSemester(gradeDetails.getSemester());
+            if (gradeDetails.getAcademicYear() != null) grade.setAcademicYear(gradeDetails.getAcademicYear());
+            if (gradeDetails.getEvaluationType() != null) grade.setEvaluationType(gradeDetails.getEvaluationType());
+            if (gradeDetails.getEvaluationDate() != null) grade.setEvaluationDate(gradeDetails.getEvaluationDate());
+            if (gradeDetails.getMaxScore() != null) grade.setMaxScore(gradeDetails.getMaxScore());
+            if (gradeDetails.getObtainedScore() != null) grade.setObtainedScore(gradeDetails.getObtainedScore());
+            if (gradeDetails.getProfessor() != null) grade.setProfessor(gradeDetails.getProfessor());
+            if (gradeDetails.getComments() != null) grade.setComments(gradeDetails.getComments());
+            if (gradeDetails.getStatus() != null) grade.setStatus(gradeDetails.getStatus());
+            if (gradeDetails.getIsPublished() != null) grade.setIsPublished(gradeDetails.getIsPublished());
+
+            Grade updatedGrade = gradeRepository.save(grade);
+            academicSummaryService.apply(before, AcademicSummaryService.Contribution.of(updatedGrade));
+            return updatedGrade;
+        });
+    }
+
+    @Transactional
+    public Optional<Grade> publish(Long id) {
+        return gradeRepository.findById(id).map(grade -> {
+            AcademicSummaryService.Contribution before = AcademicSummaryService.Contribution.of(grade);
+            grade.setIsPublished(true);
+            Grade updatedGrade = gradeRepository.save(grade);
+            academicSummaryService.apply(before, AcademicSummaryService.Contribution.of(updatedGrade));
+            return updatedGrade;
+        });
+    }
+
+    // One UPDATE for every unpublished grade of the subject; the totals being published are read first so the
+    // summaries change by exactly that amount (a grade inserted in between is picked up by the nightly reconcile)
+    @Transactional
+    public int publishAll(String subjectName, String semester) {
+        List<AcademicSummaryService.Contribution> published = gradeRepository.computeUnpublishedTotals(subjectName, semester)
+                .stream().map(AcademicSummaryService.Contribution::of).toList();
+        int updated = gradeRepository.publishBySubjectAndSemester(subjectName, semester, LocalDateTime.now());
+        academicSummaryService.applyAll(published);
+        return updated;
+    }
+
+    @Transactional
+    public boolean delete(Long id) {
+        Optional<Grade> gradeOpt = gradeRepository.findById(id);
+        if (gradeOpt.isEmpty()) {
+            return false;
+        }
+        academicSummaryService.apply(AcademicSummaryService.Contribution.of(gradeOpt.get()), null);
+        gradeRepository.delete(gradeOpt.get());
+        return true;
+    }
+}
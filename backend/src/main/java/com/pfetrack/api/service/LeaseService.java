@@ -0,0 +1,90 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.SchedulerLease;
+import com.pfetrack.api.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Mutual exclusion between application nodes for scheduled jobs, through a row per job in scheduler_leases.
+// Claiming and renewing are one guarded UPDATE each, so of two nodes racing for a lease exactly one gets it.
+// Leases expire on their own if the holder dies; expiry is compared against each node's clock, so the ttl
+// must stay well above any clock skew between nodes.
+@Service
+public class LeaseService {
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public LeaseService(PlatformTransactionManager transactionManager) {
+        // Lease changes must commit at once, whatever transaction the caller is in
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    // Acquires the lease or, when this node already holds it, extends it by ttl
+    public boolean tryAcquire(String name, Duration ttl) {
+        if (!leaseRepository.existsById(name)) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        leaseRepository.saveAndFlush(new SchedulerLease(name, null, LocalDateTime.of(1970, 1, 1, 0, 0))));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first; the claim below decides who gets it
+            }
+        }
+        return renew(name, ttl);
+    }
+
+    // Extends a lease this node holds (or takes it if expired); false once another node has taken it over
+    public boolean renew(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Integer claimed = transactionTemplate.execute(status ->
+                    leaseRepository.claim(name, owner, now, now.plus(ttl)));
+            return claimed != null && claimed == 1;
+        } catch (PessimisticLockingFailureException e) {
+            // The holder has the row locked in hold() for longer than the lock timeout, so it is still working
+            return false;
+        }
+    }
+
+    // Fences the caller's transaction: true if this node still holds the lease, which then cannot change hands
+    // before that transaction ends, so its writes cannot land after another node has taken over
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean hold(String name) {
+        return leaseRepository.lockIfHeld(name, owner, LocalDateTime.now()).isPresent();
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                leaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
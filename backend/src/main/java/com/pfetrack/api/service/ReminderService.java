@@ -0,0 +1,199 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.StudentSettings;
+import com.pfetrack.api.notification.Reminder;
+import com.pfetrack.api.notification.ReminderNotifier;
+import com.pfetrack.api.repository.EventRepository;
+import com.pfetrack.api.repository.ProjectMilestoneRepository;
+import com.pfetrack.api.repository.StudentSettingsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Sends reminders for events and project milestones coming up. Each run walks one due date at a time, from today
+// to max-advance-days ahead, reading unsent reminders in keyset batches; a reminder goes out once the date is
+// within the student's reminderAdvanceDays and the matching reminder setting is on. Only the node holding the
+// "reminders" lease runs. Each batch is one transaction that locks the lease row (stopping the run if the lease
+// was lost), dispatches, and marks the batch sent, so another node can only take over once the marks are
+// committed. Delivery is at-least-once: if that transaction fails after the notifier took the batch, the marks
+// roll back and the next run sends those reminders again.
+@Service
+public class ReminderService {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderService.class);
+
+    private static final String LEASE = "reminders";
+    private static final int DEFAULT_ADVANCE_DAYS = 3;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ProjectMilestoneRepository milestoneRepository;
+
+    @Autowired
+    private StudentSettingsRepository settingsRepository;
+
+    @Autowired
+    private ReminderNotifier notifier;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    private final TransactionTemplate transactionTemplate;
+    // The lease is per node, so runs on the same node are kept apart locally
+    private final ReentrantLock running = new ReentrantLock();
+
+    @Value("${app.reminders.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.reminders.max-advance-days:14}")
+    private int maxAdvanceDays;
+
+    @Value("${app.reminders.lease-ttl-seconds:300}")
+    private long leaseTtlSeconds;
+
+    public ReminderService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.reminders.cron:0 0 * * * *}")
+    public void sendDueScheduled() {
+        sendDue();
+    }
+
+    // Number of reminders sent; -1 when a run is already in progress here or on another node
+    public int sendDue() {
+        if (!running.tryLock()) {
+            return -1;
+        }
+        try {
+            return sendDueLocked();
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private int sendDueLocked() {
+        Duration ttl = Duration.ofSeconds(leaseTtlSeconds);
+        if (!leaseService.tryAcquire(LEASE, ttl)) {
+            logger.debug("Reminder run skipped, lease held by another node");
+            return -1;
+        }
+        int sent = 0;
+        try {
+            LocalDate today = LocalDate.now();
+            for (int daysAhead = 0; daysAhead <= maxAdvanceDays; daysAhead++) {
+                LocalDate date = today.plusDays(daysAhead);
+                sent += sendBucket(date, daysAhead, ttl,
+                        (afterId, page) -> eventRepository.findReminderBatch(date, afterId, page),
+                        eventRepository::markRemindersSent);
+                sent += sendBucket(date, daysAhead, ttl,
+                        (afterId, page) -> milestoneRepository.findReminderBatch(date, afterId, page),
+                        milestoneRepository::markRemindersSent);
+            }
+        } catch (LeaseLostException e) {
+            logger.warn("Reminder run stopped after {} reminders: lease lost", sent);
+        } finally {
+            leaseService.release(LEASE);
+        }
+        if (sent > 0) {
+            logger.info("Sent {} reminders", sent);
+        }
+        return sent;
+    }
+
+    private interface BatchReader {
+        List<Reminder> read(long afterId, Pageable page);
+    }
+
+    private int sendBucket(LocalDate date, int daysAhead, Duration ttl, BatchReader reader,
+                           Function<Collection<Long>, Integer> marker) {
+        int sent = 0;
+        long afterId = 0;
+        while (true) {
+            if (!leaseService.renew(LEASE, ttl)) {
+                throw new LeaseLostException();
+            }
+            long from = afterId;
+            List<Reminder> batch = reader.read(from, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return sent;
+            }
+            afterId = batch.get(batch.size() - 1).sourceId();
+
+            Integer marked = transactionTemplate.execute(status -> {
+                if (!leaseService.hold(LEASE)) {
+                    throw new LeaseLostException();
+                }
+                List<Reminder> due = wanted(batch, daysAhead);
+                if (due.isEmpty()) {
+                    return 0;
+                }
+                notifier.send(due);
+                return marker.apply(due.stream().map(Reminder::sourceId).toList());
+            });
+            sent += marked != null ? marked : 0;
+            if (batch.size() < batchSize) {
+                return sent;
+            }
+        }
+    }
+
+    // Keeps the reminders whose student wants them today; the rest stay unsent and are seen again on later runs
+    private List<Reminder> wanted(List<Reminder> batch, int daysAhead) {
+        Set<Long> studentIds = new HashSet<>();
+        for (Reminder reminder : batch) {
+            studentIds.add(reminder.studentId());
+        }
+        Map<Long, StudentSettings> settings = settingsRepository.findByUserIdIn(studentIds).stream()
+                .collect(Collectors.toMap(s -> s.getUser().getId(), Function.identity(), (a, b) -> a));
+
+        List<Reminder> due = new ArrayList<>(batch.size());
+        for (Reminder reminder : batch) {
+            if (wants(settings.get(reminder.studentId()), reminder, daysAhead)) {
+                due.add(reminder);
+            }
+        }
+        return due;
+    }
+
+    // Students without settings get the defaults: all reminders on, three days ahead
+    private static boolean wants(StudentSettings settings, Reminder reminder, int daysAhead) {
+        if (settings == null) {
+            return daysAhead <= DEFAULT_ADVANCE_DAYS;
+        }
+        if ("event".equals(reminder.source()) && Boolean.FALSE.equals(settings.getEventNotifications())) {
+            return false;
+        }
+        boolean meeting = "meeting".equals(reminder.type()) || "presentation".equals(reminder.type());
+        Boolean enabled = meeting ? settings.getMeetingReminders() : settings.getDeadlineReminders();
+        if (Boolean.FALSE.equals(enabled)) {
+            return false;
+        }
+        int advanceDays = settings.getReminderAdvanceDays() != null
+                ? settings.getReminderAdvanceDays() : DEFAULT_ADVANCE_DAYS;
+        return daysAhead <= advanceDays;
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
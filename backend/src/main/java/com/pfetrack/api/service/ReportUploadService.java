@@ -0,0 +1,274 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.Report;
+import com.pfetrack.api.model.ReportUpload;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.payload.request.UploadInitRequest;
+import com.pfetrack.api.repository.ReportRepository;
+import com.pfetrack.api.repository.ReportUploadRepository;
+import com.pfetrack.api.util.TransferCounter;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ReportUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static class OffsetMismatchException extends RuntimeException {
+        private final long currentOffset;
+
+        public OffsetMismatchException(long currentOffset) {
+            super("Upload is at offset " + currentOffset);
+            this.currentOffset = currentOffset;
+        }
+
+        public long getCurrentOffset() {
+            return currentOffset;
+        }
+    }
+
+    public static class UploadBusyException extends RuntimeException {
+        public UploadBusyException() {
+            super("Another request is already writing to this upload");
+        }
+    }
+
+    @Autowired
+    private ReportUploadRepository reportUploadRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.max-size:536870912}")
+    private long maxUploadSize;
+
+    @Value("${app.upload.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    // Chunks accepted by append, by bytes written and time spent receiving them
+    private final TransferCounter chunks = new TransferCounter();
+
+    // Uploads a request in this JVM is appending to or completing. FileChannel locks are held per JVM, so they
+    // only keep other processes out; two threads here would get OverlappingFileLockException instead of a refusal
+    private final Set<String> busy = ConcurrentHashMap.newKeySet();
+
+    @Transactional
+    public ReportUpload init(User student, UploadInitRequest request) throws IOException {
+        if (request.getTotalSize() > maxUploadSize) {
+            throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxUploadSize + " bytes");
+        }
+        purgeExpired();
+
+        String id = UUID.randomUUID().toString();
+        Path partFile = incomingDir().resolve(id + ".part");
+        Files.createFile(partFile);
+
+        ReportUpload upload = new ReportUpload();
+        upload.setId(id);
+        upload.setStudent(student);
+        upload.setReportId(request.getReportId());
+        upload.setTitle(request.getTitle());
+        upload.setType(request.getType());
+        upload.setDescription(request.getDescription());
+        upload.setFileName(cleanFileName(request.getFileName()));
+        upload.setTotalSize(request.getTotalSize());
+        upload.setSha256(request.getSha256().toLowerCase());
+        upload.setPartPath(partFile.toString());
+        return reportUploadRepository.save(upload);
+    }
+
+    // The part file is the source of truth for how much has been received, so a dropped connection
+    // resumes from whatever actually reached the disk
+    public long currentOffset(ReportUpload upload) throws IOException {
+        Path partFile = Paths.get(upload.getPartPath());
+        return Files.exists(partFile) ? Files.size(partFile) : 0L;
+    }
+
+    public long append(ReportUpload upload, long offset, InputStream body) throws IOException {
+        long started = System.nanoTime();
+        Path partFile = Paths.get(upload.getPartPath());
+        acquire(upload);
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new UploadBusyException();
+            }
+            try {
+                long position = channel.size();
+                if (offset != position) {
+                    throw new OffsetMismatchException(position);
+                }
+
+                ReadableByteChannel source = Channels.newChannel(body);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    if (position + buffer.remaining() > upload.getTotalSize()) {
+                        // Keep what was valid so far and reject the overflow
+                        channel.truncate(position);
+                        throw new IllegalArgumentException("Chunk extends past the declared file size");
+                    }
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    buffer.clear();
+                }
+                chunks.record(position - offset, System.nanoTime() - started);
+                return position;
+            } finally {
+                lock.release();
+            }
+        } finally {
+            release(upload);
+        }
+    }
+
+    public TransferCounter getChunkTransfers() {
+        return chunks;
+    }
+
+    // The part file is only removed once the report is committed; if anything fails before that the client can
+    // call complete again. The upload stays locked until the transaction ends, so a second complete cannot slip in
+    // between this one's checks and its commit
+    @Transactional
+    public Report complete(ReportUpload upload) throws IOException {
+        Path partFile = Paths.get(upload.getPartPath());
+        acquire(upload);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    Files.deleteIfExists(partFile);
+                } catch (IOException e) {
+                    logger.warn("Could not remove part file of completed upload {}: {}", upload.getId(), e.getMessage());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                release(upload);
+            }
+        });
+        if (!reportUploadRepository.existsById(upload.getId())) {
+            throw new IllegalArgumentException("Upload has already been completed or cancelled");
+        }
+
+        long received = currentOffset(upload);
+        if (received != upload.getTotalSize()) {
+            throw new OffsetMismatchException(received);
+        }
+        if (!upload.getSha256().equals(BlobStore.sha256(partFile))) {
+            // Corrupt bytes can be anywhere in the file, so the client has to start over from offset 0. The file is
+            // replaced rather than truncated, in case an earlier attempt linked it into the blob store
+            Files.delete(partFile);
+            Files.createFile(partFile);
+            throw new IllegalArgumentException("Checksum mismatch, the upload has been reset");
+        }
+
+        Report report;
+        if (upload.getReportId() != null) {
+            report = reportRepository.findById(upload.getReportId())
+                    .orElseThrow(() -> new IllegalArgumentException("Report no longer exists"));
+        } else {
+            report = new Report();
+            report.setTitle(upload.getTitle());
+            report.setType(upload.getType());
+            report.setDescription(upload.getDescription());
+            // The session's student is a lazy proxy; the report gets the entity itself so it serializes like any other
+            report.setStudent((User) Hibernate.unproxy(upload.getStudent()));
+            report.setStatus("Draft");
+        }
+
+        // The checksum was just verified, so the part file goes into the blob store without rehashing. It is linked
+        // rather than moved; a blob left behind by a rollback is unreferenced and goes with the next sweep
+        BlobStore.StoredBlob blob = blobStore.link(partFile, upload.getSha256());
+
+        report.setFileName(upload.getFileName());
+        report.setFilePath(blob.path().toString());
+        report.setFileSize(upload.getTotalSize());
+
+        reportUploadRepository.delete(upload);
+        return reportRepository.save(report);
+    }
+
+    @Transactional
+    public void discard(ReportUpload upload) throws IOException {
+        Files.deleteIfExists(Paths.get(upload.getPartPath()));
+        reportUploadRepository.delete(upload);
+    }
+
+    private void acquire(ReportUpload upload) {
+        if (!busy.add(upload.getId())) {
+            throw new UploadBusyException();
+        }
+    }
+
+    private void release(ReportUpload upload) {
+        busy.remove(upload.getId());
+    }
+
+    private void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(sessionTtlHours);
+        FileTime fileCutoff = FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(sessionTtlHours).toMillis());
+        for (ReportUpload stale : reportUploadRepository.findByCreatedAtBefore(cutoff)) {
+            try {
+                Path partFile = Paths.get(stale.getPartPath());
+                // Uploads that are still receiving chunks are kept alive by their part file's mtime
+                if (Files.exists(partFile) && Files.getLastModifiedTime(partFile).compareTo(fileCutoff) > 0) {
+                    continue;
+                }
+                discard(stale);
+            } catch (IOException e) {
+                logger.warn("Could not discard expired upload {}: {}", stale.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private Path incomingDir() throws IOException {
+        Path dir = Paths.get(uploadDir, ".incoming");
+        Files.createDirectories(dir);
+        return dir;
+    }
+
+    private static String cleanFileName(String fileName) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(fileName.replace('\\', '/')));
+        if (!StringUtils.hasText(name) || "..".equals(name)) {
+            throw new IllegalArgumentException("Invalid file name");
+        }
+        return name;
+    }
+}
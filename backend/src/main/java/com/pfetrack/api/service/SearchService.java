@@ -0,0 +1,189 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.Achievement;
+import com.pfetrack.api.model.Project;
+import com.pfetrack.api.model.ProjectMilestone;
+import com.pfetrack.api.model.Report;
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.repository.AchievementRepository;
+import com.pfetrack.api.repository.FilterSpecifications;
+import com.pfetrack.api.repository.ProjectMilestoneRepository;
+import com.pfetrack.api.repository.ProjectRepository;
+import com.pfetrack.api.repository.ReportRepository;
+import com.pfetrack.api.repository.TopicRepository;
+import com.pfetrack.api.search.SearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+public class SearchService {
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
+    // Ids bound per IN list when filtering hits, well under every driver's bind-parameter limit
+    private static final int FILTER_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ProjectMilestoneRepository projectMilestoneRepository;
+
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    public SearchService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    // Serialised so a rebuild requested while another runs waits instead of failing
+    public synchronized Map<String, Integer> rebuild() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("topics", rebuild(Topic.class, topicRepository::findAllBy));
+        counts.put("projects", rebuild(Project.class, projectRepository::findAllBy));
+        counts.put("reports", rebuild(Report.class, reportRepository::findAllBy));
+        counts.put("milestones", rebuild(ProjectMilestone.class, projectMilestoneRepository::findAllBy));
+        counts.put("achievements", rebuild(Achievement.class, achievementRepository::findAllBy));
+        logger.info("Search index rebuilt: {}", counts);
+        return counts;
+    }
+
+    private <T> int rebuild(Class<T> type, Scroller<T> scroller) {
+        SearchIndex.IndexBuilder builder = searchIndex.rebuild(type);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ScrollPosition position = ScrollPosition.keyset();
+                Window<T> window;
+                do {
+                    window = scroller.scroll(position, BY_ID, Limit.of(rebuildBatchSize));
+                    if (window.isEmpty()) {
+                        break;
+                    }
+                    window.forEach(builder::add);
+                    position = window.positionAt(window.size() - 1);
+                    entityManager.clear();
+                } while (window.hasNext());
+            });
+        } catch (RuntimeException e) {
+            builder.discard();
+            throw e;
+        }
+        return builder.publish();
+    }
+
+    // Ranked ids come from the index; the optional filter narrows them with the caller's structured criteria
+    // and only the requested page of entities is loaded from the database
+    public <T> Page<T> search(Class<T> type, String keyword, Pageable pageable, Specification<T> filter,
+                              Function<List<Long>, List<T>> loader) {
+        List<Long> ids = searchIndex.search(type, keyword);
+        if (filter != null && !ids.isEmpty()) {
+            Set<Long> allowed = matchingIds(type, ids, filter);
+            ids.removeIf(id -> !allowed.contains(id));
+        }
+
+        List<Long> pageIds = ids;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            int to = Math.min(from + pageable.getPageSize(), ids.size());
+            pageIds = ids.subList(from, to);
+        }
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, ids.size());
+        }
+
+        Map<Long, T> loaded = new HashMap<>();
+        for (T entity : loader.apply(new ArrayList<>(pageIds))) {
+            loaded.put(searchIndex.idOf(entity), entity);
+        }
+        List<T> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            T entity = loaded.get(id);
+            if (entity != null) {
+                content.add(entity);
+            }
+        }
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    public <T> Page<T> search(Class<T> type, String keyword, Pageable pageable,
+                              Function<List<Long>, List<T>> loader) {
+        return search(type, keyword, pageable, null, loader);
+    }
+
+    // The hits that also match the filter, selected as bare ids in chunks of FILTER_CHUNK_SIZE
+    private <T> Set<Long> matchingIds(Class<T> type, List<Long> ids, Specification<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Set<Long> matching = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += FILTER_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + FILTER_CHUNK_SIZE, ids.size()));
+            CriteriaQuery<Long> query = cb.createQuery(Long.class);
+            Root<T> root = query.from(type);
+            Predicate predicate = filter.and(FilterSpecifications.idIn(chunk)).toPredicate(root, query, cb);
+            query.select(root.get("id"));
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            matching.addAll(entityManager.createQuery(query).getResultList());
+        }
+        return matching;
+    }
+
+    @FunctionalInterface
+    private interface Scroller<T> {
+        Window<T> scroll(ScrollPosition position, Sort sort, Limit limit);
+    }
+}
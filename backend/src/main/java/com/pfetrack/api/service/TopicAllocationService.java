@@ -0,0 +1,208 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.payload.response.TopicAllocationResponse;
+import com.pfetrack.api.repository.AcademicSummaryRepository;
+import com.pfetrack.api.repository.TopicApplicationRepository;
+import com.pfetrack.api.repository.TopicRepository;
+import com.pfetrack.api.util.DeferredAcceptance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Batch allocation of pending topic applications, in one transaction: the topics involved are row-locked, the
+// applications are matched with deferred acceptance (students propose in their preference-rank order, contested
+// seats go to the better GPA when grade priority is on, then to the earlier application), and every decision is
+// written back with set-based updates. Seats are counted per application: rejecting one that reserved a seat at
+// submission gives it back, approving one that did not takes one.
+@Service
+public class TopicAllocationService {
+    private static final Logger logger = LoggerFactory.getLogger(TopicAllocationService.class);
+
+    // Ids per UPDATE ... WHERE id IN (...), well under PostgreSQL's bind parameter limit
+    private static final int UPDATE_CHUNK = 1000;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private TopicApplicationRepository applicationRepository;
+
+    @Autowired
+    private AcademicSummaryRepository academicSummaryRepository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public TopicAllocationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TopicAllocationResponse allocate(boolean gradePriority) {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("An allocation is already running");
+        }
+        try {
+            return transactionTemplate.execute(status -> run(gradePriority));
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private TopicAllocationResponse run(boolean gradePriority) {
+        List<Topic> topics = topicRepository.lockTopicsWithPendingApplications();
+        Map<Long, Integer> topicIndex = new HashMap<>();
+        for (int t = 0; t < topics.size(); t++) {
+            topicIndex.put(topics.get(t).getId(), t);
+        }
+        // Applications to a topic that only got its first one after the lock wait for the next run
+        List<TopicApplicationRepository.PendingApplication> pending = new ArrayList<>();
+        for (TopicApplicationRepository.PendingApplication application : applicationRepository.findAllPending()) {
+            if (topicIndex.containsKey(application.getTopicId())) {
+                pending.add(application);
+            }
+        }
+
+        TopicAllocationResponse result = new TopicAllocationResponse();
+        result.setPendingApplications(pending.size());
+        result.setTopics(topics.size());
+        if (pending.isEmpty()) {
+            return result;
+        }
+
+        long started = System.nanoTime();
+        int applications = pending.size();
+        Map<Long, Integer> studentIndex = new HashMap<>();
+        int[] applicationStudent = new int[applications];
+        int[] applicationTopic = new int[applications];
+        int[] pendingPerTopic = new int[topics.size()];
+        int[] reservedPerTopic = new int[topics.size()];
+        for (int a = 0; a < applications; a++) {
+            TopicApplicationRepository.PendingApplication application = pending.get(a);
+            Integer student = studentIndex.get(application.getStudentId());
+            if (student == null) {
+                student = studentIndex.size();
+                studentIndex.put(application.getStudentId(), student);
+            }
+            applicationStudent[a] = student;
+            applicationTopic[a] = topicIndex.get(application.getTopicId());
+            pendingPerTopic[applicationTopic[a]]++;
+            if (Boolean.TRUE.equals(application.getSeatReserved())) {
+                reservedPerTopic[applicationTopic[a]]++;
+            }
+        }
+        int students = studentIndex.size();
+
+        // Each student's applications, best-ranked first; unranked ones follow in the order they were made
+        Integer[] byPreference = sequence(applications);
+        Arrays.sort(byPreference, Comparator.<Integer>comparingInt(a -> applicationStudent[a])
+                .thenComparing(a -> pending.get(a).getPreferenceRank(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(a -> pending.get(a).getAppliedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(a -> pending.get(a).getId()));
+        int[] preferenceStart = new int[students + 1];
+        int[] preferenceApplication = new int[applications];
+        for (int i = 0; i < applications; i++) {
+            preferenceApplication[i] = byPreference[i];
+            preferenceStart[applicationStudent[byPreference[i]] + 1]++;
+        }
+        for (int s = 0; s < students; s++) {
+            preferenceStart[s + 1] += preferenceStart[s];
+        }
+
+        // How topics rank applicants: one global order, position = priority
+        Map<Long, Double> gpa = new HashMap<>();
+        if (gradePriority) {
+            for (AcademicSummaryRepository.StudentGpa row : academicSummaryRepository.findOverallGpas()) {
+                gpa.put(row.getStudentId(), row.getGpa());
+            }
+        }
+        Integer[] byPriority = sequence(applications);
+        Arrays.sort(byPriority, Comparator.<Integer>comparingDouble(a -> -gpa.getOrDefault(pending.get(a).getStudentId(), -1.0))
+                .thenComparing(a -> pending.get(a).getAppliedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(a -> pending.get(a).getId()));
+        int[] applicationPriority = new int[applications];
+        for (int i = 0; i < applications; i++) {
+            applicationPriority[byPriority[i]] = i;
+        }
+
+        // Seats reserved by pending applications are up for allocation along with the free ones; only seats held
+        // otherwise (approved applications, manual assignments) are off the table
+        int[] capacity = new int[topics.size()];
+        for (int t = 0; t < topics.size(); t++) {
+            Topic topic = topics.get(t);
+            int max = topic.getMaxStudents() != null ? topic.getMaxStudents() : 0;
+            int current = topic.getCurrentStudents() != null ? topic.getCurrentStudents() : 0;
+            int heldByOthers = Math.max(0, current - reservedPerTopic[t]);
+            capacity[t] = Math.max(0, Math.min(max - heldByOthers, pendingPerTopic[t]));
+        }
+
+        boolean[] accepted = DeferredAcceptance.match(preferenceStart, preferenceApplication,
+                applicationStudent, applicationTopic, applicationPriority, capacity);
+        double matchingMillis = (System.nanoTime() - started) / 1_000_000.0;
+
+        List<Long> approvedIds = new ArrayList<>();
+        List<Long> rejectedIds = new ArrayList<>();
+        int[] seatChange = new int[topics.size()];
+        for (int a = 0; a < applications; a++) {
+            boolean reserved = Boolean.TRUE.equals(pending.get(a).getSeatReserved());
+            if (accepted[a]) {
+                approvedIds.add(pending.get(a).getId());
+                if (!reserved) {
+                    seatChange[applicationTopic[a]]++;
+                }
+            } else {
+                rejectedIds.add(pending.get(a).getId());
+                if (reserved) {
+                    seatChange[applicationTopic[a]]--;
+                }
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        result.setApproved(decide(approvedIds, "Approved", now));
+        result.setRejected(decide(rejectedIds, "Rejected", now));
+        // Managed and locked, so these go out as batched UPDATEs at commit
+        for (int t = 0; t < topics.size(); t++) {
+            if (seatChange[t] != 0) {
+                Topic topic = topics.get(t);
+                int current = topic.getCurrentStudents() != null ? topic.getCurrentStudents() : 0;
+                topic.setCurrentStudents(Math.max(0, current + seatChange[t]));
+            }
+        }
+
+        result.setStudents(students);
+        result.setMatchingMillis(matchingMillis);
+        logger.info("Topic allocation: {} applications from {} students over {} topics matched in {} ms, {} approved, {} rejected",
+                applications, students, topics.size(), String.format("%.1f", matchingMillis),
+                result.getApproved(), result.getRejected());
+        return result;
+    }
+
+    private int decide(List<Long> ids, String status, LocalDateTime reviewedAt) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += UPDATE_CHUNK) {
+            updated += applicationRepository.decidePending(
+                    ids.subList(from, Math.min(from + UPDATE_CHUNK, ids.size())), status, reviewedAt);
+        }
+        return updated;
+    }
+
+    private static Integer[] sequence(int size) {
+        Integer[] indexes = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,271 @@
+package com.pfetrack.api.service;
+
+import com.pfetrack.api.model.Topic;
+import com.pfetrack.api.model.TopicApplication;
+import com.pfetrack.api.model.User;
+import com.pfetrack.api.repository.TopicApplicationRepository;
+import com.pfetrack.api.repository.TopicRepository;
+import com.pfetrack.api.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Topic applications under contention. A bounded admission queue keeps the number of applications hitting the
+// database at once below the pool size; each admitted one is a single short transaction that inserts the
+// application (the unique (user_id, topic_id) constraint rejects duplicates) and claims a seat on the topic. The
+// topic's @Version makes the claim race-free: of two claims on the same topic the second fails at commit and runs
+// again against the new count, so a topic can never be over-subscribed. A pending application holds its seat
+// until it leaves Pending (allocation, approval, rejection, withdrawal) or for app.topics.apply.reservation-ttl-hours
+// at most, so a student may hold at most app.topics.apply.max-pending-seats of them. With
+// app.topics.apply.reserve-seats=false applications only record the student's choice and the seats are handed out
+// later by the batch allocation (TopicAllocationService).
+@Service
+public class TopicApplicationService {
+    private static final Logger logger = LoggerFactory.getLogger(TopicApplicationService.class);
+
+    public enum Outcome {
+        SUBMITTED, ALREADY_APPLIED, UNAVAILABLE, PENDING_LIMIT, BUSY
+    }
+
+    public enum Change {
+        DONE, NOT_FOUND, NOT_PENDING, UNAVAILABLE, BUSY
+    }
+
+    @Autowired
+    private TopicApplicationRepository applicationRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxQueued;
+    private final long queueTimeoutMs;
+
+    @Value("${app.topics.apply.reserve-seats:true}")
+    private boolean reserveSeats;
+
+    @Value("${app.topics.apply.max-pending-seats:3}")
+    private int maxPendingSeats;
+
+    @Value("${app.topics.apply.claim-attempts:20}")
+    private int claimAttempts;
+
+    @Value("${app.topics.apply.reservation-ttl-hours:72}")
+    private long reservationTtlHours;
+
+    public TopicApplicationService(PlatformTransactionManager transactionManager,
+                                   @Value("${app.topics.apply.max-concurrent:8}") int maxConcurrent,
+                                   @Value("${app.topics.apply.max-queued:1000}") int maxQueued,
+                                   @Value("${app.topics.apply.queue-timeout-ms:10000}") long queueTimeoutMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    public Outcome apply(Long studentId, Long topicId, String motivation, Integer preferenceRank) {
+        // Past the queue bound callers are turned away at once instead of piling up on request threads
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return Outcome.BUSY;
+        }
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.BUSY;
+        } finally {
+            queued.decrementAndGet();
+        }
+        if (!admitted) {
+            return Outcome.BUSY;
+        }
+
+        try {
+            return retrying(status -> reserveSeats
+                    ? submitWithSeat(studentId, topicId, motivation, preferenceRank)
+                    : submitChoice(studentId, topicId, motivation, preferenceRank), Outcome.BUSY);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Application of student {} to topic {} rejected: {}", studentId, topicId, e.getMessage());
+            return Outcome.ALREADY_APPLIED;
+        } finally {
+            permits.release();
+        }
+    }
+
+    // The student's row lock orders their own concurrent applications, so the pending limit holds; claims by
+    // different students on one topic are ordered by its version
+    private Outcome submitWithSeat(Long studentId, Long topicId, String motivation, Integer preferenceRank) {
+        User student = userRepository.lockById(studentId).orElseThrow();
+        Topic topic = entityManager.getReference(Topic.class, topicId);
+        // Cheap answer for the common resubmission; the constraint still decides concurrent ones
+        if (applicationRepository.existsByStudentAndTopic(student, topic)) {
+            return Outcome.ALREADY_APPLIED;
+        }
+        if (maxPendingSeats > 0
+                && applicationRepository.countByStudentAndStatusAndSeatReservedTrue(student, "Pending") >= maxPendingSeats) {
+            return Outcome.PENDING_LIMIT;
+        }
+
+        topic = topicRepository.findById(topicId).orElse(null);
+        if (topic == null || !topic.isAvailable()) {
+            return Outcome.UNAVAILABLE;
+        }
+        save(student, topic, motivation, preferenceRank, true);
+        // A dirty entity rather than a bulk UPDATE, so the second-level cache drops this topic and nothing else
+        topic.setCurrentStudents(topic.getCurrentStudents() + 1);
+        return Outcome.SUBMITTED;
+    }
+
+    private Outcome submitChoice(Long studentId, Long topicId, String motivation, Integer preferenceRank) {
+        User student = entityManager.getReference(User.class, studentId);
+        Topic topic = entityManager.getReference(Topic.class, topicId);
+        if (applicationRepository.existsByStudentAndTopic(student, topic)) {
+            return Outcome.ALREADY_APPLIED;
+        }
+        if (!topicRepository.isOpen(topicId)) {
+            return Outcome.UNAVAILABLE;
+        }
+        save(student, topic, motivation, preferenceRank, false);
+        return Outcome.SUBMITTED;
+    }
+
+    private void save(User student, Topic topic, String motivation, Integer preferenceRank, boolean seatReserved) {
+        TopicApplication application = new TopicApplication();
+        application.setStudent(student);
+        application.setTopic(topic);
+        application.setMotivation(motivation);
+        application.setPreferenceRank(preferenceRank);
+        application.setSeatReserved(seatReserved);
+        applicationRepository.saveAndFlush(application);
+    }
+
+    public Change approve(Long applicationId) {
+        return retrying(status -> decideApproved(applicationId), Change.BUSY);
+    }
+
+    public Change reject(Long applicationId) {
+        return retrying(status -> leave(applicationId, null, "Rejected"), Change.BUSY);
+    }
+
+    public Change withdraw(Long studentId, Long applicationId) {
+        return retrying(status -> leave(applicationId, studentId, "Withdrawn"), Change.BUSY);
+    }
+
+    // The reserved seat becomes the student's; without one a free seat is claimed like an application would
+    private Change decideApproved(Long applicationId) {
+        TopicApplication application = applicationRepository.findById(applicationId).orElse(null);
+        if (application == null) {
+            return Change.NOT_FOUND;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (applicationRepository.decideReserved(applicationId, "Approved", now) > 0) {
+            return Change.DONE;
+        }
+        Topic topic = topicRepository.findById(application.getTopic().getId()).orElse(null);
+        if (topic == null || !topic.isAvailable()) {
+            return Change.UNAVAILABLE;
+        }
+        if (applicationRepository.decidePending(List.of(applicationId), "Approved", now) == 0) {
+            return Change.NOT_PENDING;
+        }
+        topic.setCurrentStudents(topic.getCurrentStudents() + 1);
+        return Change.DONE;
+    }
+
+    // Both updates are guarded by the application still being pending, so a seat is handed back at most once
+    // whichever of allocation, review, withdrawal and expiry gets there first
+    private Change leave(Long applicationId, Long studentId, String status) {
+        TopicApplication application = applicationRepository.findById(applicationId).orElse(null);
+        if (application == null || (studentId != null && !studentId.equals(application.getStudent().getId()))) {
+            return Change.NOT_FOUND;
+        }
+        boolean heldSeat = applicationRepository.releaseReservation(applicationId) > 0;
+        if (applicationRepository.decidePending(List.of(applicationId), status, LocalDateTime.now()) == 0) {
+            return Change.NOT_PENDING;
+        }
+        if (heldSeat) {
+            freeSeat(application.getTopic().getId());
+        }
+        return Change.DONE;
+    }
+
+    // A seat nobody decides on goes back to its topic after reservation-ttl-hours; the application itself stays
+    // pending, as a plain choice for the next allocation
+    @Scheduled(initialDelayString = "${app.topics.apply.reservation-sweep-ms:600000}",
+               fixedDelayString = "${app.topics.apply.reservation-sweep-ms:600000}")
+    public int releaseExpiredReservations() {
+        if (reservationTtlHours <= 0) {
+            return 0;
+        }
+        LocalDateTime before = LocalDateTime.now().minusHours(reservationTtlHours);
+        int released = 0;
+        for (TopicApplicationRepository.PendingApplication application
+                : applicationRepository.findReservationsAppliedBefore(before)) {
+            Boolean freed = retrying(status -> {
+                if (applicationRepository.releaseReservation(application.getId()) == 0) {
+                    return false;
+                }
+                freeSeat(application.getTopicId());
+                return true;
+            }, false);
+            if (Boolean.TRUE.equals(freed)) {
+                released++;
+            }
+        }
+        if (released > 0) {
+            logger.info("Released {} seats reserved by applications pending since before {}", released, before);
+        }
+        return released;
+    }
+
+    private void freeSeat(Long topicId) {
+        topicRepository.findById(topicId).ifPresent(topic ->
+                topic.setCurrentStudents(Math.max(0, topic.getCurrentStudents() - 1)));
+    }
+
+    // A seat change that lost the race on the topic's version is rolled back whole and run again against the new
+    // count; after claim-attempts tries the caller gets the busy answer
+    private <T> T retrying(TransactionCallback<T> work, T busy) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(work);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= claimAttempts) {
+                    logger.debug("Giving up after {} conflicting attempts: {}", attempt, e.getMessage());
+                    return busy;
+                }
+            }
+        }
+    }
+
+    // Applicants waiting for admission right now
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
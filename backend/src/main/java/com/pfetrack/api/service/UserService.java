@@ -2,11 +2,13 @@ package com.pfetrack.api.service;
 
 import com.pfetrack.api.model.User;
 import com.pfetrack.api.repository.UserRepository;
+import com.pfetrack.api.security.jwt.JwtPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UserService {
@@ -14,8 +16,11 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    public Page<User> getAllUsers(Pageable pageable) {
+        return userRepository.findAll(pageable);
     }
 
     public User getUserById(Long id) {
@@ -28,6 +33,7 @@ public class UserService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
         
@@ -38,11 +44,15 @@ public class UserService {
         // Don't update password or roles here for security reasons
         // Those should be handled by specific methods with proper validation
         
-        return userRepository.save(user);
+        User updatedUser = userRepository.save(user);
+        principalCache.evictUser(id, user.getUsername());
+        return updatedUser;
     }
 
+    @Transactional
     public void deleteUser(Long id) {
         User user = getUserById(id);
         userRepository.delete(user);
+        principalCache.evictUser(id, user.getUsername());
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.pfetrack.api.util;
+
+// Student-proposing deferred acceptance (Gale-Shapley) for a many-to-one assignment, over plain int arrays.
+// Students propose down their preference lists; each topic keeps its best applicants so far in a bounded max-heap
+// and bumps the worst one when a better proposal arrives. The result is stable and student-optimal: no student and
+// topic would both rather have each other than what they ended up with.
+public final class DeferredAcceptance {
+
+    private DeferredAcceptance() {
+    }
+
+    // Students and topics are dense indexes; applications are what a student proposes with.
+    //  preferenceStart[s] .. preferenceStart[s + 1] - 1 index preferenceApplication, most preferred first
+    //  applicationStudent / applicationTopic: who applied where
+    //  applicationPriority: how topics rank applications, lower wins; must be distinct
+    //  capacity: seats per topic
+    // Returns whether each application was accepted; every student gets at most one.
+    public static boolean[] match(int[] preferenceStart, int[] preferenceApplication,
+                                  int[] applicationStudent, int[] applicationTopic,
+                                  int[] applicationPriority, int[] capacity) {
+        int students = preferenceStart.length - 1;
+        int topics = capacity.length;
+
+        // All topic heaps share one array; topic t owns heap[heapStart[t] .. heapStart[t] + capacity[t])
+        int[] heapStart = new int[topics + 1];
+        for (int t = 0; t < topics; t++) {
+            heapStart[t + 1] = heapStart[t] + capacity[t];
+        }
+        int[] heap = new int[heapStart[topics]];
+        int[] heapSize = new int[topics];
+
+        int[] next = new int[students];
+        int[] free = new int[students];
+        int freeCount = 0;
+        for (int s = students - 1; s >= 0; s--) {
+            next[s] = preferenceStart[s];
+            free[freeCount++] = s;
+        }
+
+        while (freeCount > 0) {
+            int student = free[--freeCount];
+            int end = preferenceStart[student + 1];
+            while (next[student] < end) {
+                int application = preferenceApplication[next[student]++];
+                int topic = applicationTopic[application];
+                int base = heapStart[topic];
+                int size = heapSize[topic];
+                if (size < capacity[topic]) {
+                    heap[base + size] = application;
+                    siftUp(heap, base, size, applicationPriority);
+                    heapSize[topic] = size + 1;
+                    break;
+                }
+                if (size > 0 && applicationPriority[application] < applicationPriority[heap[base]]) {
+                    // The topic trades its worst held applicant for this one, who goes back to proposing
+                    free[freeCount++] = applicationStudent[heap[base]];
+                    heap[base] = application;
+                    siftDown(heap, base, size, applicationPriority);
+                    break;
+                }
+            }
+        }
+
+        boolean[] accepted = new boolean[applicationTopic.length];
+        for (int t = 0; t < topics; t++) {
+            for (int i = heapStart[t], end = heapStart[t] + heapSize[t]; i < end; i++) {
+                accepted[heap[i]] = true;
+            }
+        }
+        return accepted;
+    }
+
+    // Max-heap on priority: the root is the applicant the topic would drop first
+    private static void siftUp(int[] heap, int base, int index, int[] priority) {
+        int item = heap[base + index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priority[heap[base + parent]] >= priority[item]) {
+                break;
+            }
+            heap[base + index] = heap[base + parent];
+            index = parent;
+        }
+        heap[base + index] = item;
+    }
+
+    private static void siftDown(int[] heap, int base, int size, int[] priority) {
+        int item = heap[base];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && priority[heap[base + child + 1]] > priority[heap[base + child]]) {
+                child++;
+            }
+            if (priority[item] >= priority[heap[base + child]]) {
+                break;
+            }
+            heap[base + index] = heap[base + child];
+            index = child;
+        }
+        heap[base + index] = item;
+    }
+}
@@ -0,0 +1,164 @@
+package com.pfetrack.api.util;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Opaque, URL-safe encoding of a keyset scroll position: "property:type:value" triples joined by '&'.
+// Only the types below round-trip; Pagination.keysetSort keeps other sort columns out of keyset mode. Enum values
+// carry only the constant name, their type comes from the entity the cursor is decoded for.
+public final class KeysetCursor {
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(Long.class, Integer.class, Double.class,
+            BigDecimal.class, Boolean.class, LocalDate.class, LocalDateTime.class, LocalTime.class, String.class,
+            long.class, int.class, double.class, boolean.class);
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+
+        StringBuilder raw = new StringBuilder();
+        for (Map.Entry<String, Object> key : keyset.getKeys().entrySet()) {
+            if (!raw.isEmpty()) {
+                raw.append('&');
+            }
+            raw.append(key.getKey()).append(':').append(typeOf(key.getValue())).append(':').append(valueOf(key.getValue()));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Class<?> entityType) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String part : raw.split("&")) {
+            String[] triple = part.split(":", 3);
+            if (triple.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            keys.put(triple[0], parse(entityType, triple[0], triple[1], triple[2]));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static boolean isSupported(Class<?> type) {
+        return type.isEnum() || SUPPORTED_TYPES.contains(type);
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "N";
+        } else if (value instanceof Long) {
+            return "L";
+        } else if (value instanceof Integer) {
+            return "I";
+        } else if (value instanceof Double) {
+            return "F";
+        } else if (value instanceof LocalDate) {
+            return "D";
+        } else if (value instanceof LocalDateTime) {
+            return "T";
+        } else if (value instanceof LocalTime) {
+            return "H";
+        } else if (value instanceof BigDecimal) {
+            return "M";
+        } else if (value instanceof Boolean) {
+            return "B";
+        } else if (value instanceof Enum) {
+            return "E";
+        } else if (value instanceof String) {
+            return "S";
+        }
+        throw new IllegalStateException("Unsupported keyset value type: " + value.getClass().getName());
+    }
+
+    private static String valueOf(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Enum<?> constant ? constant.name() : value.toString();
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+
+    private static Object parse(Class<?> entityType, String property, String type, String encodedValue) {
+        try {
+            String value = URLDecoder.decode(encodedValue, StandardCharsets.UTF_8);
+            switch (type) {
+                case "N":
+                    return null;
+                case "L":
+                    return Long.valueOf(value);
+                case "I":
+                    return Integer.valueOf(value);
+                case "F":
+                    return Double.valueOf(value);
+                case "D":
+                    return LocalDate.parse(value);
+                case "T":
+                    return LocalDateTime.parse(value);
+                case "H":
+                    return LocalTime.parse(value);
+                case "M":
+                    return new BigDecimal(value);
+                case "B":
+                    return Boolean.valueOf(value);
+                case "E":
+                    return parseEnum(entityType, property, value);
+                case "S":
+                    return value;
+                default:
+                    throw new IllegalArgumentException("Invalid cursor");
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parseEnum(Class<?> entityType, String property, String value) {
+        Class<?> type = propertyType(entityType, property);
+        if (type == null || !type.isEnum()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return Enum.valueOf((Class<? extends Enum>) type, value);
+    }
+
+    private static Class<?> propertyType(Class<?> entityType, String property) {
+        Class<?> type = entityType;
+        for (String segment : property.split("\\.")) {
+            Field field = ReflectionUtils.findField(type, segment);
+            if (field == null) {
+                return null;
+            }
+            type = field.getType();
+        }
+        return type;
+    }
+}
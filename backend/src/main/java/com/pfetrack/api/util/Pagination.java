@@ -0,0 +1,104 @@
+package com.pfetrack.api.util;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+// List endpoints keep returning plain JSON arrays; paging metadata travels in response headers
+public final class Pagination {
+
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String PAGE_HEADER = "X-Page";
+    public static final String PAGE_SIZE_HEADER = "X-Page-Size";
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final List<String> EXPOSED_HEADERS = List.of(
+            TOTAL_COUNT_HEADER, PAGE_HEADER, PAGE_SIZE_HEADER, HAS_NEXT_HEADER, NEXT_CURSOR_HEADER);
+
+    private static final String ID_PROPERTY = "id";
+
+    private Pagination() {
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(Page<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()));
+        headers.add(PAGE_HEADER, String.valueOf(page.getNumber()));
+        headers.add(PAGE_SIZE_HEADER, String.valueOf(page.getSize()));
+        headers.add(HAS_NEXT_HEADER, String.valueOf(page.hasNext()));
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(PAGE_SIZE_HEADER, String.valueOf(window.size()));
+        headers.add(HAS_NEXT_HEADER, String.valueOf(window.hasNext()));
+        if (window.hasNext() && !window.isEmpty()) {
+            headers.add(NEXT_CURSOR_HEADER, KeysetCursor.encode(window.positionAt(window.size() - 1)));
+        }
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
+    // Keyset pagination needs a total order, so the id is always the last sort key. Spring's keyset queries cannot
+    // compare against null, so only columns that are never null and whose type KeysetCursor encodes are accepted;
+    // anything else is an IllegalArgumentException, which the controllers answer with 400.
+    public static Sort keysetSort(Pageable pageable, Class<?> entityType) {
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            checkKeysetProperty(entityType, order.getProperty());
+        }
+        if (sort.isUnsorted()) {
+            return Sort.by(Sort.Direction.ASC, ID_PROPERTY);
+        }
+        if (sort.getOrderFor(ID_PROPERTY) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.iterator().next().getDirection();
+        return sort.and(Sort.by(direction, ID_PROPERTY));
+    }
+
+    private static void checkKeysetProperty(Class<?> entityType, String property) {
+        Class<?> type = entityType;
+        for (String segment : property.split("\\.")) {
+            Field field = ReflectionUtils.findField(type, segment);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown sort property: " + property);
+            }
+            if (!isNonNull(field)) {
+                throw new IllegalArgumentException("Sort property may be null, not usable with a cursor: " + property);
+            }
+            type = field.getType();
+        }
+        if (!KeysetCursor.isSupported(type)) {
+            throw new IllegalArgumentException("Sort property type not usable with a cursor: " + property);
+        }
+    }
+
+    private static boolean isNonNull(Field field) {
+        if (field.getType().isPrimitive() || field.isAnnotationPresent(Id.class)
+                || field.isAnnotationPresent(NotNull.class) || field.isAnnotationPresent(NotBlank.class)) {
+            return true;
+        }
+        Column column = field.getAnnotation(Column.class);
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        return (column != null && !column.nullable()) || (joinColumn != null && !joinColumn.nullable());
+    }
+
+    public static Limit keysetLimit(Pageable pageable) {
+        return pageable.isPaged() ? Limit.of(pageable.getPageSize()) : Limit.unlimited();
+    }
+}
@@ -0,0 +1,30 @@
+package com.pfetrack.api.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Running totals of file transfers (how many, how many bytes, how long), cheap enough to update on every request.
+// Read by the metrics binders; nothing is ever reset.
+public class TransferCounter {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    public void record(long transferredBytes, long elapsedNanos) {
+        count.increment();
+        bytes.add(transferredBytes);
+        nanos.add(elapsedNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+}
@@ -0,0 +1,324 @@
+-- Baseline schema: everything ddl-auto=update used to create.
+-- Written for PostgreSQL; also runs on H2 in MODE=PostgreSQL.
+
+create table academic_summaries (
+    id bigint generated by default as identity,
+    grade_sum double precision not null,
+    weighted_grade_sum double precision not null,
+    credits_earned bigint not null,
+    failed_count bigint not null,
+    grade_count bigint not null,
+    passed_count bigint not null,
+    student_id bigint not null,
+    updated_at timestamp(6),
+    weighted_credits bigint not null,
+    semester varchar(20) not null,
+    primary key (id),
+    constraint uk_academic_summary_student_semester unique (student_id, semester)
+);
+
+create table achievements (
+    id bigint generated by default as identity,
+    achievement_date date,
+    expiry_date date,
+    is_public boolean,
+    points_awarded integer,
+    created_at timestamp(6),
+    student_id bigint not null,
+    updated_at timestamp(6),
+    additional_details text,
+    category varchar(255),
+    certificate_url varchar(255),
+    description text,
+    issuing_organization varchar(255),
+    status varchar(255),
+    title varchar(255),
+    type varchar(255),
+    verification_url varchar(255),
+    primary key (id)
+);
+
+create table events (
+    id bigint generated by default as identity,
+    event_date date not null,
+    event_time time(6),
+    is_public boolean,
+    reminder_sent boolean,
+    created_at timestamp(6),
+    student_id bigint,
+    topic_id bigint,
+    updated_at timestamp(6),
+    created_by varchar(255),
+    description text,
+    location varchar(255),
+    status varchar(255),
+    title varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create table grades (
+    id bigint generated by default as identity,
+    credits integer,
+    evaluation_date date,
+    grade_value double precision,
+    is_published boolean,
+    max_score double precision,
+    obtained_score double precision,
+    created_at timestamp(6),
+    student_id bigint not null,
+    updated_at timestamp(6),
+    academic_year varchar(255),
+    comments text,
+    evaluation_type varchar(255),
+    letter_grade varchar(255),
+    professor varchar(255),
+    semester varchar(255),
+    status varchar(255),
+    subject_code varchar(255),
+    subject_name varchar(255),
+    primary key (id)
+);
+
+create table project_milestones (
+    id bigint generated by default as identity,
+    completion_date date,
+    due_date date,
+    order_index integer,
+    progress_percentage double precision,
+    created_at timestamp(6),
+    project_id bigint not null,
+    updated_at timestamp(6),
+    description text,
+    notes text,
+    priority varchar(255),
+    status varchar(255),
+    title varchar(255),
+    primary key (id)
+);
+
+create table projects (
+    id bigint generated by default as identity,
+    end_date date,
+    expected_completion_date date,
+    final_grade double precision,
+    presentation_date date,
+    progress_percentage double precision,
+    start_date date,
+    created_at timestamp(6),
+    student_id bigint not null,
+    topic_id bigint,
+    updated_at timestamp(6),
+    co_supervisor varchar(255),
+    current_challenges text,
+    current_phase varchar(255),
+    department varchar(255),
+    description text,
+    documentation_url varchar(255),
+    expected_outcomes text,
+    methodology text,
+    next_steps text,
+    objectives text,
+    repository_url varchar(255),
+    status varchar(255),
+    supervisor varchar(255),
+    supervisor_feedback text,
+    title varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create table report_uploads (
+    id varchar(36) not null,
+    created_at timestamp(6),
+    report_id bigint,
+    student_id bigint not null,
+    total_size bigint not null,
+    updated_at timestamp(6),
+    sha256 varchar(64),
+    description text,
+    file_name varchar(255),
+    part_path varchar(255) not null,
+    title varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create table reports (
+    id bigint generated by default as identity,
+    grade double precision,
+    created_at timestamp(6),
+    file_size bigint,
+    reviewed_at timestamp(6),
+    student_id bigint not null,
+    submitted_at timestamp(6),
+    topic_id bigint,
+    updated_at timestamp(6),
+    description text,
+    file_name varchar(255),
+    file_path varchar(255),
+    reviewer_comments text,
+    status varchar(255),
+    title varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create table roles (
+    id integer generated by default as identity,
+    name varchar(20) check (name in ('ROLE_USER','ROLE_STUDENT','ROLE_PROFESSOR','ROLE_SUPERVISOR','ROLE_ADMIN')),
+    primary key (id)
+);
+
+create table student_profiles (
+    id bigint generated by default as identity,
+    credits_completed integer,
+    enrollment_date date,
+    expected_graduation date,
+    gpa double precision,
+    total_credits_required integer,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    academic_year varchar(255),
+    address varchar(255),
+    bio text,
+    department varchar(255),
+    emergency_contact_name varchar(255),
+    emergency_contact_phone varchar(255),
+    phone varchar(255),
+    profile_picture_url varchar(255),
+    student_id varchar(255),
+    primary key (id),
+    constraint uk_student_profiles_user_id unique (user_id)
+);
+
+create table student_settings (
+    id bigint generated by default as identity,
+    allow_messages boolean,
+    allow_messaging boolean,
+    animations_enabled boolean,
+    announcement_notifications boolean,
+    assignment_notifications boolean,
+    auto_save_reports boolean,
+    auto_sync_calendar boolean,
+    compact_mode boolean,
+    deadline_reminders boolean,
+    email_notifications boolean,
+    event_notifications boolean,
+    grade_notifications boolean,
+    meeting_reminders boolean,
+    push_notifications boolean,
+    reminder_advance_days integer,
+    show_achievements boolean,
+    show_email boolean,
+    show_grade_summary boolean,
+    show_grades boolean,
+    show_online_status boolean,
+    show_phone boolean,
+    show_progress_charts boolean,
+    show_recent_activities boolean,
+    show_recent_grades boolean,
+    show_upcoming_deadlines boolean,
+    show_upcoming_events boolean,
+    show_weekends boolean,
+    sms_notifications boolean,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    dashboard_layout varchar(255),
+    date_format varchar(255),
+    default_calendar_view varchar(255),
+    font_size varchar(255),
+    grade_display_format varchar(255),
+    language varchar(255),
+    profile_visibility varchar(255),
+    theme varchar(255),
+    time_format varchar(255),
+    timezone varchar(255),
+    primary key (id),
+    constraint uk_student_settings_user_id unique (user_id)
+);
+
+create table topic_applications (
+    id bigint generated by default as identity,
+    applied_at timestamp(6),
+    reviewed_at timestamp(6),
+    topic_id bigint not null,
+    user_id bigint not null,
+    motivation text,
+    reviewer_comments text,
+    status varchar(255),
+    primary key (id)
+);
+
+create table topics (
+    id bigint generated by default as identity,
+    current_students integer,
+    max_students integer,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    department varchar(255),
+    description text,
+    status varchar(255),
+    supervisor varchar(255),
+    title varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create table user_roles (
+    role_id integer not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    username varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create index idx_achievements_student_status_date on achievements (student_id, status, achievement_date);
+create index idx_achievements_public_status_date on achievements (is_public, status, achievement_date);
+create index idx_achievements_date on achievements (achievement_date);
+create index idx_events_student_date on events (student_id, event_date);
+create index idx_events_date_reminder on events (event_date, reminder_sent);
+create index idx_events_public_date on events (is_public, event_date);
+create index idx_grades_student_published_semester on grades (student_id, is_published, semester);
+create index idx_grades_student_evaluation_date on grades (student_id, evaluation_date);
+create index idx_milestones_project_status_due on project_milestones (project_id, status, due_date);
+create index idx_milestones_due_status on project_milestones (due_date, status);
+create index idx_projects_status_expected_completion on projects (status, expected_completion_date);
+create index idx_projects_student_status on projects (student_id, status);
+create index idx_projects_department_status on projects (department, status);
+create index idx_reports_student_type_status on reports (student_id, type, status);
+create index idx_reports_status_type on reports (status, type);
+create index idx_reports_file_path on reports (file_path);
+create index idx_student_profiles_department on student_profiles (department);
+create index idx_topic_applications_student_status on topic_applications (user_id, status);
+create index idx_topic_applications_topic_status on topic_applications (topic_id, status);
+create index idx_topics_status_department on topics (status, department);
+
+alter table achievements add constraint fk_achievements_student_id foreign key (student_id) references users (id);
+alter table events add constraint fk_events_student_id foreign key (student_id) references users (id);
+alter table events add constraint fk_events_topic_id foreign key (topic_id) references topics (id);
+alter table grades add constraint fk_grades_student_id foreign key (student_id) references users (id);
+alter table project_milestones add constraint fk_project_milestones_project_id foreign key (project_id) references projects (id);
+alter table projects add constraint fk_projects_student_id foreign key (student_id) references users (id);
+alter table projects add constraint fk_projects_topic_id foreign key (topic_id) references topics (id);
+alter table report_uploads add constraint fk_report_uploads_student_id foreign key (student_id) references users (id);
+alter table reports add constraint fk_reports_student_id foreign key (student_id) references users (id);
+alter table reports add constraint fk_reports_topic_id foreign key (topic_id) references topics (id);
+alter table student_profiles add constraint fk_student_profiles_user_id foreign key (user_id) references users (id);
+alter table student_settings add constraint fk_student_settings_user_id foreign key (user_id) references users (id);
+alter table topic_applications add constraint fk_topic_applications_user_id foreign key (user_id) references users (id);
+alter table topic_applications add constraint fk_topic_applications_topic_id foreign key (topic_id) references topics (id);
+alter table user_roles add constraint fk_user_roles_role_id foreign key (role_id) references roles (id);
+alter table user_roles add constraint fk_user_roles_user_id foreign key (user_id) references users (id);
@@ -0,0 +1,11 @@
+-- One application per student and topic, enforced by the database so concurrent submissions cannot both land.
+-- Earlier duplicates are collapsed onto the first application before the constraint is added.
+
+delete from topic_applications a
+where exists (select 1 from topic_applications b
+              where b.user_id = a.user_id and b.topic_id = a.topic_id and b.id < a.id);
+
+alter table topic_applications add constraint uk_topic_applications_user_topic unique (user_id, topic_id);
+
+-- Seats are claimed with current_students < max_students, which never matches a null count
+update topics set current_students = 0 where current_students is null;
@@ -0,0 +1,7 @@
+-- Students rank the topics they apply to; the batch allocation proposes in that order (nulls last).
+-- seat_reserved records whether the application claimed a seat in topics.current_students when submitted,
+-- so the allocation knows which seats rejecting it gives back.
+
+alter table topic_applications add column preference_rank integer;
+alter table topic_applications add column seat_reserved boolean default false;
+update topic_applications set seat_reserved = false where seat_reserved is null;
@@ -0,0 +1,12 @@
+-- Reminder pipeline: milestones remember whether their reminder went out, like events already do, and
+-- scheduler_leases holds one row per cluster-wide scheduled job so that only one node runs it at a time.
+
+alter table project_milestones add column reminder_sent boolean default false;
+update project_milestones set reminder_sent = false where reminder_sent is null;
+
+create table scheduler_leases (
+    name varchar(100) not null,
+    owner varchar(200),
+    expires_at timestamp(6) not null,
+    primary key (name)
+);
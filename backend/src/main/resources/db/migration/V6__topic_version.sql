@@ -0,0 +1,5 @@
+-- Optimistic locking for topics: an edit based on a stale read must not overwrite seat counts claimed since
+
+alter table topics add column version bigint default 0;
+update topics set version = 0 where version is null;
+alter table topics alter column version set not null;
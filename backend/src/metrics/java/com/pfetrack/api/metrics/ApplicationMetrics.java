@@ -0,0 +1,110 @@
+package com.pfetrack.api.metrics;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pfetrack.api.config.CaffeineRegionFactory;
+import com.pfetrack.api.security.jwt.JwtPrincipalCache;
+import com.pfetrack.api.security.jwt.JwtUtils;
+import com.pfetrack.api.service.BlobStore;
+import com.pfetrack.api.service.FileDownloadService;
+import com.pfetrack.api.service.ReportUploadService;
+import com.pfetrack.api.service.TopicApplicationService;
+import com.pfetrack.api.util.TransferCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Exposes the counters the application already keeps (JWT outcomes, transfers, cache statistics, the admission
+// queue) as meters read at scrape time. Bound once the context is ready, because the Hibernate cache regions only
+// exist after the session factory is built. Cache meters use Micrometer's cache.* names, tagged cache=<name>.
+@Component
+public class ApplicationMetrics {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ReportUploadService reportUploadService;
+
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
+    @Autowired
+    private TopicApplicationService topicApplicationService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bind() {
+        for (JwtUtils.ValidationOutcome outcome : JwtUtils.ValidationOutcome.values()) {
+            FunctionCounter.builder("pfetrack.jwt.validations", jwtUtils, utils -> utils.getValidationCount(outcome))
+                    .description("JWT validations by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+
+        transfers("pfetrack.uploads", Tags.of("type", "multipart"), blobStore.getStreamedTransfers());
+        transfers("pfetrack.uploads", Tags.of("type", "chunked"), reportUploadService.getChunkTransfers());
+        transfers("pfetrack.downloads", Tags.empty(), fileDownloadService.getDownloads());
+
+        Gauge.builder("pfetrack.topics.apply.queued", topicApplicationService, TopicApplicationService::getQueueLength)
+                .description("Topic applications waiting for admission")
+                .register(registry);
+
+        cache("jwt.principals", principalCache, JwtPrincipalCache::getStatistics, JwtPrincipalCache::getSize);
+        cache("download.metadata", fileDownloadService, FileDownloadService::getMetadataCacheStatistics,
+                FileDownloadService::getMetadataCacheSize);
+        // The regions are static; this bean stands in as the object the meters hold on to
+        for (String region : CaffeineRegionFactory.getSizes().keySet()) {
+            cache(region, this,
+                    metrics -> CaffeineRegionFactory.getStatistics().getOrDefault(region, CacheStats.empty()),
+                    metrics -> CaffeineRegionFactory.getSizes().getOrDefault(region, 0L));
+        }
+    }
+
+    // <name>.bytes counts what was transferred; <name>.duration gives rate and mean time per transfer
+    private void transfers(String name, Tags tags, TransferCounter counter) {
+        FunctionCounter.builder(name + ".bytes", counter, TransferCounter::getBytes)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+        FunctionTimer.builder(name + ".duration", counter, TransferCounter::getCount, TransferCounter::getNanos,
+                        TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(registry);
+    }
+
+    // Meters only keep a weak reference to what they read, so owner must be something the context holds on to
+    private <T> void cache(String name, T owner, Function<T, CacheStats> statistics, ToLongFunction<T> size) {
+        Tags tags = Tags.of("cache", name);
+        FunctionCounter.builder("cache.gets", owner, o -> statistics.apply(o).hitCount())
+                .tags(tags).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", owner, o -> statistics.apply(o).missCount())
+                .tags(tags).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", owner, o -> statistics.apply(o).evictionCount())
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("cache.size", owner, o -> size.applyAsLong(o))
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.pfetrack.api;
+
+import com.pfetrack.api.security.services.UserDetailsServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every list endpoint runs a fixed number of JDBC statements per page, whatever the rows on it reference: the page,
+// its count when the page is full, the caller's own user or project and batch-fetched roles. The synthetic dataset
+// gives each page rows from many students, projects and topics, so a fetch plan that slips back to lazy loading
+// adds statements per row and fails here. Counts are taken with the second-level cache emptied, the principal
+// loaded beforehand, and open-in-view on as in production, so serialization is counted too.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "app.generator.students=40",
+        "app.generator.threads=1",
+        "app.generator.today=2025-03-01",
+        "app.reminders.cron=-",
+        "app.academic-summary.reconcile-cron=-",
+        "app.topics.apply.reservation-ttl-hours=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("generate")
+class ListEndpointStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @ParameterizedTest(name = "{0} as {1}: {2} statements")
+    @CsvSource({
+            "/api/grades,                                     admin,   2",
+            "/api/events,                                     admin,   3",
+            "/api/projects,                                   admin,   2",
+            "/api/achievements,                               admin,   1",
+            "/api/project-milestones,                         admin,   2",
+            "/api/student-profiles,                           admin,   3",
+            "/api/student-settings,                           admin,   1",
+            "/topics,                                         admin,   2",
+            "/topics/available,                               admin,   1",
+            "/reports/all,                                    admin,   2",
+            "/users,                                          admin,   3",
+            "/api/grades?semester=S1&evaluationType=Final,    admin,   2",
+            "/api/projects?status=Active,                     admin,   2",
+            "/api/achievements?status=Verified&isPublic=true, admin,   1",
+            "/api/grades/my-grades,                           student, 3",
+            "/api/projects/my-projects,                       student, 3",
+            "/api/project-milestones/my-milestones,           student, 4",
+            "/reports,                                        student, 2",
+            "/topics/my-applications,                         student, 2",
+            "/api/grades/my-grades?semester=S1,               student, 3",
+            "/api/projects/my-projects?status=Active,         student, 3",
+            "/api/achievements/my-achievements?type=Award,    student, 3"
+    })
+    void listPageRunsFixedStatementCount(String path, String username, long expected) throws Exception {
+        UserDetails principal = userDetailsService.loadUserByUsername(username);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(path).param("size", "20").with(user(principal)))
+                .andExpect(status().isOk());
+
+        assertEquals(expected, statistics.getPrepareStatementCount(), path);
+    }
+}